@@ -0,0 +1,82 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import com.mygdx.map.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class builds the game states that the benchmarks run on. A world is a square map with the
+ * heroes placed randomly on distinct cells of the lower half and the enemies on the upper half, as
+ * the GameController does. The placement uses a fixed seed, so every fork of a benchmark measures
+ * the same world. The characters have a texture, because the collision checks of the bullets use
+ * the bounds of the sprites, and they have so many health points that nobody dies during a run.
+ *
+ * @author Hades
+ */
+public class BenchmarkWorld {
+  public static final int HP = Integer.MAX_VALUE / 2; // The health points of every character.
+  public static final int ATK = 10; // The attack points of every character.
+  private static final long SEED = 42; // The seed of the placement.
+
+  private BenchmarkWorld() {}
+
+  /**
+   * This method creates a game state with the given number of heroes and enemies on a map of the
+   * given size. It also changes the map size in the Config, which the characters and bullets read.
+   *
+   * @param units The number of heroes and the number of enemies.
+   * @param mapSize The number of rows and columns of the map.
+   * @param texture The texture of the characters and their bullets.
+   * @return The game state.
+   */
+  public static GameState create(int units, int mapSize, Texture texture) {
+    if (units > mapSize * mapSize / 2) {
+      throw new IllegalArgumentException(units + " units do not fit on half of the map");
+    }
+    Config.changeConfig(mapSize, mapSize);
+
+    Map map = new Map(mapSize, mapSize);
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    Random random = new Random(SEED);
+    for (int i = 0; i < units; i++) {
+      int[] cell = claim(map, random, 0, mapSize / 2, mapSize);
+      heroes.add(new Hero(cell[0], cell[1], HP, ATK, texture, texture));
+    }
+    for (int i = 0; i < units; i++) {
+      int[] cell = claim(map, random, mapSize / 2, mapSize, mapSize);
+      enemies.add(new Enemy(cell[0], cell[1], HP, ATK, texture, texture));
+    }
+
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), map);
+    heroes.forEach(hero -> hero.setGameState(gameState));
+    enemies.forEach(enemy -> enemy.setGameState(gameState));
+    return gameState;
+  }
+
+  /**
+   * This method claims a random free cell in the rows from l to r - 1 and returns its position.
+   *
+   * @param map The game map.
+   * @param random The random number generator of the placement.
+   * @param l The first row.
+   * @param r The row after the last row.
+   * @param cols The number of columns.
+   * @return The x and y coordinates of the cell.
+   */
+  private static int[] claim(Map map, Random random, int l, int r, int cols) {
+    int x;
+    int y;
+    do {
+      x = (int) ((l + random.nextInt(r - l)) * Config.CELL_SIZE);
+      y = (int) (random.nextInt(cols) * Config.CELL_SIZE);
+    } while (!map.claim(x, y));
+    return new int[] {x, y};
+  }
+}
@@ -0,0 +1,139 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.bullet.BulletUpdater;
+import com.mygdx.character.Enemy;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the bullet hot paths: one pass of the BulletUpdater over a full bullet
+ * store, and the update of a single Bullet against the spatial grid and against the plain list of
+ * characters. Every hero fires one bullet at a random enemy, so the store holds as many bullets as
+ * there are units. The store is refilled before every pass, because a pass moves the bullets and
+ * removes the ones that hit.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulletBenchmark {
+  @Param({"1000", "10000"})
+  int units; // The number of heroes and the number of enemies.
+
+  @Param({"200", "1000"})
+  int mapSize; // The number of rows and columns of the map.
+
+  Texture texture;
+  GameState gameState;
+  BulletUpdater bulletUpdater;
+  float[][] shots; // The position, speed and rotation of every bullet of a full store.
+  Bullet bullet;
+  float bulletX;
+  float bulletY;
+
+  /** This method creates the world, the bullet of the single-bullet benchmarks and the shots. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    texture = new Texture(Config.BULLET_PATH);
+    gameState = BenchmarkWorld.create(units, mapSize, texture);
+    bulletUpdater = new BulletUpdater(gameState);
+
+    Random random = new Random(7);
+    shots = new float[units][];
+    for (int i = 0; i < units; i++) {
+      float x = gameState.getHeroes().get(i).getX();
+      float y = gameState.getHeroes().get(i).getY();
+      Enemy enemy = gameState.getEnemies().get(random.nextInt(units));
+      float angle = (float) Math.atan2(enemy.getY() - y, enemy.getX() - x);
+      shots[i] =
+          new float[] {
+            x,
+            y,
+            (float) Math.cos(angle) * Config.BULLET_SPEED,
+            (float) Math.sin(angle) * Config.BULLET_SPEED,
+            (float) Math.toDegrees(angle)
+          };
+    }
+
+    // A bullet that starts one step in front of an enemy, so it checks a populated cell.
+    Enemy enemy = gameState.getEnemies().get(0);
+    bulletX = enemy.getX() - Config.BULLET_SPEED;
+    bulletY = enemy.getY();
+    bullet = new Bullet(bulletX, bulletY, 0, Config.BULLET_SPEED, 0, 0, texture);
+  }
+
+  /** This method refills the bullet store before every pass of the bullet updater. */
+  @Setup(Level.Invocation)
+  public void fill() {
+    BulletStore store = gameState.getBulletStore();
+    store.setAll(Collections.emptyList());
+    for (float[] shot : shots) {
+      store.add(shot[0], shot[1], BenchmarkWorld.ATK, shot[2], shot[3], shot[4]);
+    }
+  }
+
+  /** This method releases the texture. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    texture.dispose();
+  }
+
+  /**
+   * This method measures one pass of the bullet updater over the full store.
+   *
+   * @return The number of bullets left in the store.
+   */
+  @Benchmark
+  public int bulletUpdaterRun() {
+    bulletUpdater.run();
+    return gameState.getBulletStore().size();
+  }
+
+  /**
+   * This method measures the update of a single bullet against the spatial grid of the enemies.
+   *
+   * @return Whether the bullet is dead.
+   */
+  @Benchmark
+  public boolean bulletUpdateGrid() {
+    bullet.move(bulletX, bulletY);
+    bullet.update(gameState.getEnemyGrid());
+    return bullet.isDead();
+  }
+
+  /**
+   * This method measures the update of a single bullet against the list of all enemies.
+   *
+   * @return Whether the bullet is dead.
+   */
+  @Benchmark
+  public boolean bulletUpdateList() {
+    bullet.move(bulletX, bulletY);
+    bullet.update(gameState.getEnemies());
+    return bullet.isDead();
+  }
+}
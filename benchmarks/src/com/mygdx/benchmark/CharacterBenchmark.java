@@ -0,0 +1,115 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the per-character AI steps: a random move of one character on the map, and
+ * an attack on the character with the minimum health points, found either by scanning the list of
+ * characters or by reading the min-hp heap. Every call works on the next character of the team, so
+ * the moves are spread over the whole map like in a tick of the WorldTicker.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterBenchmark {
+  private static final int MAX_BULLETS = 4096; // The store is emptied when it reaches this size.
+
+  @Param({"1000", "10000"})
+  int units; // The number of heroes and the number of enemies.
+
+  @Param({"200", "1000"})
+  int mapSize; // The number of rows and columns of the map.
+
+  Texture texture;
+  GameState gameState;
+  int next; // The index of the next character.
+
+  /** This method creates the world. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    texture = new Texture(Config.BULLET_PATH);
+    gameState = BenchmarkWorld.create(units, mapSize, texture);
+  }
+
+  /** This method releases the texture. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    texture.dispose();
+  }
+
+  /**
+   * This method returns the next hero and empties the bullet store when it is full, so the attacks
+   * do not grow it without bound.
+   *
+   * @return The next hero.
+   */
+  private Hero nextHero() {
+    BulletStore store = gameState.getBulletStore();
+    if (store.size() >= MAX_BULLETS) {
+      store.setAll(Collections.emptyList());
+    }
+    next = next + 1 == units ? 0 : next + 1;
+    return gameState.getHeroes().get(next);
+  }
+
+  /**
+   * This method measures a random move of an enemy.
+   *
+   * @return The moved enemy.
+   */
+  @Benchmark
+  public Enemy randomMove() {
+    next = next + 1 == units ? 0 : next + 1;
+    Enemy enemy = gameState.getEnemies().get(next);
+    enemy.randomMove(gameState.getMap(), true);
+    return enemy;
+  }
+
+  /**
+   * This method measures an attack on the weakest enemy, found by scanning the list of enemies.
+   *
+   * @return The size of the bullet store.
+   */
+  @Benchmark
+  public int attackMinHpList() {
+    nextHero().attackMinHp(gameState.getBulletStore(), gameState.getEnemies());
+    return gameState.getBulletStore().size();
+  }
+
+  /**
+   * This method measures an attack on the weakest enemy, read from the min-hp heap of the enemies.
+   *
+   * @return The size of the bullet store.
+   */
+  @Benchmark
+  public int attackMinHpHeap() {
+    nextHero().attackMinHp(gameState.getBulletStore(), gameState.getEnemyHeap());
+    return gameState.getBulletStore().size();
+  }
+}
@@ -0,0 +1,193 @@
+package com.mygdx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.HeroAttack;
+import com.mygdx.nio.EventCodec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the encoding and decoding of the network events, with the binary frames of
+ * the EventCodec against the JSON path they replaced: a new ObjectMapper for every message, a
+ * String that is turned into bytes, and a JSON tree that is read back into the event. The JSON path
+ * with one shared ObjectMapper is measured too, so the cost of the mapper and the cost of the
+ * format can be told apart. The fan-out of one event to several clients is measured with a copy of
+ * the frame per client against duplicates of one read-only frame.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+  // The number of clients an event is broadcast to.
+  static final int CLIENTS = 3;
+
+  @Param({"CharacterMove", "CharacterAttack", "HeroAttack"})
+  String type; // The class of the measured event.
+
+  GameEvent event;
+  Class<? extends GameEvent> eventClass;
+  ObjectMapper objectMapper;
+  ByteBuffer buffer;
+  ByteBuffer frame;
+  byte[] json;
+  ByteBuffer[] queues = new ByteBuffer[CLIENTS]; // The frames given to the clients.
+
+  /** This method creates the event and its encoded forms. */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    switch (type) {
+      case "CharacterMove":
+        event = new CharacterMove(1, -1, 12345, GameEvent.Type.HERO_MOVE);
+        eventClass = CharacterMove.class;
+        break;
+      case "CharacterAttack":
+        event =
+            new CharacterAttack(
+                123.5f, 456.5f, 10, 3.25f, -1.5f, 33.7f, GameEvent.Type.CHARACTER_ATTACK);
+        eventClass = CharacterAttack.class;
+        break;
+      default:
+        event = new HeroAttack(12345, 123.5f, 456.5f, GameEvent.Type.HERO_ATTACK);
+        eventClass = HeroAttack.class;
+        break;
+    }
+    objectMapper = new ObjectMapper();
+    buffer = ByteBuffer.allocate(1024);
+    frame = ByteBuffer.allocate(1024);
+    EventCodec.encode(event, frame);
+    frame.flip();
+    json = objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+    System.out.printf(
+        "%n%s: %d bytes as a frame, %d bytes as JSON%n", type, frame.limit(), json.length);
+  }
+
+  /**
+   * This method measures the encoding of the event into a binary frame.
+   *
+   * @return The buffer of the frame.
+   */
+  @Benchmark
+  public ByteBuffer encodeBinary() {
+    buffer.clear();
+    EventCodec.encode(event, buffer);
+    return buffer;
+  }
+
+  /**
+   * This method measures the decoding of the event from a binary frame.
+   *
+   * @return The decoded event.
+   */
+  @Benchmark
+  public GameEvent decodeBinary() {
+    frame.rewind();
+    EventCodec.peek(frame);
+    return EventCodec.decode(frame);
+  }
+
+  /**
+   * This method measures the encoding of the event as JSON with a new ObjectMapper.
+   *
+   * @return The bytes of the JSON.
+   * @throws IOException If the event cannot be serialized.
+   */
+  @Benchmark
+  public byte[] encodeJson() throws IOException {
+    return new ObjectMapper().writeValueAsString(event).getBytes();
+  }
+
+  /**
+   * This method measures the decoding of the event from JSON with a new ObjectMapper and a tree.
+   *
+   * @return The decoded event.
+   * @throws IOException If the event cannot be deserialized.
+   */
+  @Benchmark
+  public GameEvent decodeJson() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode rootNode = mapper.readTree(json);
+    return mapper.treeToValue(rootNode, eventClass);
+  }
+
+  /**
+   * This method measures the encoding of the event as JSON with a shared ObjectMapper.
+   *
+   * @return The bytes of the JSON.
+   * @throws IOException If the event cannot be serialized.
+   */
+  @Benchmark
+  public byte[] encodeJsonShared() throws IOException {
+    return objectMapper.writeValueAsBytes(event);
+  }
+
+  /**
+   * This method measures the decoding of the event from JSON with a shared ObjectMapper.
+   *
+   * @return The decoded event.
+   * @throws IOException If the event cannot be deserialized.
+   */
+  @Benchmark
+  public GameEvent decodeJsonShared() throws IOException {
+    return objectMapper.readValue(json, eventClass);
+  }
+
+  /**
+   * This method measures the fan-out of the event to the clients with a new buffer per client that
+   * the frame is copied into.
+   *
+   * @return The buffers of the clients.
+   */
+  @Benchmark
+  public ByteBuffer[] fanOutCopy() {
+    buffer.clear();
+    EventCodec.encode(event, buffer);
+    buffer.flip();
+    for (int i = 0; i < CLIENTS; i++) {
+      queues[i] = ByteBuffer.allocate(buffer.remaining());
+      queues[i].put(buffer.duplicate());
+      queues[i].flip();
+    }
+    return queues;
+  }
+
+  /**
+   * This method measures the fan-out of the event to the clients with one read-only frame that
+   * every client gets a duplicate of.
+   *
+   * @return The buffers of the clients.
+   */
+  @Benchmark
+  public ByteBuffer[] fanOutDuplicate() {
+    buffer.clear();
+    EventCodec.encode(event, buffer);
+    buffer.flip();
+    ByteBuffer shared = buffer.asReadOnlyBuffer();
+    for (int i = 0; i < CLIENTS; i++) {
+      queues[i] = shared.duplicate();
+    }
+    return queues;
+  }
+}
@@ -0,0 +1,128 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.Bullet;
+import com.mygdx.character.Enemy;
+import com.mygdx.config.Config;
+import com.mygdx.map.SpatialGrid;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares the linear scan of Bullet#update(List) with the grid lookup of
+ * Bullet#update(SpatialGrid) for a growing number of characters, to find the number of characters
+ * from which the grid is faster. The characters fill half of a square map and cannot die, and a
+ * batch of bullets is scattered over the map. The bullets are revived before every batch, because a
+ * hit sets their health points to 0.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+  private static final int BULLETS = 256; // The number of bullets of a batch.
+
+  @Param({"1", "8", "64", "512", "2048"})
+  int characters; // The number of enemies on the map.
+
+  Texture texture;
+  List<Enemy> enemies;
+  SpatialGrid<Enemy> grid;
+  List<Bullet> bullets;
+
+  /** This method creates the map, the enemies in the list and in the grid, and the bullets. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    texture = new Texture(Config.BULLET_PATH);
+    int side = (int) Math.ceil(Math.sqrt(characters * 2.0));
+    Config.changeConfig(side, side);
+
+    enemies = new ArrayList<>();
+    grid = new SpatialGrid<>(side, side);
+    for (int i = 0; i < characters; i++) {
+      Enemy enemy =
+          new Enemy(
+              (int) (i / side * Config.CELL_SIZE),
+              (int) (i % side * Config.CELL_SIZE),
+              Integer.MAX_VALUE,
+              0,
+              texture,
+              texture);
+      enemies.add(enemy);
+      grid.add(enemy);
+    }
+
+    Random random = new Random(42);
+    bullets = new ArrayList<>();
+    for (int i = 0; i < BULLETS; i++) {
+      bullets.add(
+          new Bullet(
+              random.nextFloat() * Config.MAP_WIDTH,
+              random.nextFloat() * Config.MAP_HEIGHT,
+              0,
+              0,
+              0,
+              0,
+              texture));
+    }
+  }
+
+  /** This method releases the texture. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    texture.dispose();
+  }
+
+  /**
+   * This method measures the update of the batch of bullets against the list of all enemies.
+   *
+   * @return The number of bullets that hit an enemy.
+   */
+  @Benchmark
+  public int linear() {
+    int hits = 0;
+    for (Bullet bullet : bullets) {
+      bullet.setHp(99);
+      bullet.update(enemies);
+      hits += bullet.isDead() ? 1 : 0;
+    }
+    return hits;
+  }
+
+  /**
+   * This method measures the update of the batch of bullets against the spatial grid of the
+   * enemies.
+   *
+   * @return The number of bullets that hit an enemy.
+   */
+  @Benchmark
+  public int grid() {
+    int hits = 0;
+    for (Bullet bullet : bullets) {
+      bullet.setHp(99);
+      bullet.update(grid);
+      hits += bullet.isDead() ? 1 : 0;
+    }
+    return hits;
+  }
+}
@@ -0,0 +1,149 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
+import com.mygdx.event.HeroAttack;
+import com.mygdx.observer.GameObserver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the game state as seen by the network: the dispatch of an event to the
+ * observers, and the Jackson serialization of the whole game state that the GameServer sends to a
+ * client when it connects. The store holds one bullet per hero, so the bullets are part of the
+ * serialized state. The observers are no-op implementations, so only the dispatch is measured.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStateBenchmark {
+  @Param({"1000", "10000"})
+  int units; // The number of heroes and the number of enemies.
+
+  @Param({"200", "1000"})
+  int mapSize; // The number of rows and columns of the map.
+
+  @Param({"4"})
+  int observers; // The number of observers of the game state.
+
+  Texture texture;
+  GameState gameState;
+  ObjectMapper objectMapper;
+  CharacterMove event;
+
+  /** This method creates the world, its bullets and observers, and the event to dispatch. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    texture = new Texture(Config.BULLET_PATH);
+    gameState = BenchmarkWorld.create(units, mapSize, texture);
+    gameState
+        .getHeroes()
+        .forEach(hero -> hero.attack(hero.getX() + 1, hero.getY(), gameState.getBulletStore()));
+    for (int i = 0; i < observers; i++) {
+      gameState.addObserver(new NoOpObserver());
+    }
+    objectMapper = new ObjectMapper();
+    event = new CharacterMove(1, 0, 0, GameEvent.Type.HERO_MOVE);
+  }
+
+  /** This method releases the texture. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    texture.dispose();
+  }
+
+  /** This method measures the dispatch of a move event to the observers. */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void notifyObservers() {
+    gameState.notifyObservers(event);
+  }
+
+  /**
+   * This method measures the serialization of the whole game state to JSON.
+   *
+   * @return The JSON of the game state.
+   * @throws JsonProcessingException If the game state cannot be serialized.
+   */
+  @Benchmark
+  public String serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(gameState);
+  }
+
+  /** This class is an observer that ignores all events. */
+  private static class NoOpObserver implements GameObserver {
+    /**
+     * This method ignores a generic event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(GameEvent event) {}
+
+    /**
+     * This method ignores a move event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(CharacterMove event) {}
+
+    /**
+     * This method ignores an attack event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(CharacterAttack event) {}
+
+    /**
+     * This method ignores a hero attack event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(HeroAttack event) {}
+
+    /**
+     * This method ignores a game over event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(GameOver event) {}
+
+    /**
+     * This method ignores a health points event.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void handleEvent(CharacterHp event) {}
+  }
+}
@@ -0,0 +1,52 @@
+package com.mygdx.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.mygdx.controller.TextureManager;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Level;
+
+/**
+ * This class stubs libGDX for the benchmarks in the same way as the TestRunner of the core tests.
+ * The GL interfaces are replaced by mocks, so textures can be created without a graphics context,
+ * and a headless application provides Gdx.app, Gdx.files and a mock audio backend for the sounds.
+ * Logging is turned off, so the benchmarks do not measure the log output of the simulation.
+ *
+ * @author Hades
+ */
+public class GdxStub {
+  private static boolean started = false; // Whether the headless application has been started.
+
+  private GdxStub() {}
+
+  /**
+   * This method starts the stubbed libGDX application once per JVM. Further calls do nothing, so
+   * every benchmark state can call it from its setup.
+   */
+  public static synchronized void start() {
+    if (started) {
+      return;
+    }
+    Gdx.gl = mock(GL20.class);
+    Gdx.gl20 = mock(GL20.class);
+    Gdx.gl30 = mock(GL30.class);
+
+    HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+    config.updatesPerSecond = 1;
+    new HeadlessApplication(new ApplicationAdapter() {}, config);
+    Gdx.app.setLogLevel(Application.LOG_NONE);
+    GameLogger.getInstance().setLevel(Level.NONE);
+
+    // The texture manager loads one texture per initial character of the current Config, and only
+    // the default Config has enough character images, so it is loaded before any world is built.
+    TextureManager.getInstance();
+    started = true;
+  }
+}
@@ -0,0 +1,76 @@
+package com.mygdx.benchmark;
+
+import com.mygdx.config.Config;
+import com.mygdx.map.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the cell accessors of the map. The positions are drawn up front from a
+ * fixed seed and walked in order, so the benchmarks measure the accessors and the cache misses of
+ * random cells, not the random number generator.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+  private static final int POSITIONS = 1 << 16; // The number of positions, a power of two.
+
+  @Param({"200", "1000"})
+  int mapSize; // The number of rows and columns of the map.
+
+  Map map;
+  int[] xs;
+  int[] ys;
+  int next; // The index of the next position.
+
+  /** This method creates the map and the positions. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    Config.changeConfig(mapSize, mapSize);
+    map = new Map(mapSize, mapSize);
+    xs = new int[POSITIONS];
+    ys = new int[POSITIONS];
+    Random random = new Random(42);
+    for (int i = 0; i < POSITIONS; i++) {
+      xs[i] = (int) (random.nextInt(mapSize) * Config.CELL_SIZE);
+      ys[i] = (int) (random.nextInt(mapSize) * Config.CELL_SIZE);
+    }
+  }
+
+  /**
+   * This method measures reading a cell.
+   *
+   * @return The value of the cell.
+   */
+  @Benchmark
+  public int get() {
+    next = (next + 1) & (POSITIONS - 1);
+    return map.get(xs[next], ys[next]);
+  }
+
+  /** This method measures writing a cell. */
+  @Benchmark
+  public void set() {
+    next = (next + 1) & (POSITIONS - 1);
+    map.set(xs[next], ys[next], next & 1);
+  }
+}
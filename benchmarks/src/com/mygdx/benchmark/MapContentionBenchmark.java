@@ -0,0 +1,172 @@
+package com.mygdx.benchmark;
+
+import com.mygdx.config.Config;
+import com.mygdx.map.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares moving many characters on one map with the old global lock, where every move
+ * holds the map monitor around a get and two sets, with the compare-and-set claims of Map#move.
+ * Every thread owns a share of the characters and moves them randomly, and one invocation makes a
+ * fixed number of moves over all threads. The characters stay where the previous invocation left
+ * them, which keeps the map as full as after the setup.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapContentionBenchmark {
+  private static final int SIDE = 256; // The number of rows and columns of the map.
+  private static final int MOVES = 1 << 18; // The number of moves of one invocation.
+  private static final int[] DIRS = {0, 1, 0, -1, 0}; // The steps of the four directions.
+
+  @Param({"1", "2", "4", "8"})
+  int threads; // The number of threads that move the characters.
+
+  @Param({"4096"})
+  int characters; // The number of characters on the map.
+
+  Map map;
+  int[] xs;
+  int[] ys;
+  Random[] randoms; // The random number generator of every thread.
+  ExecutorService executor;
+
+  /** This method places the characters on the map and starts the threads. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    Config.changeConfig(SIDE, SIDE);
+    map = new Map(SIDE, SIDE);
+    xs = new int[characters];
+    ys = new int[characters];
+    Random random = new Random(42);
+    for (int i = 0; i < characters; i++) {
+      do {
+        xs[i] = (int) (random.nextInt(SIDE) * Config.CELL_SIZE);
+        ys[i] = (int) (random.nextInt(SIDE) * Config.CELL_SIZE);
+      } while (!map.claim(xs[i], ys[i]));
+    }
+
+    randoms = new Random[threads];
+    for (int t = 0; t < threads; t++) {
+      randoms[t] = new Random(t);
+    }
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /** This method stops the threads. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * This method measures the moves of the characters while every move holds the map monitor.
+   *
+   * @return The number of moves that succeeded.
+   */
+  @Benchmark
+  public int locked() throws InterruptedException, ExecutionException {
+    return run(true);
+  }
+
+  /**
+   * This method measures the moves of the characters with the compare-and-set claims of the map.
+   *
+   * @return The number of moves that succeeded.
+   */
+  @Benchmark
+  public int cas() throws InterruptedException, ExecutionException {
+    return run(false);
+  }
+
+  /**
+   * This method lets every thread move its share of the characters and waits for all of them.
+   *
+   * @param locked Whether the moves hold the map monitor.
+   * @return The number of moves that succeeded.
+   */
+  private int run(boolean locked) throws InterruptedException, ExecutionException {
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int first = t;
+      futures.add(executor.submit(() -> moveShare(first, locked)));
+    }
+    int moved = 0;
+    for (Future<Integer> future : futures) {
+      moved += future.get();
+    }
+    return moved;
+  }
+
+  /**
+   * This method moves random characters of one thread in random directions. The thread owns the
+   * characters whose index is congruent to its own index modulo the number of threads.
+   *
+   * @param first The index of the thread, which is also the index of its first character.
+   * @param locked Whether the moves hold the map monitor.
+   * @return The number of moves that succeeded.
+   */
+  private int moveShare(int first, boolean locked) {
+    Random random = randoms[first];
+    int share = (characters - first + threads - 1) / threads;
+    int moved = 0;
+    for (int m = 0; m < MOVES / threads; m++) {
+      int i = first + threads * random.nextInt(share);
+      int dir = random.nextInt(4);
+      int toX = (int) (xs[i] + DIRS[dir] * Config.CELL_SIZE);
+      int toY = (int) (ys[i] + DIRS[dir + 1] * Config.CELL_SIZE);
+      if (locked ? lockedMove(xs[i], ys[i], toX, toY) : map.move(xs[i], ys[i], toX, toY)) {
+        xs[i] = toX;
+        ys[i] = toY;
+        moved++;
+      }
+    }
+    return moved;
+  }
+
+  /**
+   * This method moves a character the way the characters did before, holding the map monitor.
+   *
+   * @param fromX The x-coordinate of the source cell.
+   * @param fromY The y-coordinate of the source cell.
+   * @param toX The x-coordinate of the destination cell.
+   * @param toY The y-coordinate of the destination cell.
+   * @return true if the move was made, false if the destination is outside the map or occupied.
+   */
+  private boolean lockedMove(int fromX, int fromY, int toX, int toY) {
+    synchronized (map) {
+      if (map.get(toX, toY) != 0) {
+        return false;
+      }
+      map.set(fromX, fromY, 0);
+      map.set(toX, toY, 1);
+      return true;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.mygdx.benchmark;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.bullet.BulletUpdater;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks how one pass of the BulletUpdater scales with the number of threads that
+ * move the bullets. The bullets are spread uniformly over the map and fly in random directions, so
+ * every strip of the map has about the same amount of work. The store is refilled before every
+ * pass, because a pass moves the bullets and removes the ones that hit.
+ *
+ * @author Hades
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelBulletBenchmark {
+  @Param({"1", "2", "4", "8"})
+  int parallelism; // The number of threads that move the bullets.
+
+  @Param({"100000"})
+  int bullets; // The number of bullets in the store.
+
+  @Param({"10000"})
+  int units; // The number of heroes and the number of enemies.
+
+  @Param({"1000"})
+  int mapSize; // The number of rows and columns of the map.
+
+  Texture texture;
+  GameState gameState;
+  BulletUpdater bulletUpdater;
+  float[][] shots; // The position, speed and rotation of every bullet of a full store.
+
+  /** This method creates the world, the updater and the shots. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    GdxStub.start();
+    texture = new Texture(Config.BULLET_PATH);
+    gameState = BenchmarkWorld.create(units, mapSize, texture);
+    bulletUpdater = new BulletUpdater(gameState, parallelism);
+
+    Random random = new Random(7);
+    shots = new float[bullets][];
+    for (int i = 0; i < bullets; i++) {
+      float angle = random.nextFloat() * 360 - 180;
+      shots[i] =
+          new float[] {
+            random.nextFloat() * Config.MAP_WIDTH,
+            random.nextFloat() * Config.MAP_HEIGHT,
+            (float) Math.cos(Math.toRadians(angle)) * Config.BULLET_SPEED,
+            (float) Math.sin(Math.toRadians(angle)) * Config.BULLET_SPEED,
+            angle
+          };
+    }
+  }
+
+  /** This method refills the bullet store before every pass of the bullet updater. */
+  @Setup(Level.Invocation)
+  public void fill() {
+    BulletStore store = gameState.getBulletStore();
+    store.setAll(Collections.emptyList());
+    for (float[] shot : shots) {
+      store.add(shot[0], shot[1], BenchmarkWorld.ATK, shot[2], shot[3], shot[4]);
+    }
+  }
+
+  /** This method shuts the threads down and releases the texture. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    bulletUpdater.setParallelism(1);
+    texture.dispose();
+  }
+
+  /**
+   * This method measures one pass of the bullet updater over the full store.
+   *
+   * @return The number of bullets left in the store.
+   */
+  @Benchmark
+  public int bulletUpdaterRun() {
+    bulletUpdater.run();
+    return gameState.getBulletStore().size();
+  }
+}
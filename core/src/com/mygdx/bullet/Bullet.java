@@ -1,41 +1,43 @@
 package com.mygdx.bullet;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Rectangle;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mygdx.character.Character;
 import com.mygdx.config.Config;
+import com.mygdx.controller.SoundManager;
 import com.mygdx.entity.Entity;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.map.SpatialGrid;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
-import java.util.List;
 
 /**
  * This class represents a bullet in the game. It extends the Entity class. It contains properties
- * for the speed and rotation of the bullet, and a sound that is played when the bullet hits a
- * character. It also contains methods for updating the bullet's state and checking if the bullet is
- * dead. The bullet's state is updated by moving the bullet and checking for collisions with
- * characters. The bullet is dead if it is outside the game map or if it has hit a character.
+ * for the speed and rotation of the bullet. It also contains methods for updating the bullet's
+ * state and checking if the bullet is dead. The bullet's state is updated by moving the bullet and
+ * checking for collisions with characters. The bullet is dead if it is outside the game map or if
+ * it has hit a character. In the running game the bullets are kept in a BulletStore, Bullet objects
+ * are used when bullets are exchanged as objects, for example with Jackson.
  *
  * @author Hades
  */
 @Getter
 @Setter
-@JsonIgnoreProperties({"sprite", "sound"})
+@JsonIgnoreProperties({"sprite"})
 public class Bullet extends Entity {
   private static final long serialVersionUID = 1L;
+  private static final int INIT_HP = 99; // The health points of a bullet that has not hit yet.
   private float speedX; // The speed of the bullet in the x direction.
   private float speedY; // The speed of the bullet in the y direction.
   private float rotation; // The rotation of the bullet.
-  private transient Sound sound; // The sound that is played when the bullet hits a character.
 
   /**
    * Constructor for the Bullet class. It initializes the bullet's position, attack points, speed,
-   * rotation, and texture. It also initializes the sound that is played when the bullet hits a
-   * character.
+   * rotation, and texture.
    *
    * @param x The x-coordinate of the bullet.
    * @param y The y-coordinate of the bullet.
@@ -53,41 +55,144 @@ public class Bullet extends Entity {
       float speedY,
       float rotation,
       Texture bulletTexture) {
-    super(x, y, 99, atk, bulletTexture);
+    super(x, y, INIT_HP, atk, bulletTexture);
 
     this.speedX = speedX;
     this.speedY = speedY;
     this.rotation = rotation;
     getSprite().setRotation(rotation);
-
-    sound = Gdx.audio.newSound(Gdx.files.internal(Config.SHOOT_PATH));
-
-    Gdx.app.log("Bullet", "x: " + x + ", y: " + y + ", rotation: " + rotation);
   }
 
   /**
-   * This method updates the bullet's state. It moves the bullet and checks for collisions with
-   * characters. If the bullet hits a character, it reduces the character's health points by the
-   * bullet's attack points, plays a sound, and sets the bullet's health points to 0.
+   * This method updates the bullet's state. It moves the bullet by one step and checks for
+   * collisions with characters. The collision is swept, so the bullet hits the first living
+   * character it touches along the step, even if the step is longer than a character. If the bullet
+   * hits a character, it stops there, reduces the character's health points by the bullet's attack
+   * points, plays a sound, and sets the bullet's health points to 0.
    *
    * @param characters The list of characters.
    */
   public void update(List<? extends Character> characters) {
-    move(getX() + speedX, getY() + speedY);
+    Rectangle bound = new Rectangle(getBound());
+    float first = firstHit(characters, bound, Sweep.MISS);
+    step(first);
+    if (first != Sweep.MISS) {
+      hitAt(characters, bound, first);
+    }
+  }
+
+  /**
+   * This method updates the bullet's state like {@link #update(List)}, but only checks the
+   * characters in the cells crossed by the bullet's center and their neighbouring cells. This is
+   * enough because a character occupies exactly one cell and a bullet is not larger than a cell.
+   *
+   * @param grid The spatial grid of the characters.
+   */
+  public void update(SpatialGrid<? extends Character> grid) {
+    Rectangle bound = new Rectangle(getBound());
+    float centerX = bound.x + bound.width / 2;
+    float centerY = bound.y + bound.height / 2;
+    int minX = grid.cellX(Math.min(centerX, centerX + speedX)) - 1;
+    int maxX = grid.cellX(Math.max(centerX, centerX + speedX)) + 1;
+    int minY = grid.cellY(Math.min(centerY, centerY + speedY)) - 1;
+    int maxY = grid.cellY(Math.max(centerY, centerY + speedY)) + 1;
+
+    float first = Sweep.MISS;
+    for (int i = minX; i <= maxX; i++) {
+      for (int j = minY; j <= maxY; j++) {
+        first = firstHit(grid.get(i, j), bound, first);
+      }
+    }
+    step(first);
+    if (first != Sweep.MISS) {
+      for (int i = minX; i <= maxX; i++) {
+        for (int j = minY; j <= maxY; j++) {
+          hitAt(grid.get(i, j), bound, first);
+        }
+      }
+    }
+  }
+
+  /**
+   * This method finds the earliest time during the step at which the bullet overlaps a living
+   * character of a list.
+   *
+   * @param characters The characters to check.
+   * @param bound The bound of the bullet at the start of the step.
+   * @param first The earliest time found so far.
+   * @return The earliest time, or first if no character of the list is hit earlier.
+   */
+  private float firstHit(List<? extends Character> characters, Rectangle bound, float first) {
+    for (Character character : characters) {
+      if (!character.isDead()) {
+        first = Math.min(first, enter(bound, character));
+      }
+    }
+    return first;
+  }
+
+  /**
+   * This method hits every living character of a list that the bullet starts to overlap at a time.
+   *
+   * @param characters The characters to check.
+   * @param bound The bound of the bullet at the start of the step.
+   * @param time The time of the hit.
+   */
+  private void hitAt(List<? extends Character> characters, Rectangle bound, float time) {
+    for (Character character : characters) {
+      if (!character.isDead() && enter(bound, character) == time) {
+        hit(character);
+      }
+    }
+  }
+
+  /**
+   * This method returns the time at which the bullet starts to overlap a character during the step.
+   *
+   * @param bound The bound of the bullet at the start of the step.
+   * @param character The character to check.
+   * @return The time of the overlap between 0 and 1, or Sweep.MISS if they do not overlap.
+   */
+  private float enter(Rectangle bound, Character character) {
+    Rectangle other = character.getBound();
+    return Sweep.enter(
+        bound.x + bound.width / 2,
+        bound.y + bound.height / 2,
+        speedX,
+        speedY,
+        other.x - bound.width / 2,
+        other.y - bound.height / 2,
+        other.x + other.width + bound.width / 2,
+        other.y + other.height + bound.height / 2);
+  }
 
-    characters.stream()
-        .filter(character -> !character.isDead() && character.getBound().overlaps(getBound()))
-        .forEach(
-            character -> {
-              character.setHp(character.getHp() - getAtk());
-              sound.play();
-              setHp(0);
-              Gdx.app.log("Bullet", "hit " + character.getId() + ", hp: " + character.getHp());
+  /**
+   * This method moves the bullet along the step up to a time, or along the whole step if the time
+   * is Sweep.MISS.
+   *
+   * @param time The time at which the bullet stops.
+   */
+  private void step(float time) {
+    float t = Math.min(time, 1);
+    move(getX() + speedX * t, getY() + speedY * t);
+  }
+
+  /**
+   * This method applies a hit of the bullet to a character. It reduces the character's health
+   * points by the bullet's attack points, plays a sound, and sets the bullet's health points to 0.
+   *
+   * @param character The character that is hit.
+   */
+  private void hit(Character character) {
+    character.setHp(character.getHp() - getAtk());
+    SoundManager.getInstance().getShootSound().play();
+    setHp(0);
+    GameLogger.getInstance()
+        .debug(Category.BULLET, "hit {}, hp: {}", character.getId(), character.getHp());
 
-              if (character.isDead()) {
-                character.changeDieTexture();
-              }
-            });
+    if (character.isDead()) {
+      character.changeDieTexture();
+    }
   }
 
   /**
@@ -0,0 +1,514 @@
+package com.mygdx.bullet;
+
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.mygdx.character.Character;
+import com.mygdx.config.Config;
+import com.mygdx.controller.SoundManager;
+import com.mygdx.controller.TextureManager;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.map.SpatialGrid;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class stores all bullets of the game as a structure of arrays. The position, speed,
+ * rotation, attack points, team and liveness of the bullet at index i are kept in parallel
+ * primitive arrays, so firing, moving, colliding and rendering a bullet do not allocate an object.
+ * Dead bullets are removed by swapping the last bullet into their slot, which does not preserve the
+ * order of the bullets. Bullets are only added and moved by the simulation thread, but the public
+ * methods are still synchronized, because the render thread draws the bullets and the save and
+ * network code copies them while the simulation thread changes them. The store is serialized by
+ * writing the arrays directly, and {@link #toList()} provides a stable list of Bullet objects for
+ * Jackson.
+ *
+ * @author Hades
+ */
+public class BulletStore implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  // The team of a bullet that was fired by a hero, it collides with enemies.
+  public static final int TEAM_HERO = 0;
+  // The team of a bullet that was fired by an enemy, it collides with heroes.
+  public static final int TEAM_ENEMY = 1;
+
+  private static final int INIT_CAPACITY = 64;
+
+  private transient int size; // The number of bullets in the store.
+  private transient float[] x; // The x-coordinates of the bullets.
+  private transient float[] y; // The y-coordinates of the bullets.
+  private transient float[] speedX; // The speeds of the bullets in the x direction.
+  private transient float[] speedY; // The speeds of the bullets in the y direction.
+  private transient float[] rotation; // The rotations of the bullets.
+  private transient float[] extentX; // The half widths of the rotated bounds of the bullets.
+  private transient float[] extentY; // The half heights of the rotated bounds of the bullets.
+  private transient int[] atk; // The attack points of the bullets.
+  private transient int[] team; // The teams of the bullets.
+  private transient boolean[] alive; // Whether the bullets are still flying.
+  private transient Sprite sprite; // The sprite used to draw every bullet.
+
+  /** Constructor for the BulletStore class. It creates an empty store. */
+  public BulletStore() {
+    allocate(INIT_CAPACITY);
+  }
+
+  /**
+   * Returns the team of a bullet from its rotation. A bullet flying to the left collides with the
+   * heroes, any other bullet collides with the enemies.
+   *
+   * @param rotation The rotation of the bullet.
+   * @return The team of the bullet.
+   */
+  public static int teamOf(float rotation) {
+    return rotation > 90 || rotation < -90 ? TEAM_ENEMY : TEAM_HERO;
+  }
+
+  /**
+   * Adds a bullet to the store. The team of the bullet is derived from its rotation.
+   *
+   * @param x The x-coordinate of the bullet.
+   * @param y The y-coordinate of the bullet.
+   * @param atk The attack points of the bullet.
+   * @param speedX The speed of the bullet in the x direction.
+   * @param speedY The speed of the bullet in the y direction.
+   * @param rotation The rotation of the bullet.
+   */
+  public synchronized void add(
+      float x, float y, int atk, float speedX, float speedY, float rotation) {
+    if (size == this.x.length) {
+      grow(size * 2);
+    }
+
+    int i = size++;
+    this.x[i] = x;
+    this.y[i] = y;
+    this.atk[i] = atk;
+    this.speedX[i] = speedX;
+    this.speedY[i] = speedY;
+    this.rotation[i] = rotation;
+    float cos = Math.abs(MathUtils.cosDeg(rotation));
+    float sin = Math.abs(MathUtils.sinDeg(rotation));
+    extentX[i] = (Config.BULLET_WIDTH * cos + Config.BULLET_HEIGHT * sin) / 2;
+    extentY[i] = (Config.BULLET_WIDTH * sin + Config.BULLET_HEIGHT * cos) / 2;
+    team[i] = teamOf(rotation);
+    alive[i] = true;
+  }
+
+  /**
+   * Adds a bullet object to the store. Dead bullets are skipped.
+   *
+   * @param bullet The bullet to add.
+   */
+  public synchronized void add(Bullet bullet) {
+    if (bullet.getHp() > 0) {
+      add(
+          bullet.getX(),
+          bullet.getY(),
+          bullet.getAtk(),
+          bullet.getSpeedX(),
+          bullet.getSpeedY(),
+          bullet.getRotation());
+    }
+  }
+
+  /**
+   * Moves the bullet at an index by one step and checks it for collisions with the characters of a
+   * spatial grid. The collision is swept: the center of the bullet moves along a segment, and the
+   * first living character whose cell it enters before it leaves the map is hit, so a step may be
+   * longer than a cell without the bullet tunneling through a character. Characters entered at the
+   * same time are all hit. A bullet that hits stops at the point of the hit. The bullet dies when
+   * it hits a character or leaves the map, but stays in the store until {@link #compact()} is
+   * called.
+   *
+   * @param i The index of the bullet.
+   * @param grid The spatial grid of the characters the bullet collides with.
+   */
+  public synchronized void update(int i, SpatialGrid<? extends Character> grid) {
+    List<Hit> hits = new ArrayList<>(1);
+    collide(i, grid, hits);
+    apply(hits);
+  }
+
+  /**
+   * Moves the bullet at an index by one step and finds the characters it hits, like {@link
+   * #update(int, SpatialGrid)}, but records the hits instead of applying them. The bullet is killed
+   * when it hits, the characters are not changed. This method is not synchronized, so the bullet
+   * updater can call it from several threads for distinct indexes while it holds the lock of the
+   * store.
+   *
+   * @param i The index of the bullet.
+   * @param grid The spatial grid of the characters the bullet collides with.
+   * @param hits The list the hits of the bullet are added to.
+   */
+  void collide(int i, SpatialGrid<? extends Character> grid, List<Hit> hits) {
+    if (!alive[i]) {
+      return;
+    }
+
+    float centerX = x[i] + Config.BULLET_WIDTH / 2;
+    float centerY = y[i] + Config.BULLET_HEIGHT / 2;
+    float dx = speedX[i];
+    float dy = speedY[i];
+    // Only the part of the step inside the map can hit, the bullet dies where it leaves the map.
+    float limit = Sweep.exit(centerX, centerY, dx, dy, 0, 0, Config.MAP_WIDTH, Config.MAP_HEIGHT);
+
+    // The cells crossed by the center, and their neighbours, which the extents of a bullet reach.
+    int minX = grid.cellX(Math.min(centerX, centerX + dx * limit)) - 1;
+    int maxX = grid.cellX(Math.max(centerX, centerX + dx * limit)) + 1;
+    int minY = grid.cellY(Math.min(centerY, centerY + dy * limit)) - 1;
+    int maxY = grid.cellY(Math.max(centerY, centerY + dy * limit)) + 1;
+
+    float first = Sweep.MISS;
+    for (int gx = minX; gx <= maxX; gx++) {
+      for (int gy = minY; gy <= maxY; gy++) {
+        for (Character character : grid.get(gx, gy)) {
+          if (!character.isDead()) {
+            float t = enter(i, centerX, centerY, dx, dy, character);
+            if (t <= limit && t < first) {
+              first = t;
+            }
+          }
+        }
+      }
+    }
+
+    if (first != Sweep.MISS) {
+      for (int gx = minX; gx <= maxX; gx++) {
+        for (int gy = minY; gy <= maxY; gy++) {
+          for (Character character : grid.get(gx, gy)) {
+            if (!character.isDead() && enter(i, centerX, centerY, dx, dy, character) == first) {
+              hits.add(new Hit(i, character));
+            }
+          }
+        }
+      }
+      alive[i] = false;
+      dx *= first;
+      dy *= first;
+    }
+
+    x[i] += dx;
+    y[i] += dy;
+    centerX += dx;
+    centerY += dy;
+    if (centerX < 0 || centerX > Config.MAP_WIDTH || centerY < 0 || centerY > Config.MAP_HEIGHT) {
+      alive[i] = false;
+    }
+  }
+
+  /**
+   * Returns the time at which the rotated bound of a moving bullet starts to overlap the cell of a
+   * character.
+   *
+   * @param i The index of the bullet.
+   * @param centerX The x-coordinate of the center of the bullet at the start of the step.
+   * @param centerY The y-coordinate of the center of the bullet at the start of the step.
+   * @param dx The distance moved in the x direction during the step.
+   * @param dy The distance moved in the y direction during the step.
+   * @param character The character to check.
+   * @return The time of the overlap between 0 and 1, or Sweep.MISS if they do not overlap.
+   */
+  private float enter(
+      int i, float centerX, float centerY, float dx, float dy, Character character) {
+    return Sweep.enter(
+        centerX,
+        centerY,
+        dx,
+        dy,
+        character.getX() - extentX[i],
+        character.getY() - extentY[i],
+        character.getX() + Config.CELL_SIZE + extentX[i],
+        character.getY() + Config.CELL_SIZE + extentY[i]);
+  }
+
+  /**
+   * Applies recorded hits in their order. Each hit reduces the character's health points by the
+   * bullet's attack points, plays a sound, and changes the texture of a character that dies. A
+   * character that died from an earlier hit of the list is not hit again.
+   *
+   * @param hits The hits to apply.
+   */
+  void apply(List<Hit> hits) {
+    for (Hit hit : hits) {
+      Character character = hit.character;
+      if (character.isDead()) {
+        continue;
+      }
+
+      character.setHp(character.getHp() - atk[hit.index]);
+      SoundManager.getInstance().getShootSound().play();
+      GameLogger.getInstance()
+          .debug(Category.BULLET, "hit {}, hp: {}", character.getId(), character.getHp());
+
+      if (character.isDead()) {
+        character.changeDieTexture();
+      }
+    }
+  }
+
+  /** Removes the dead bullets by moving the last bullet into each free slot. */
+  public synchronized void compact() {
+    int i = 0;
+    while (i < size) {
+      if (alive[i]) {
+        i++;
+        continue;
+      }
+
+      int last = --size;
+      x[i] = x[last];
+      y[i] = y[last];
+      speedX[i] = speedX[last];
+      speedY[i] = speedY[last];
+      rotation[i] = rotation[last];
+      extentX[i] = extentX[last];
+      extentY[i] = extentY[last];
+      atk[i] = atk[last];
+      team[i] = team[last];
+      alive[i] = alive[last];
+    }
+  }
+
+  /**
+   * Draws every living bullet with one shared sprite.
+   *
+   * @param batch The SpriteBatch to use for drawing.
+   */
+  public synchronized void render(SpriteBatch batch) {
+    if (sprite == null) {
+      sprite = new Sprite(TextureManager.getInstance().getBulletTexture());
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (alive[i]) {
+        sprite.setPosition(x[i], y[i]);
+        sprite.setRotation(rotation[i]);
+        sprite.draw(batch);
+      }
+    }
+  }
+
+  /**
+   * Returns a stable snapshot of the living bullets as Bullet objects. Later changes to the store
+   * are not reflected in the returned list.
+   *
+   * @return The list of living bullets.
+   */
+  public synchronized CopyOnWriteArrayList<Bullet> toList() {
+    Bullet[] bullets = new Bullet[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (alive[i]) {
+        bullets[count++] =
+            new Bullet(
+                x[i],
+                y[i],
+                atk[i],
+                speedX[i],
+                speedY[i],
+                rotation[i],
+                TextureManager.getInstance().getBulletTexture());
+      }
+    }
+    return new CopyOnWriteArrayList<>(Arrays.copyOf(bullets, count));
+  }
+
+  /**
+   * Replaces the bullets in the store with a list of Bullet objects.
+   *
+   * @param bullets The bullets to put in the store.
+   */
+  public synchronized void setAll(List<Bullet> bullets) {
+    size = 0;
+    bullets.forEach(this::add);
+  }
+
+  /**
+   * Returns the number of bullets in the store, including dead bullets that were not compacted.
+   *
+   * @return The number of bullets.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the x-coordinate of the bullet at an index.
+   *
+   * @param i The index of the bullet.
+   * @return The x-coordinate of the bullet.
+   */
+  public synchronized float getX(int i) {
+    return x[i];
+  }
+
+  /**
+   * Returns the y-coordinate of the bullet at an index.
+   *
+   * @param i The index of the bullet.
+   * @return The y-coordinate of the bullet.
+   */
+  public synchronized float getY(int i) {
+    return y[i];
+  }
+
+  /**
+   * Returns the rotation of the bullet at an index.
+   *
+   * @param i The index of the bullet.
+   * @return The rotation of the bullet.
+   */
+  public synchronized float getRotation(int i) {
+    return rotation[i];
+  }
+
+  /**
+   * Returns the attack points of the bullet at an index.
+   *
+   * @param i The index of the bullet.
+   * @return The attack points of the bullet.
+   */
+  public synchronized int getAtk(int i) {
+    return atk[i];
+  }
+
+  /**
+   * Returns the team of the bullet at an index.
+   *
+   * @param i The index of the bullet.
+   * @return The team of the bullet.
+   */
+  public synchronized int getTeam(int i) {
+    return team[i];
+  }
+
+  /**
+   * Returns the team of the bullet at an index without locking the store. It is used by the threads
+   * of the bullet updater while the updater holds the lock of the store.
+   *
+   * @param i The index of the bullet.
+   * @return The team of the bullet.
+   */
+  int team(int i) {
+    return team[i];
+  }
+
+  /**
+   * Returns whether the bullet at an index is still flying.
+   *
+   * @param i The index of the bullet.
+   * @return true if the bullet is alive, false otherwise.
+   */
+  public synchronized boolean isAlive(int i) {
+    return alive[i];
+  }
+
+  /**
+   * Allocates empty arrays for the given number of bullets.
+   *
+   * @param capacity The number of bullets the arrays can hold.
+   */
+  private void allocate(int capacity) {
+    x = new float[capacity];
+    y = new float[capacity];
+    speedX = new float[capacity];
+    speedY = new float[capacity];
+    rotation = new float[capacity];
+    extentX = new float[capacity];
+    extentY = new float[capacity];
+    atk = new int[capacity];
+    team = new int[capacity];
+    alive = new boolean[capacity];
+  }
+
+  /**
+   * Grows the arrays to hold the given number of bullets.
+   *
+   * @param capacity The new capacity of the arrays.
+   */
+  private void grow(int capacity) {
+    x = Arrays.copyOf(x, capacity);
+    y = Arrays.copyOf(y, capacity);
+    speedX = Arrays.copyOf(speedX, capacity);
+    speedY = Arrays.copyOf(speedY, capacity);
+    rotation = Arrays.copyOf(rotation, capacity);
+    extentX = Arrays.copyOf(extentX, capacity);
+    extentY = Arrays.copyOf(extentY, capacity);
+    atk = Arrays.copyOf(atk, capacity);
+    team = Arrays.copyOf(team, capacity);
+    alive = Arrays.copyOf(alive, capacity);
+  }
+
+  /**
+   * Writes the living bullets to a stream. Only the fields needed to rebuild the bullets are
+   * written, straight from the arrays.
+   *
+   * @param out The stream to write to.
+   * @throws IOException If an I/O error occurs.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (alive[i]) {
+        count++;
+      }
+    }
+
+    out.writeInt(count);
+    for (int i = 0; i < size; i++) {
+      if (alive[i]) {
+        out.writeFloat(x[i]);
+        out.writeFloat(y[i]);
+        out.writeInt(atk[i]);
+        out.writeFloat(speedX[i]);
+        out.writeFloat(speedY[i]);
+        out.writeFloat(rotation[i]);
+      }
+    }
+  }
+
+  /**
+   * Reads the bullets written by {@link #writeObject(ObjectOutputStream)} from a stream.
+   *
+   * @param in The stream to read from.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void readObject(ObjectInputStream in) throws IOException {
+    int count = in.readInt();
+    allocate(Math.max(INIT_CAPACITY, count));
+    for (int i = 0; i < count; i++) {
+      add(
+          in.readFloat(),
+          in.readFloat(),
+          in.readInt(),
+          in.readFloat(),
+          in.readFloat(),
+          in.readFloat());
+    }
+  }
+
+  /** This class is a hit of a bullet on a character that has not been applied yet. */
+  static class Hit {
+    final int index; // The index of the bullet.
+    final Character character; // The character that is hit.
+
+    /**
+     * Constructor for the Hit class.
+     *
+     * @param index The index of the bullet.
+     * @param character The character that is hit.
+     */
+    Hit(int index, Character character) {
+      this.index = index;
+      this.character = character;
+    }
+  }
+}
@@ -1,65 +1,282 @@
 package com.mygdx.bullet;
 
+import com.mygdx.config.Config;
 import com.mygdx.controller.GameState;
-import lombok.Setter;
-
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * This class is responsible for updating the state of bullets in the game. It implements the
  * Runnable interface for multithreading. It contains properties for the current game state, which
  * includes the list of bullets, heroes, and enemies. It also contains a method for running the
  * bullet updater. The bullet updater updates the state of each bullet and removes the dead bullets.
- * The state of a bullet is updated by moving the bullet and checking for collisions with
- * characters. A bullet is dead if it is outside the game map or if it has hit a character. The
- * bullet updater is run in a separate thread to avoid blocking the main game thread.
+ * The state of a bullet is updated by moving the bullet and checking for collisions with the
+ * characters near it, which are looked up in the spatial grids of the game state. A bullet is dead
+ * if it is outside the game map or if it has hit a character.
+ *
+ * <p>An update is done in two phases. First every bullet is moved and its hits are recorded, while
+ * the characters are not changed. Then the hits are applied in the order of the bullets. Because
+ * the first phase only reads the characters, it can be split over several threads: with a
+ * parallelism above 1, the map is cut into vertical strips, the bullets are bucketed by the strip
+ * that contains them, and the strips are moved in parallel on a ForkJoinPool. The hits are merged
+ * back into the order of the bullets before they are applied, so the result does not depend on the
+ * number of threads.
+ *
+ * <p>The updater creates its own pool when it first needs one, unless a pool shared with other
+ * updaters is set, and it must be closed when it is no longer used so the threads of its own pool
+ * are shut down. A shared pool is left to its owner.
  *
  * @author Hades
  */
 @Setter
 public class BulletUpdater implements Runnable {
+  // The smallest number of bullets that is updated in parallel, fewer are not worth the forks.
+  private static final int MIN_PARALLEL_BULLETS = 1024;
+  // The number of strips per thread, more strips than threads balance the crowded parts of the map.
+  private static final int STRIPS_PER_THREAD = 4;
+
   // The current game state, which includes the list of bullets, heroes, and enemies.
   GameState gameState;
+  @Getter private int parallelism; // The number of threads that move the bullets.
+
+  @Setter(AccessLevel.NONE)
+  private ForkJoinPool pool; // The threads that move the bullets, created when first needed.
+
+  @Setter(AccessLevel.NONE)
+  private boolean sharedPool; // Whether the pool belongs to the caller of setPool.
+
+  private final List<BulletStore.Hit> hits = new ArrayList<>(); // The hits of the current update.
 
   /**
-   * Constructor for the BulletUpdater class. It initializes the current game state.
+   * Constructor for the BulletUpdater class. It initializes the current game state and takes the
+   * number of threads from Config.BULLET_PARALLELISM.
    *
    * @param gameState The current game state.
    */
   public BulletUpdater(GameState gameState) {
+    this(gameState, Config.BULLET_PARALLELISM);
+  }
+
+  /**
+   * Constructor for the BulletUpdater class. It initializes the current game state and the number
+   * of threads that move the bullets.
+   *
+   * @param gameState The current game state.
+   * @param parallelism The number of threads that move the bullets, 1 to move them on the calling
+   *     thread only.
+   */
+  public BulletUpdater(GameState gameState, int parallelism) {
     this.gameState = gameState;
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /**
+   * This method changes the number of threads that move the bullets. The threads of the old
+   * parallelism are shut down.
+   *
+   * @param parallelism The new number of threads.
+   */
+  public synchronized void setParallelism(int parallelism) {
+    this.parallelism = Math.max(1, parallelism);
+    if (!sharedPool) {
+      shutdownPool();
+    }
+  }
+
+  /**
+   * This method makes the updater move the bullets on a pool shared with other updaters, instead of
+   * a pool of its own. The own pool, if any, is shut down, and the shared pool is never shut down
+   * by the updater.
+   *
+   * @param pool The shared pool.
+   */
+  public synchronized void setPool(ForkJoinPool pool) {
+    if (!sharedPool) {
+      shutdownPool();
+    }
+    this.pool = pool;
+    sharedPool = true;
   }
 
   /**
-   * This method runs the bullet updater. It updates the state of each bullet and removes the dead
-   * bullets. The state of a bullet is updated by moving the bullet and checking for collisions with
-   * characters. A bullet is dead if it is outside the game map or if it has hit a character. The
-   * method also checks the rotation of the bullet to determine whether it should collide with
-   * heroes or enemies.
+   * This method shuts down the threads of the own pool of the updater. It takes the lock of the
+   * bullet store first, so an update in progress finishes before its pool is shut down. A later
+   * update creates a new pool if it needs one.
+   */
+  public void close() {
+    synchronized (gameState.getBulletStore()) {
+      synchronized (this) {
+        if (!sharedPool) {
+          shutdownPool();
+        }
+      }
+    }
+  }
+
+  /** This method shuts down the own pool of the updater, if it has been created. */
+  private void shutdownPool() {
+    if (pool != null) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
+  /**
+   * This method runs the bullet updater. It moves every bullet and records the characters it hits,
+   * in parallel if there are enough bullets and the parallelism is above 1. Then it applies the
+   * hits in the order of the bullets and removes the dead bullets. The team of the bullet
+   * determines whether it should collide with heroes or enemies. The store is locked for the whole
+   * run, so no bullet is added while the bullets are moved and compacted.
    */
   @Override
   public void run() {
-    // A list to store the bullets that are dead.
-    List<Bullet> dead = new CopyOnWriteArrayList<>();
-    gameState
-        .getBullets()
-        .forEach(
-            bullet -> {
-              // If the bullet's rotation is greater than 90 or less than -90, it collides with
-              // heroes.
-              // Otherwise, it collides with enemies.
-              if (bullet.getSprite().getRotation() > 90 || bullet.getSprite().getRotation() < -90) {
-                bullet.update(gameState.getHeroes());
-              } else {
-                bullet.update(gameState.getEnemies());
-              }
-              // If the bullet is dead, add it to the dead list.
-              if (bullet.isDead()) {
-                dead.add(bullet);
-              }
-            });
-    // Remove all the dead bullets from the game state.
-    gameState.getBullets().removeAll(dead);
+    long begin = System.nanoTime();
+    BulletStore store = gameState.getBulletStore();
+    synchronized (store) {
+      int size = store.size();
+      hits.clear();
+      if (parallelism > 1 && size >= MIN_PARALLEL_BULLETS) {
+        collideParallel(store, size);
+      } else {
+        for (int i = 0; i < size; i++) {
+          collide(store, i, hits);
+        }
+      }
+      store.apply(hits);
+      // Remove all the dead bullets from the store.
+      store.compact();
+    }
+    Metrics.getInstance().record(Probe.BULLETS, begin);
+  }
+
+  /**
+   * This method moves a bullet and records its hits on the characters of the other team.
+   *
+   * @param store The bullet store.
+   * @param i The index of the bullet.
+   * @param hits The list the hits are added to.
+   */
+  private void collide(BulletStore store, int i, List<BulletStore.Hit> hits) {
+    if (store.team(i) == BulletStore.TEAM_ENEMY) {
+      store.collide(i, gameState.getHeroGrid(), hits);
+    } else {
+      store.collide(i, gameState.getEnemyGrid(), hits);
+    }
+  }
+
+  /**
+   * This method moves the bullets strip by strip on the pool. The bullets are bucketed by the strip
+   * that contains their center, in the order of their indexes, so the hits of each strip are in the
+   * order of the bullets. The hits of all strips are then merged by the index of the bullet.
+   *
+   * @param store The bullet store.
+   * @param size The number of bullets.
+   */
+  private void collideParallel(BulletStore store, int size) {
+    int strips = parallelism * STRIPS_PER_THREAD;
+    float width = Config.MAP_WIDTH / strips;
+    int[] strip = new int[size];
+    int[] start = new int[strips + 1];
+    for (int i = 0; i < size; i++) {
+      int s = (int) ((store.getX(i) + Config.BULLET_WIDTH / 2) / width);
+      strip[i] = Math.min(strips - 1, Math.max(0, s));
+      start[strip[i] + 1]++;
+    }
+    for (int s = 0; s < strips; s++) {
+      start[s + 1] += start[s];
+    }
+    int[] order = new int[size];
+    int[] next = start.clone();
+    for (int i = 0; i < size; i++) {
+      order[next[strip[i]]++] = i;
+    }
+
+    List<List<BulletStore.Hit>> stripHits = new ArrayList<>(strips);
+    for (int s = 0; s < strips; s++) {
+      stripHits.add(new ArrayList<>());
+    }
+    getPool().invoke(new StripTask(store, order, start, stripHits, 0, strips));
+
+    for (List<BulletStore.Hit> list : stripHits) {
+      hits.addAll(list);
+    }
+    // The sort is stable, so the hits of one bullet keep the order in which they were found.
+    hits.sort(Comparator.comparingInt(hit -> hit.index));
+  }
+
+  /**
+   * This method returns the pool of the threads, and creates it on first use.
+   *
+   * @return The pool of the threads.
+   */
+  private synchronized ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(parallelism);
+    }
+    return pool;
+  }
+
+  /**
+   * This class moves the bullets of a range of strips. It splits the range in halves until it
+   * covers a single strip.
+   */
+  private class StripTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final BulletStore store;
+    private final int[] order; // The indexes of the bullets, bucketed by strip.
+    private final int[] start; // The position in order of the first bullet of each strip.
+    private final List<List<BulletStore.Hit>> stripHits; // The hits of each strip.
+    private final int from; // The first strip of the range.
+    private final int to; // The strip after the last strip of the range.
+
+    /**
+     * Constructor for the StripTask class.
+     *
+     * @param store The bullet store.
+     * @param order The indexes of the bullets, bucketed by strip.
+     * @param start The position in order of the first bullet of each strip.
+     * @param stripHits The hits of each strip.
+     * @param from The first strip of the range.
+     * @param to The strip after the last strip of the range.
+     */
+    StripTask(
+        BulletStore store,
+        int[] order,
+        int[] start,
+        List<List<BulletStore.Hit>> stripHits,
+        int from,
+        int to) {
+      this.store = store;
+      this.order = order;
+      this.start = start;
+      this.stripHits = stripHits;
+      this.from = from;
+      this.to = to;
+    }
+
+    /** This method moves the bullets of the strips, or forks a task for each half of the range. */
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new StripTask(store, order, start, stripHits, from, mid),
+            new StripTask(store, order, start, stripHits, mid, to));
+        return;
+      }
+
+      List<BulletStore.Hit> list = stripHits.get(from);
+      for (int k = start[from]; k < start[from + 1]; k++) {
+        collide(store, order[k], list);
+      }
+    }
   }
 }
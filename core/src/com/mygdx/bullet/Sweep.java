@@ -0,0 +1,97 @@
+package com.mygdx.bullet;
+
+/**
+ * This class contains the swept collision tests of the bullets. A bullet is reduced to its center,
+ * which moves along a segment during one step, and a character is grown by the half extents of the
+ * bullet, so the bullet overlaps the character exactly when the segment is inside the grown box.
+ * The tests return the times along the segment, from 0 at the start to 1 at the end, so a bullet
+ * can move any distance in one step and still find the first character it hits.
+ *
+ * @author Hades
+ */
+public class Sweep {
+  // The time returned when the segment does not enter the box during the step.
+  public static final float MISS = Float.POSITIVE_INFINITY;
+
+  private Sweep() {}
+
+  /**
+   * This method returns the time at which a moving point enters a box. A point that starts inside
+   * the box enters it at time 0. The sides of the box are not part of it, like in
+   * Rectangle#overlaps.
+   *
+   * @param x The x-coordinate of the start of the segment.
+   * @param y The y-coordinate of the start of the segment.
+   * @param dx The distance moved in the x direction during the step.
+   * @param dy The distance moved in the y direction during the step.
+   * @param minX The left side of the box.
+   * @param minY The bottom side of the box.
+   * @param maxX The right side of the box.
+   * @param maxY The top side of the box.
+   * @return The time of entry between 0 and 1, or MISS if the point does not enter the box.
+   */
+  public static float enter(
+      float x, float y, float dx, float dy, float minX, float minY, float maxX, float maxY) {
+    float enter = 0;
+    float exit = 1;
+
+    if (dx == 0) {
+      if (x <= minX || x >= maxX) {
+        return MISS;
+      }
+    } else {
+      float t1 = (minX - x) / dx;
+      float t2 = (maxX - x) / dx;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
+
+    if (dy == 0) {
+      if (y <= minY || y >= maxY) {
+        return MISS;
+      }
+    } else {
+      float t1 = (minY - y) / dy;
+      float t2 = (maxY - y) / dy;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
+
+    return enter < exit ? enter : MISS;
+  }
+
+  /**
+   * This method returns the time at which a moving point leaves a box. The sides of the box are
+   * part of it, like the bounds of the game map.
+   *
+   * @param x The x-coordinate of the start of the segment.
+   * @param y The y-coordinate of the start of the segment.
+   * @param dx The distance moved in the x direction during the step.
+   * @param dy The distance moved in the y direction during the step.
+   * @param minX The left side of the box.
+   * @param minY The bottom side of the box.
+   * @param maxX The right side of the box.
+   * @param maxY The top side of the box.
+   * @return The time of exit between 0 and 1, 0 if the point starts outside the box and 1 if it
+   *     does not leave the box during the step.
+   */
+  public static float exit(
+      float x, float y, float dx, float dy, float minX, float minY, float maxX, float maxY) {
+    if (x < minX || x > maxX || y < minY || y > maxY) {
+      return 0;
+    }
+
+    float exit = 1;
+    if (dx > 0) {
+      exit = Math.min(exit, (maxX - x) / dx);
+    } else if (dx < 0) {
+      exit = Math.min(exit, (minX - x) / dx);
+    }
+    if (dy > 0) {
+      exit = Math.min(exit, (maxY - y) / dy);
+    } else if (dy < 0) {
+      exit = Math.min(exit, (minY - y) / dy);
+    }
+    return exit;
+  }
+}
@@ -2,7 +2,7 @@ package com.mygdx.character;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.MathUtils;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameState;
 import com.mygdx.controller.TextureManager;
@@ -10,8 +10,10 @@ import com.mygdx.entity.Entity;
 import com.mygdx.event.CharacterAttack;
 import com.mygdx.event.CharacterMove;
 import com.mygdx.event.GameEvent;
+import com.mygdx.map.FlowField;
 import com.mygdx.map.Map;
 import java.util.List;
+import java.util.Random;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -24,7 +26,7 @@ import lombok.Setter;
  * or an enemy. The character's actions are controlled by AI. The character's texture changes when
  * it dies. The character's position and direction are updated at each frame. The character's attack
  * points are subtracted from the health points of the character it attacks. The character moves
- * randomly by changing its direction at each frame.
+ * along a flow field towards the other team, or randomly by changing its direction at each frame.
  *
  * @author Hades
  */
@@ -39,11 +41,14 @@ public class Character extends Entity {
   private transient Texture charaterTexture; // The texture of the character.
   private transient Texture dieTexture; // The texture of the character when it dies.
   private String id; // The id of the character.
+  private int netId = -1; // The compact id of the character in the registry of the game state.
   protected GameState gameState; // The current game state.
+  private transient Random random; // The random stream of the character in its match.
 
   /**
    * Constructor for the Character class. It initializes the character's position, health points,
-   * attack points, and textures.
+   * attack points, and textures. A character created without a texture has no sprite and does not
+   * load the die texture, so it can be used without a graphics context.
    *
    * @param x The x-coordinate of the character.
    * @param y The y-coordinate of the character.
@@ -57,47 +62,47 @@ public class Character extends Entity {
 
     this.charaterTexture = charactorTexture;
     this.bulletTexture = bulletTexture;
-    this.dieTexture = TextureManager.getInstance().getDieTexture();
+    if (charactorTexture != null) {
+      this.dieTexture = TextureManager.getInstance().getDieTexture();
+    }
   }
 
   /**
    * This method makes the character attack another character. It creates a new bullet and adds it
-   * to the list of bullets. The bullet's position is the same as the character's position. The
+   * to the bullet store. The bullet's position is the same as the character's position. The
    * bullet's direction is towards the other character.
    *
    * @param enemy The character to attack.
-   * @param bullets The list of bullets.
+   * @param bullets The bullet store.
    */
-  public void attack(Character enemy, List<Bullet> bullets) {
+  public void attack(Character enemy, BulletStore bullets) {
     attack(enemy.getX() + Config.CELL_SIZE / 2, enemy.getY() + Config.CELL_SIZE / 2, bullets);
   }
 
   /**
    * This method makes the character attack a specific position. It calculates the rotation angle
    * between the character's current position and the target position, and then calculates the
-   * bullet's speed in the x and y directions based on this rotation angle. A new bullet is created
-   * with these properties and added to the list of bullets. The bullet's position is set to the
-   * character's current position, and its attack points are the same as the character's attack
-   * points. After the bullet is created, a CharacterAttack event is generated and sent to all
-   * observers of the game state.
+   * bullet's speed in the x and y directions based on this rotation angle. A bullet with these
+   * properties is added to the bullet store. The bullet's position is set to the character's
+   * current position, and its attack points are the same as the character's attack points. After
+   * the bullet is created, a CharacterAttack event is generated and sent to all observers of the
+   * game state.
    *
    * @param x The x-coordinate of the target position.
    * @param y The y-coordinate of the target position.
-   * @param bullets The list of bullets in the game.
+   * @param bullets The bullet store of the game.
    */
-  public void attack(float x, float y, List<Bullet> bullets) {
+  public void attack(float x, float y, BulletStore bullets) {
     float rotation = MathUtils.atan2(y - getY(), x - getX()) * MathUtils.radiansToDegrees;
     float speedX = MathUtils.cosDeg(rotation) * Config.BULLET_SPEED;
     float speedY = MathUtils.sinDeg(rotation) * Config.BULLET_SPEED;
     bullets.add(
-        new Bullet(
-            getX() + Config.CELL_SIZE / 2,
-            getY() + Config.CELL_SIZE / 2,
-            getAtk(),
-            speedX,
-            speedY,
-            rotation,
-            bulletTexture));
+        getX() + Config.CELL_SIZE / 2,
+        getY() + Config.CELL_SIZE / 2,
+        getAtk(),
+        speedX,
+        speedY,
+        rotation);
 
     gameState.notifyObservers(
         new CharacterAttack(
@@ -114,10 +119,10 @@ public class Character extends Entity {
    * This method makes the character attack the character with the minimum health points. It finds
    * the character with the minimum health points from a list of characters and attacks it.
    *
-   * @param bullets The list of bullets.
+   * @param bullets The bullet store.
    * @param characters The list of characters.
    */
-  public void attackMinHp(List<Bullet> bullets, List<? extends Character> characters) {
+  public void attackMinHp(BulletStore bullets, List<? extends Character> characters) {
     int minHp = 999999;
     Character character = null;
     for (Character c : characters) {
@@ -131,51 +136,147 @@ public class Character extends Entity {
     }
   }
 
+  /**
+   * This method makes the character attack the character with the minimum health points. It reads
+   * the character from the top of a min-hp heap instead of scanning a list, and attacks it.
+   *
+   * @param bullets The bullet store.
+   * @param heap The min-hp heap of the living characters.
+   */
+  public void attackMinHp(BulletStore bullets, MinHpHeap<? extends Character> heap) {
+    Character character = heap.peek();
+    if (character != null) {
+      attack(character, bullets);
+    }
+  }
+
   /**
    * This method makes the character move randomly on the game map. The character can move up, down,
-   * left, or right. The character's movement is restricted to the game map and it cannot move
-   * outside the game map. The method first generates a random direction for the character's
-   * movement. Then it checks if the new position is within the game map and is not occupied. If
-   * these conditions are met, the character is moved to the new position. After the character is
-   * moved, a CharacterMove event is generated and sent to all observers of the game state.
+   * left, or right, or stay. The character's movement is restricted to the game map and it cannot
+   * move outside the game map. The method draws a random direction for the character's movement
+   * from the random stream of the character and steps in it.
    *
    * @param map The game map.
    * @param isGreaterHalf A flag indicating if the character is in the greater half of the map.
    */
   public void randomMove(Map map, boolean isGreaterHalf) {
-    int dir = MathUtils.random(4);
-
-    boolean condition =
-        isGreaterHalf
-            ? getX() / Config.CELL_SIZE + dirs[dir] >= Config.ROWS / 2
-            : getX() / Config.CELL_SIZE + dirs[dir] < Config.ROWS / 2;
-
-    if (map.get(
-                (int) (getX() + dirs[dir] * Config.CELL_SIZE),
-                (int) (getY() + dirs[dir + 1] * Config.CELL_SIZE))
-            == 0
-        && condition) {
-      map.set((int) getX(), (int) getY(), 0);
-      map.set(
-          (int) (getX() + dirs[dir] * Config.CELL_SIZE),
-          (int) (getY() + dirs[dir + 1] * Config.CELL_SIZE),
-          1);
-      move(getX() + dirs[dir] * Config.CELL_SIZE, getY() + dirs[dir + 1] * Config.CELL_SIZE);
+    step(map, getRandom().nextInt(5), isGreaterHalf);
+  }
+
+  /**
+   * This method makes the character move along a flow field towards the nearest character of the
+   * other team. Of the cells next to the character, it moves to the free one in its half of the map
+   * that is the closest to a target, if it is closer than the current cell. If no such cell exists,
+   * because the field does not reach the character or the way is blocked, the character moves
+   * randomly instead. Only the four cells next to the character are read, so the cost does not
+   * depend on the size of the map.
+   *
+   * @param field The flow field towards the other team.
+   * @param map The game map.
+   * @param isGreaterHalf A flag indicating if the character is in the greater half of the map.
+   */
+  public void flowMove(FlowField field, Map map, boolean isGreaterHalf) {
+    int best = field.getDistance(getX(), getY());
+    int bestDir = -1;
+    for (int dir = 1; dir < dirs.length - 1; dir++) {
+      float x = getX() + dirs[dir] * Config.CELL_SIZE;
+      float y = getY() + dirs[dir + 1] * Config.CELL_SIZE;
+      int distance = field.getDistance(x, y);
+      if (distance < best && inHalf(x, isGreaterHalf) && map.get((int) x, (int) y) == 0) {
+        best = distance;
+        bestDir = dir;
+      }
+    }
+
+    if (bestDir < 0) {
+      randomMove(map, isGreaterHalf);
+    } else {
+      step(map, bestDir, isGreaterHalf);
+    }
+  }
+
+  /**
+   * This method moves the character by one cell in a direction. It checks that the new position is
+   * in the character's half of the map and claims it on the map, which fails if it is outside the
+   * map or occupied. If the claim succeeds, the character is moved to the new position and a
+   * CharacterMove event is generated and sent to all observers of the game state.
+   *
+   * @param map The game map.
+   * @param dir The index of the direction in dirs.
+   * @param isGreaterHalf A flag indicating if the character is in the greater half of the map.
+   */
+  private void step(Map map, int dir, boolean isGreaterHalf) {
+    float x = getX() + dirs[dir] * Config.CELL_SIZE;
+    float y = getY() + dirs[dir + 1] * Config.CELL_SIZE;
+    if (inHalf(x, isGreaterHalf) && map.move((int) getX(), (int) getY(), (int) x, (int) y)) {
+      move(x, y);
 
       gameState.notifyObservers(
           new CharacterMove(
               dirs[dir],
               dirs[dir + 1],
-              id,
+              netId,
               isGreaterHalf ? GameEvent.Type.ENEMY_MOVE : GameEvent.Type.HERO_MOVE));
     }
   }
 
+  /**
+   * This method checks if an x-coordinate is in the character's half of the map.
+   *
+   * @param x The x-coordinate.
+   * @param isGreaterHalf A flag indicating if the character is in the greater half of the map.
+   * @return true if the x-coordinate is in the character's half, false otherwise.
+   */
+  private static boolean inHalf(float x, boolean isGreaterHalf) {
+    return isGreaterHalf
+        ? x / Config.CELL_SIZE >= Config.ROWS / 2
+        : x / Config.CELL_SIZE < Config.ROWS / 2;
+  }
+
+  /**
+   * This method returns the random stream of the character. A character that was not registered in
+   * a game state has no stream of its own and uses the global random generator of MathUtils.
+   *
+   * @return The random stream of the character.
+   */
+  public Random getRandom() {
+    return random == null ? MathUtils.random : random;
+  }
+
+  /**
+   * This method keeps the spatial grid of the game state up to date when the character moves.
+   *
+   * @param fromX The previous x-coordinate of the character.
+   * @param fromY The previous y-coordinate of the character.
+   */
+  @Override
+  protected void onMove(float fromX, float fromY) {
+    if (gameState != null) {
+      gameState.updateGrid(this, fromX, fromY);
+    }
+  }
+
+  /**
+   * This method keeps the min-hp heap of the game state up to date when the character's health
+   * points change.
+   *
+   * @param fromHp The previous health points of the character.
+   */
+  @Override
+  protected void onHpChange(int fromHp) {
+    if (gameState != null) {
+      gameState.updateHp(this, fromHp);
+    }
+  }
+
   /**
    * This method changes the texture of the character when it dies. If the current texture is the
-   * character's original texture, it sets the texture to the die texture.
+   * character's original texture, it sets the texture to the die texture. It does nothing for a
+   * character without a sprite.
    */
   public void changeDieTexture() {
-    getSprite().setTexture(dieTexture);
+    if (getSprite() != null) {
+      getSprite().setTexture(dieTexture);
+    }
   }
 }
@@ -1,8 +1,12 @@
 package com.mygdx.character;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -29,7 +33,8 @@ import lombok.Setter;
   "dieTexture",
   "sprite",
   "dead",
-  "bound"
+  "bound",
+  "random"
 })
 public class Enemy extends Character implements Runnable {
   private static final long serialVersionUID = 1L;
@@ -48,16 +53,20 @@ public class Enemy extends Character implements Runnable {
   public Enemy(int x, int y, int hp, int atk, Texture enemyTexture, Texture bulletTexture) {
     super(x, y, hp, atk, enemyTexture, bulletTexture);
 
-    Gdx.app.log("Enemy", "x: " + x + ", y: " + y);
+    GameLogger.getInstance().debug(Category.CHARACTER, "Enemy x: {}, y: {}", x, y);
   }
 
   /**
    * This method updates the enemy's state by attacking the hero with the minimum health points and
-   * moving randomly. It synchronizes on the game map to avoid concurrent modification exceptions.
+   * moving towards the heroes along the flow field of the enemies, or randomly if Config.FLOW_FIELD
+   * is false. It does not lock the game map, because the move claims its destination cell
+   * atomically.
    */
   public void update() {
-    attackMinHp(gameState.getBullets(), gameState.getHeroes());
-    synchronized (gameState.getMap()) {
+    attackMinHp(gameState.getBulletStore(), gameState.getHeroHeap());
+    if (Config.FLOW_FIELD) {
+      flowMove(gameState.getEnemyField(), gameState.getMap(), true);
+    } else {
       randomMove(gameState.getMap(), true);
     }
   }
@@ -68,8 +77,10 @@ public class Enemy extends Character implements Runnable {
    */
   @Override
   public void run() {
+    long begin = System.nanoTime();
     if (!isDead()) {
       update();
     }
+    Metrics.getInstance().record(Probe.ENEMY, begin);
   }
 }
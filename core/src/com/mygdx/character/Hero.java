@@ -1,6 +1,5 @@
 package com.mygdx.character;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -8,7 +7,10 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mygdx.config.Config;
 import com.mygdx.event.CharacterMove;
 import com.mygdx.event.GameEvent;
-import com.mygdx.map.Map;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -37,7 +39,8 @@ import lombok.Setter;
   "dieTexture",
   "sprite",
   "dead",
-  "bound"
+  "bound",
+  "random"
 })
 public class Hero extends Character implements Runnable {
   private static final long serialVersionUID = 1L;
@@ -57,7 +60,7 @@ public class Hero extends Character implements Runnable {
   public Hero(int x, int y, int hp, int atk, Texture heroTexture, Texture bulletTexture) {
     super(x, y, hp, atk, heroTexture, bulletTexture);
 
-    Gdx.app.log("Hero", "x: " + x + ", y: " + y);
+    GameLogger.getInstance().debug(Category.CHARACTER, "Hero x: {}, y: {}", x, y);
   }
 
   /**
@@ -67,14 +70,15 @@ public class Hero extends Character implements Runnable {
    * @param y The y-coordinate of the position.
    */
   public void update(float x, float y) {
-    attack(x, y, gameState.getBullets());
+    attack(x, y, gameState.getBulletStore());
   }
 
   /**
    * This method updates the hero's position by moving the hero. The movement is done in increments
    * of the cell size defined in the game configuration. The method first checks if the new position
-   * is within the game map and is not occupied. If these conditions are met, the hero is moved to
-   * the new position and a CharacterMove event is generated to notify observers of the hero's move.
+   * is within the hero's half of the game map and claims it on the map, which fails if it is
+   * outside the map or occupied. If the claim succeeds, the hero is moved to the new position and a
+   * CharacterMove event is generated to notify observers of the hero's move.
    *
    * @param dx The change in the x-coordinate, must be a multiple of the cell size.
    * @param dy The change in the y-coordinate, must be a multiple of the cell size.
@@ -82,31 +86,31 @@ public class Hero extends Character implements Runnable {
   public void update(int dx, int dy) {
     assert dx % Config.CELL_SIZE == 0 && dy % Config.CELL_SIZE == 0;
 
-    Map map = gameState.getMap();
-    synchronized (map) {
-      if (map.get((int) (getX() + dx), (int) (getY() + dy)) == 0
-          && (getX() + dx) / Config.CELL_SIZE < Config.ROWS / 2) {
-        map.set((int) getX(), (int) getY(), 0);
-        map.set((int) (getX() + dx), (int) (getY() + dy), 1);
-        move(getX() + dx, getY() + dy);
+    if ((getX() + dx) / Config.CELL_SIZE < Config.ROWS / 2
+        && gameState
+            .getMap()
+            .move((int) getX(), (int) getY(), (int) (getX() + dx), (int) (getY() + dy))) {
+      move(getX() + dx, getY() + dy);
 
-        gameState.notifyObservers(
-            new CharacterMove(
-                (int) (dx / Config.CELL_SIZE),
-                (int) (dy / Config.CELL_SIZE),
-                getId(),
-                GameEvent.Type.HERO_MOVE));
-      }
+      gameState.notifyObservers(
+          new CharacterMove(
+              (int) (dx / Config.CELL_SIZE),
+              (int) (dy / Config.CELL_SIZE),
+              getNetId(),
+              GameEvent.Type.HERO_MOVE));
     }
   }
 
   /**
    * This method updates the hero's state by attacking the enemy with the minimum health points and
-   * moving randomly.
+   * moving towards the enemies along the flow field of the heroes, or randomly if Config.FLOW_FIELD
+   * is false.
    */
   public void update() {
-    attackMinHp(gameState.getBullets(), gameState.getEnemies());
-    synchronized (gameState.getMap()) {
+    attackMinHp(gameState.getBulletStore(), gameState.getEnemyHeap());
+    if (Config.FLOW_FIELD) {
+      flowMove(gameState.getHeroField(), gameState.getMap(), false);
+    } else {
       randomMove(gameState.getMap(), false);
     }
   }
@@ -133,8 +137,10 @@ public class Hero extends Character implements Runnable {
    */
   @Override
   public void run() {
+    long begin = System.nanoTime();
     if (isAI && !isDead()) {
       update();
     }
+    Metrics.getInstance().record(Probe.HERO, begin);
   }
 }
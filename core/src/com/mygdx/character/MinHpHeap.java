@@ -0,0 +1,181 @@
+package com.mygdx.character;
+
+import java.util.Arrays;
+
+/**
+ * This class is an indexed binary min-heap of the living characters of one team, ordered by their
+ * health points and then by their registry id. The position of every character in the heap is kept
+ * in an array indexed by its registry id, so the key of a character can be changed or the character
+ * can be removed in O(log n) without searching for it. The character with the minimum health points
+ * is read with an O(1) peek. Ties are broken by the registry id, which is the order of the team
+ * list, so the same target is chosen as by a linear scan of the list. The heap is not synchronized,
+ * because it is only changed and read by the simulation thread.
+ *
+ * @param <T> The type of the characters.
+ * @author Hades
+ */
+public class MinHpHeap<T extends Character> {
+  private Character[] heap = new Character[16]; // The characters in heap order.
+  private int[] positions = new int[16]; // The heap position of each registry id, or -1.
+  private int size; // The number of characters in the heap.
+
+  /** Constructor for the MinHpHeap class. It creates an empty heap. */
+  public MinHpHeap() {
+    Arrays.fill(positions, -1);
+  }
+
+  /**
+   * This method returns the living character with the minimum health points.
+   *
+   * @return The character with the minimum health points, or null if the heap is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public T peek() {
+    return size == 0 ? null : (T) heap[0];
+  }
+
+  /**
+   * This method adds a character to the heap, or updates its position if it is already in the heap.
+   * Dead characters are removed instead. The character must have a registry id.
+   *
+   * @param character The character to add or update.
+   */
+  public void update(T character) {
+    int id = character.getNetId();
+    assert id >= 0;
+
+    int pos = id < positions.length ? positions[id] : -1;
+    if (character.isDead()) {
+      if (pos >= 0) {
+        removeAt(pos);
+      }
+      return;
+    }
+
+    if (pos < 0) {
+      add(character);
+    } else {
+      siftDown(siftUp(pos));
+    }
+  }
+
+  /**
+   * This method returns the number of characters in the heap.
+   *
+   * @return The number of characters.
+   */
+  public int size() {
+    return size;
+  }
+
+  /** This method removes all characters from the heap. */
+  public void clear() {
+    Arrays.fill(heap, 0, size, null);
+    Arrays.fill(positions, -1);
+    size = 0;
+  }
+
+  /**
+   * This method appends a character to the heap and moves it up to its position.
+   *
+   * @param character The character to add.
+   */
+  private void add(Character character) {
+    int id = character.getNetId();
+    if (id >= positions.length) {
+      int length = positions.length;
+      positions = Arrays.copyOf(positions, Math.max(id + 1, length * 2));
+      Arrays.fill(positions, length, positions.length, -1);
+    }
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, size * 2);
+    }
+
+    heap[size] = character;
+    positions[id] = size;
+    siftUp(size++);
+  }
+
+  /**
+   * This method removes the character at a heap position by moving the last character into it.
+   *
+   * @param pos The heap position of the character.
+   */
+  private void removeAt(int pos) {
+    positions[heap[pos].getNetId()] = -1;
+    int last = --size;
+    if (pos != last) {
+      place(heap[last], pos);
+      heap[last] = null;
+      siftDown(siftUp(pos));
+    } else {
+      heap[last] = null;
+    }
+  }
+
+  /**
+   * This method moves the character at a heap position up while it is less than its parent.
+   *
+   * @param pos The heap position of the character.
+   * @return The new heap position of the character.
+   */
+  private int siftUp(int pos) {
+    Character character = heap[pos];
+    while (pos > 0) {
+      int parent = (pos - 1) / 2;
+      if (!less(character, heap[parent])) {
+        break;
+      }
+      place(heap[parent], pos);
+      pos = parent;
+    }
+    place(character, pos);
+    return pos;
+  }
+
+  /**
+   * This method moves the character at a heap position down while one of its children is less.
+   *
+   * @param pos The heap position of the character.
+   */
+  private void siftDown(int pos) {
+    Character character = heap[pos];
+    while (true) {
+      int child = 2 * pos + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && less(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!less(heap[child], character)) {
+        break;
+      }
+      place(heap[child], pos);
+      pos = child;
+    }
+    place(character, pos);
+  }
+
+  /**
+   * This method puts a character at a heap position and records the position.
+   *
+   * @param character The character to put.
+   * @param pos The heap position.
+   */
+  private void place(Character character, int pos) {
+    heap[pos] = character;
+    positions[character.getNetId()] = pos;
+  }
+
+  /**
+   * This method compares two characters by their health points and then by their registry id.
+   *
+   * @param a The first character.
+   * @param b The second character.
+   * @return true if the first character is ordered before the second one, false otherwise.
+   */
+  private static boolean less(Character a, Character b) {
+    return a.getHp() < b.getHp() || (a.getHp() == b.getHp() && a.getNetId() < b.getNetId());
+  }
+}
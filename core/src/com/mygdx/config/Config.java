@@ -34,6 +34,10 @@ public class Config {
   // The speed of the bullets in the game
   public static final float BULLET_SPEED = 2;
 
+  // The width and height of a bullet, which match the size of the bullet texture
+  public static final float BULLET_WIDTH = 32;
+  public static final float BULLET_HEIGHT = 16;
+
   // The width and height of the game map
   public static float MAP_WIDTH = ROWS * CELL_SIZE;
   public static float MAP_HEIGHT = COLS * CELL_SIZE;
@@ -47,6 +51,19 @@ public class Config {
   // The interval in milliseconds between updates of the game entities
   public static final int INTERVAL_MILLI = 2000;
 
+  // The number of simulation ticks per second, the world advances in fixed steps of 1/TICK_RATE
+  public static int TICK_RATE = 20;
+
+  // The number of threads that update the bullets, 1 updates them on the simulation thread only
+  public static int BULLET_PARALLELISM = 1;
+
+  // Whether the AI moves the characters along a flow field towards the other team, or randomly. It
+  // is turned on by the headless runs of large maps, the games keep the random moves.
+  public static boolean FLOW_FIELD = false;
+
+  // Whether the screens show the latency overlay
+  public static boolean SHOW_METRICS = false;
+
   // The width of the border in the game map
   public static final int BORDER_WIDTH = 3;
 
@@ -63,6 +80,7 @@ public class Config {
   public static final String SHOOT_PATH = "sound/bullet.mp3";
   public static final String RECORD_PATH = "record/";
   public static final String REPLAY_PATH = "replay/";
+  public static final String METRICS_PATH = "latency.txt";
 
   // The width, height and padding of the buttons in the game
   public static final float BUTTON_WIDTH = 150;
@@ -84,9 +102,16 @@ public class Config {
   // The size of the buffer used for network communication. This is typically a power of 2.
   public static final int BUFFER_SIZE = 1024 * 10;
 
-  // The maximum number of simultaneous connections the server will accept.
+  // The largest number of deflated bytes of the initial game state sent in one frame.
+  public static final int SNAPSHOT_CHUNK = 1024 * 8;
+
+  // The number of clients of a match, a room of the server starts its match when they have joined.
   public static final int MAX_CONNECTIONS = 3;
 
+  // The number of cells from the hero of a client to the border of the area whose events it gets
+  // from the server, 0 for the whole map.
+  public static int INTEREST_RADIUS = 0;
+
   /**
    * This method changes the configuration of the game. It updates the number of rows and columns,
    * the width and height of the camera, the initial number of heroes and enemies, and the width and
@@ -114,4 +139,69 @@ public class Config {
   public static void changeHeroCount(int count) {
     INIT_HERO_COUNT = count;
   }
+
+  /**
+   * This method changes the initial number of enemies in the game.
+   *
+   * @param count The new initial number of enemies.
+   */
+  public static void changeEnemyCount(int count) {
+    INIT_ENEMY_COUNT = count;
+  }
+
+  /**
+   * This method changes the number of simulation ticks per second. It takes effect the next time
+   * the simulation is started.
+   *
+   * @param tickRate The new number of ticks per second, must be positive.
+   */
+  public static void changeTickRate(int tickRate) {
+    assert tickRate > 0;
+
+    TICK_RATE = tickRate;
+  }
+
+  /**
+   * This method changes the number of threads that update the bullets. It takes effect for the
+   * bullet updaters created afterwards.
+   *
+   * @param parallelism The new number of threads, must be positive.
+   */
+  public static void changeBulletParallelism(int parallelism) {
+    assert parallelism > 0;
+
+    BULLET_PARALLELISM = parallelism;
+  }
+
+  /**
+   * This method changes whether the screens show the latency overlay. It takes effect for the
+   * screens created afterwards.
+   *
+   * @param showMetrics Whether the screens show the latency overlay.
+   */
+  public static void changeShowMetrics(boolean showMetrics) {
+    SHOW_METRICS = showMetrics;
+  }
+
+  /**
+   * This method changes whether the AI moves the characters along a flow field towards the other
+   * team. If it is false, the characters move randomly.
+   *
+   * @param flowField Whether the AI moves the characters along a flow field.
+   */
+  public static void changeFlowField(boolean flowField) {
+    FLOW_FIELD = flowField;
+  }
+
+  /**
+   * This method changes the radius in cells of the area of interest of each client. It takes effect
+   * for the rooms opened afterwards. If it is 0, every client gets the events of the whole map.
+   *
+   * @param radius The radius of the area of interest, must not be negative.
+   */
+  public static void changeInterestRadius(int radius) {
+    assert radius >= 0;
+
+    INTEREST_RADIUS = radius;
+  }
 }
@@ -0,0 +1,84 @@
+package com.mygdx.controller;
+
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is the queue of the commands that change the game world. Any thread can submit a
+ * command, but only the simulation thread runs them, at the start of each tick, so the world is
+ * only ever written by one thread. The queue is a lock-free linked queue for many producers and a
+ * single consumer: a producer appends its node by swapping the tail and then linking the previous
+ * tail to it, and the consumer follows the links from its head without any atomic operation.
+ *
+ * @author Hades
+ */
+public class CommandQueue {
+  private final AtomicReference<Node> tail; // The last node, swapped by the producers.
+  private Node head; // The node of the last command that was run, only used by the consumer.
+
+  /** This class is a node of the queue. */
+  private static class Node {
+    Runnable command; // The command, cleared once it is run.
+    volatile Node next; // The next node, linked by the producer of the next node.
+
+    /**
+     * Constructor for Node.
+     *
+     * @param command The command of the node.
+     */
+    Node(Runnable command) {
+      this.command = command;
+    }
+  }
+
+  /** Constructor for CommandQueue. It creates an empty queue. */
+  public CommandQueue() {
+    head = new Node(null);
+    tail = new AtomicReference<>(head);
+  }
+
+  /**
+   * This method adds a command to the queue. It can be called by any thread and never blocks.
+   *
+   * @param command The command to add.
+   */
+  public void submit(Runnable command) {
+    Node node = new Node(command);
+    tail.getAndSet(node).next = node;
+  }
+
+  /**
+   * This method runs the commands of the queue in the order in which they were submitted, until the
+   * queue is empty. It must only be called by the simulation thread. An exception thrown by a
+   * command is logged, and the following commands are still run. A command that is still being
+   * appended by its producer is left for the next call.
+   *
+   * @return The number of commands that were run.
+   */
+  public int drain() {
+    int count = 0;
+    Node next;
+    while ((next = head.next) != null) {
+      Runnable command = next.command;
+      next.command = null;
+      head = next;
+      count++;
+      try {
+        command.run();
+      } catch (RuntimeException e) {
+        GameLogger.getInstance().error(Category.GAME, "Command failed", e);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * This method checks if the queue has no command left to run.
+   *
+   * @return true if the queue is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return head.next == null;
+  }
+}
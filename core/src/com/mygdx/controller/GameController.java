@@ -1,24 +1,27 @@
 package com.mygdx.controller;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.math.MathUtils;
-import com.mygdx.bullet.Bullet;
+import com.badlogic.gdx.math.RandomXS128;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.bullet.BulletUpdater;
+import com.mygdx.character.Character;
 import com.mygdx.character.Enemy;
 import com.mygdx.character.Hero;
 import com.mygdx.config.Config;
-import com.mygdx.entity.Entity;
 import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
 import com.mygdx.event.CharacterMove;
+import com.mygdx.event.CharacterState;
 import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
 import com.mygdx.event.HeroAttack;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import com.mygdx.map.Map;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -26,8 +29,10 @@ import lombok.Setter;
 /**
  * This class is responsible for controlling the game logic. It initializes the game state, starts
  * and stops the game, and handles events. It uses the BulletUpdater to update the bullets in the
- * game. It uses a ScheduledThreadPoolExecutor to schedule tasks at fixed rate. It also handles the
- * texture loading for the game entities.
+ * game. It uses a WorldTicker to advance the heroes, enemies and bullets on a single simulation
+ * thread, which is also the only thread that runs the commands submitted by the input and network
+ * threads. It also handles the texture loading for the game entities. A headless game controller
+ * creates the characters without textures, so it runs without a graphics context.
  *
  * @author Hades
  */
@@ -36,8 +41,11 @@ import lombok.Setter;
 @NoArgsConstructor
 public class GameController {
   private BulletUpdater bulletUpdater;
-  private ScheduledThreadPoolExecutor executor;
+  private WorldTicker worldTicker;
   private GameState gameState;
+  private boolean headless; // Whether the characters are created without textures.
+  // The pool that moves the bullets of several games, null for a pool of the BulletUpdater.
+  private ForkJoinPool bulletPool;
 
   /**
    * Constructor for GameController. Initializes the game with provided heroes, enemies, bullets,
@@ -45,58 +53,114 @@ public class GameController {
    *
    * @param heroes List of heroes
    * @param enemies List of enemies
-   * @param bullets List of bullets
+   * @param bullets Store of bullets
    * @param map Game map
    */
   public GameController(
       CopyOnWriteArrayList<Hero> heroes,
       CopyOnWriteArrayList<Enemy> enemies,
-      CopyOnWriteArrayList<Bullet> bullets,
+      BulletStore bullets,
       Map map) {
+    this(heroes, enemies, bullets, map, new GameRandom().getSeed());
+  }
+
+  /**
+   * Constructor for GameController. Initializes the game with provided heroes, enemies, bullets,
+   * and map, and with the seed the match was saved with, so a loaded match goes on with the same
+   * randomness. If any of these are null, it initializes a new game from the seed.
+   *
+   * @param heroes List of heroes
+   * @param enemies List of enemies
+   * @param bullets Store of bullets
+   * @param map Game map
+   * @param seed The seed of the match
+   */
+  public GameController(
+      CopyOnWriteArrayList<Hero> heroes,
+      CopyOnWriteArrayList<Enemy> enemies,
+      BulletStore bullets,
+      Map map,
+      long seed) {
     if (heroes == null || enemies == null || bullets == null || map == null) {
-      initGame();
+      initGame(seed);
     } else {
-      initGame(heroes, enemies, bullets, map);
+      initGame(heroes, enemies, bullets, map, seed);
     }
   }
 
   /**
-   * Initializes the game with provided heroes, enemies, bullets, and map. Loads the texture for the
-   * game entities and initializes the BulletUpdater and executor.
+   * Constructor for GameController. Initializes a new game. If headless is true, the characters are
+   * created without textures, which is used by the headless simulation.
+   *
+   * @param headless Whether the characters are created without textures
+   */
+  public GameController(boolean headless) {
+    this(headless, new GameRandom().getSeed());
+  }
+
+  /**
+   * Constructor for GameController. Initializes a new game from a seed, so the characters are
+   * placed and act in the same way on every run with the same seed. If headless is true, the
+   * characters are created without textures, which is used by the headless simulation.
+   *
+   * @param headless Whether the characters are created without textures
+   * @param seed The seed of the match
+   */
+  public GameController(boolean headless, long seed) {
+    this.headless = headless;
+    initGame(seed);
+  }
+
+  /**
+   * Initializes the game with provided heroes, enemies, bullets, map and seed. The seed is logged,
+   * so a match can be run again. Loads the texture for the game entities and initializes the
+   * BulletUpdater and world ticker.
    *
    * @param heroes List of heroes
    * @param enemies List of enemies
-   * @param bullets List of bullets
+   * @param bullets Store of bullets
    * @param map Game map
+   * @param seed The seed of the match
    */
   private void initGame(
       CopyOnWriteArrayList<Hero> heroes,
       CopyOnWriteArrayList<Enemy> enemies,
-      CopyOnWriteArrayList<Bullet> bullets,
-      Map map) {
+      BulletStore bullets,
+      Map map,
+      long seed) {
+    GameLogger.getInstance().info(Category.GAME, "Match seed: {}", seed);
     gameState = new GameState(heroes, enemies, bullets, map);
+    gameState.setSeed(seed);
+    gameState.rebuildIndexes();
 
     loadTexture();
 
-    initBulletUpdaterAndExecutor();
+    initBulletUpdaterAndTicker();
   }
 
   /**
-   * Initializes a new game with default heroes, enemies, bullets, and map. Loads the texture for
-   * the game entities and initializes the BulletUpdater and executor.
+   * Initializes a new game with default heroes, enemies, bullets, and map from a seed. The seed is
+   * logged, so a match can be run again. Loads the texture for the game entities and initializes
+   * the BulletUpdater and world ticker.
+   *
+   * @param seed The seed of the match.
    */
-  private void initGame() {
+  private void initGame(long seed) {
+    GameLogger.getInstance().info(Category.GAME, "Match seed: {}", seed);
     gameState =
         new GameState(
             new CopyOnWriteArrayList<>(),
             new CopyOnWriteArrayList<>(),
-            new CopyOnWriteArrayList<>(),
+            new BulletStore(),
             initMap());
+    gameState.setSeed(seed);
 
-    initCharacter(Config.INIT_HERO_COUNT, 0, (int) (Config.ROWS / 2), 1);
-    initCharacter(Config.INIT_ENEMY_COUNT, (int) (Config.ROWS / 2), (int) Config.ROWS, 2);
+    RandomXS128 spawn = gameState.getRandom().stream(GameRandom.SPAWN_STREAM);
+    initCharacter(spawn, Config.INIT_HERO_COUNT, 0, (int) (Config.ROWS / 2), 1);
+    initCharacter(spawn, Config.INIT_ENEMY_COUNT, (int) (Config.ROWS / 2), (int) Config.ROWS, 2);
+    gameState.rebuildIndexes();
 
-    initBulletUpdaterAndExecutor();
+    initBulletUpdaterAndTicker();
   }
 
   /**
@@ -109,26 +173,26 @@ public class GameController {
   }
 
   /**
-   * Initializes characters in the game.
+   * Initializes characters in the game. Their positions are drawn from a random stream.
    *
+   * @param random The random stream of the positions.
    * @param count The number of characters to initialize.
    * @param l The lower bound of the random range for the x-coordinate.
    * @param r The upper bound of the random range for the x-coordinate.
    * @param type The type of character to initialize (1 for hero, 2 for enemy).
    */
-  private void initCharacter(int count, int l, int r, int type) {
+  private void initCharacter(RandomXS128 random, int count, int l, int r, int type) {
     for (int i = 0; i < count; i++) {
-      int x = MathUtils.random(l, r - 1);
-      int y = (int) (MathUtils.random(Config.COLS));
-
-      while (gameState.getMap().get((int) (x * Config.CELL_SIZE), (int) (y * Config.CELL_SIZE))
-          != 0) {
-        x = MathUtils.random(l, r - 1);
-        y = (int) (MathUtils.random(Config.COLS));
+      int x = l + random.nextInt(r - l);
+      int y = (int) (random.nextFloat() * Config.COLS);
+
+      while (!gameState
+          .getMap()
+          .claim((int) (x * Config.CELL_SIZE), (int) (y * Config.CELL_SIZE))) {
+        x = l + random.nextInt(r - l);
+        y = (int) (random.nextFloat() * Config.COLS);
       }
 
-      gameState.getMap().set((int) (x * Config.CELL_SIZE), (int) (y * Config.CELL_SIZE), 1);
-
       if (type == 1) {
         gameState.getHeroes().add(initHero(x, y, i));
       } else if (type == 2) {
@@ -146,7 +210,13 @@ public class GameController {
    * @return The initialized hero.
    */
   private Hero initHero(int x, int y, int i) {
-    TextureManager textureManager = TextureManager.getInstance();
+    Texture heroTexture = null;
+    Texture bulletTexture = null;
+    if (!headless) {
+      TextureManager textureManager = TextureManager.getInstance();
+      heroTexture = textureManager.getHeroTextures().get(i);
+      bulletTexture = textureManager.getBulletTexture();
+    }
 
     Hero hero =
         new Hero(
@@ -154,8 +224,8 @@ public class GameController {
             (int) (y * Config.CELL_SIZE),
             Config.HERO_HP,
             Config.HERO_ATK,
-            textureManager.getHeroTextures().get(i),
-            textureManager.getBulletTexture());
+            heroTexture,
+            bulletTexture);
     hero.setGameState(gameState);
     hero.setId("hero" + i);
 
@@ -171,7 +241,13 @@ public class GameController {
    * @return The initialized enemy.
    */
   private Enemy initEnemy(int x, int y, int i) {
-    TextureManager textureManager = TextureManager.getInstance();
+    Texture enemyTexture = null;
+    Texture bulletTexture = null;
+    if (!headless) {
+      TextureManager textureManager = TextureManager.getInstance();
+      enemyTexture = textureManager.getEnemyTextures().get(i);
+      bulletTexture = textureManager.getBulletTexture();
+    }
 
     Enemy enemy =
         new Enemy(
@@ -179,29 +255,62 @@ public class GameController {
             (int) (y * Config.CELL_SIZE),
             Config.ENEMY_HP,
             Config.ENEMY_ATK,
-            textureManager.getEnemyTextures().get(i),
-            textureManager.getBulletTexture());
+            enemyTexture,
+            bulletTexture);
     enemy.setGameState(gameState);
     enemy.setId("enemy" + i);
 
     return enemy;
   }
 
-  /** Initializes the BulletUpdater and executor. */
-  private void initBulletUpdaterAndExecutor() {
+  /**
+   * Initializes the BulletUpdater and the world ticker. The previous ones are stopped, and the
+   * threads of the previous BulletUpdater are shut down.
+   */
+  private void initBulletUpdaterAndTicker() {
+    if (worldTicker != null) {
+      worldTicker.stop();
+    }
+    if (bulletUpdater != null) {
+      bulletUpdater.close();
+    }
     bulletUpdater = new BulletUpdater(gameState);
-    executor =
-        new ScheduledThreadPoolExecutor(Config.INIT_ENEMY_COUNT + Config.INIT_HERO_COUNT + 1);
+    if (bulletPool != null) {
+      bulletUpdater.setPool(bulletPool);
+    }
+    worldTicker = new WorldTicker(gameState, bulletUpdater);
   }
 
   /**
-   * Sets the game state and initializes the BulletUpdater and executor.
+   * Sets the game state and initializes the BulletUpdater and the world ticker.
    *
    * @param gameState The game state to set.
    */
   public void setGameState(GameState gameState) {
     this.gameState = gameState;
-    initBulletUpdaterAndExecutor();
+    gameState.rebuildIndexes();
+    initBulletUpdaterAndTicker();
+  }
+
+  /**
+   * Sets the pool that moves the bullets, shared with other game controllers. The BulletUpdater
+   * uses it instead of a pool of its own, and does not shut it down.
+   *
+   * @param bulletPool The shared pool.
+   */
+  public void setBulletPool(ForkJoinPool bulletPool) {
+    this.bulletPool = bulletPool;
+    bulletUpdater.setPool(bulletPool);
+  }
+
+  /**
+   * Submits a command that changes the game state. The command is run by the simulation thread at
+   * the start of its next tick, which makes it the only thread that writes the game state.
+   *
+   * @param command The command to run.
+   */
+  public void submit(Runnable command) {
+    worldTicker.submit(command);
   }
 
   /** Starts the game by starting the heroes, enemies, and bullets. */
@@ -211,50 +320,31 @@ public class GameController {
     startBullet();
   }
 
-  /** Starts the heroes by scheduling them with the executor. */
+  /** Starts the heroes by enabling their AI in the world ticker. */
   public void startHero() {
-    gameState
-        .getHeroes()
-        .forEach(
-            hero ->
-                executor.scheduleWithFixedDelay(
-                    hero, 0, Config.INTERVAL_MILLI, TimeUnit.MILLISECONDS));
+    worldTicker.setHeroEnabled(true);
+    worldTicker.start();
   }
 
-  /** Starts the enemies by scheduling them with the executor. */
+  /** Starts the enemies by enabling their AI in the world ticker. */
   public void startEnemy() {
-    gameState
-        .getEnemies()
-        .forEach(
-            enemy ->
-                executor.scheduleWithFixedDelay(
-                    enemy, 0, Config.INTERVAL_MILLI, TimeUnit.MILLISECONDS));
+    worldTicker.setEnemyEnabled(true);
+    worldTicker.start();
   }
 
-  /** Starts the bullets by scheduling the BulletUpdater with the executor. */
+  /** Starts the bullets by enabling the BulletUpdater in the world ticker. */
   public void startBullet() {
-    executor.scheduleWithFixedDelay(
-        bulletUpdater, 0, Config.INTERVAL_MILLI / 40, TimeUnit.MILLISECONDS);
+    worldTicker.setBulletEnabled(true);
+    worldTicker.start();
   }
 
-  /** Stops the game by shutting down the executor. */
+  /**
+   * Stops the game by stopping the world ticker and shutting down the threads of the bullet
+   * updater. The game can be started again, the bullet threads are then created again.
+   */
   public void stop() {
-    executor.shutdown(); // Disable new tasks from being submitted
-    try {
-      // Wait a while for existing tasks to terminate
-      if (!executor.awaitTermination(Config.INTERVAL_MILLI / 10, TimeUnit.MILLISECONDS)) {
-        executor.shutdownNow(); // Cancel currently executing tasks
-        // Wait a while for tasks to respond to being cancelled
-        if (!executor.awaitTermination(Config.INTERVAL_MILLI / 10, TimeUnit.MILLISECONDS)) {
-          Gdx.app.log("GameScreen", "Pool did not terminate");
-        }
-      }
-    } catch (InterruptedException ie) {
-      // (Re-)Cancel if current thread also interrupted
-      executor.shutdownNow();
-      // Preserve interrupt status
-      Thread.currentThread().interrupt();
-    }
+    worldTicker.stop();
+    bulletUpdater.close();
   }
 
   /** Loads the textures for the game entities. */
@@ -288,30 +378,26 @@ public class GameController {
       }
       enemy.setGameState(gameState);
     }
-
-    for (Bullet bullet : getGameState().getBullets()) {
-      bullet.setSprite(new Sprite(bulletTexture));
-      bullet.getSprite().setRotation(bullet.getRotation());
-      bullet.setSound(Gdx.audio.newSound(Gdx.files.internal(Config.SHOOT_PATH)));
-    }
   }
 
   /**
-   * Checks if all enemies are dead.
+   * Checks if all enemies are dead. It reads the living count of the game state instead of the
+   * enemy list.
    *
    * @return True if all enemies are dead, false otherwise.
    */
   public boolean isEnemyEmpty() {
-    return gameState.getEnemies().stream().allMatch(Entity::isDead);
+    return gameState.getEnemyAlive() == 0;
   }
 
   /**
-   * Checks if all heroes are dead.
+   * Checks if all heroes are dead. It reads the living count of the game state instead of the hero
+   * list.
    *
    * @return True if all heroes are dead, false otherwise.
    */
   public boolean isHeroEmpty() {
-    return gameState.getHeroes().stream().allMatch(Entity::isDead);
+    return gameState.getHeroAlive() == 0;
   }
 
   /**
@@ -321,16 +407,12 @@ public class GameController {
    */
   public void handleServerEvent(CharacterMove event) {
     if (event.getType() == CharacterMove.Type.HERO_MOVE) {
-      gameState
-          .getHeroes()
-          .forEach(
-              hero -> {
-                if (hero.getId().equals(event.getId())) {
-                  hero.update(
-                      (int) (event.getDirectionX() * Config.CELL_SIZE),
-                      (int) (event.getDirectionY() * Config.CELL_SIZE));
-                }
-              });
+      Hero hero = gameState.getHero(event.getId());
+      if (hero != null) {
+        hero.update(
+            (int) (event.getDirectionX() * Config.CELL_SIZE),
+            (int) (event.getDirectionY() * Config.CELL_SIZE));
+      }
     } else if (event.getType() == GameEvent.Type.ENEMY_MOVE) {
       throw new UnsupportedOperationException();
     } else {
@@ -353,14 +435,10 @@ public class GameController {
    * @param event The hero attack event to handle.
    */
   public void handleServerEvent(HeroAttack event) {
-    gameState
-        .getHeroes()
-        .forEach(
-            hero -> {
-              if (hero.getId().equals(event.getId())) {
-                hero.update(event.getX(), event.getY());
-              }
-            });
+    Hero hero = gameState.getHero(event.getId());
+    if (hero != null) {
+      hero.update(event.getX(), event.getY());
+    }
   }
 
   /**
@@ -370,27 +448,19 @@ public class GameController {
    */
   public void handleClientEvent(CharacterMove event) {
     if (event.getType() == CharacterMove.Type.HERO_MOVE) {
-      gameState
-          .getHeroes()
-          .forEach(
-              hero -> {
-                if (hero.getId().equals(event.getId())) {
-                  hero.move(
-                      hero.getX() + event.getDirectionX() * Config.CELL_SIZE,
-                      hero.getY() + event.getDirectionY() * Config.CELL_SIZE);
-                }
-              });
+      Hero hero = gameState.getHero(event.getId());
+      if (hero != null) {
+        hero.move(
+            hero.getX() + event.getDirectionX() * Config.CELL_SIZE,
+            hero.getY() + event.getDirectionY() * Config.CELL_SIZE);
+      }
     } else if (event.getType() == GameEvent.Type.ENEMY_MOVE) {
-      gameState
-          .getEnemies()
-          .forEach(
-              enemy -> {
-                if (enemy.getId().equals(event.getId())) {
-                  enemy.move(
-                      enemy.getX() + event.getDirectionX() * Config.CELL_SIZE,
-                      enemy.getY() + event.getDirectionY() * Config.CELL_SIZE);
-                }
-              });
+      Enemy enemy = gameState.getEnemy(event.getId());
+      if (enemy != null) {
+        enemy.move(
+            enemy.getX() + event.getDirectionX() * Config.CELL_SIZE,
+            enemy.getY() + event.getDirectionY() * Config.CELL_SIZE);
+      }
     } else {
       throw new RuntimeException("Unknown event type: " + event.getType());
     }
@@ -403,16 +473,14 @@ public class GameController {
    */
   public void handleClientEvent(CharacterAttack event) {
     gameState
-        .getBullets()
+        .getBulletStore()
         .add(
-            new Bullet(
-                event.getX(),
-                event.getY(),
-                event.getAtk(),
-                event.getSpeedX(),
-                event.getSpeedY(),
-                event.getRotation(),
-                TextureManager.getInstance().getBulletTexture()));
+            event.getX(),
+            event.getY(),
+            event.getAtk(),
+            event.getSpeedX(),
+            event.getSpeedY(),
+            event.getRotation());
   }
 
   /**
@@ -423,4 +491,48 @@ public class GameController {
   public void handleClientEvent(HeroAttack event) {
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * Handles the health points of a character sent by the server. They replace the ones of the
+   * client, which may have missed the bullet that changed them.
+   *
+   * @param event The character health points event.
+   */
+  public void handleClientEvent(CharacterHp event) {
+    Character character = gameState.getCharacter(event.getId());
+    if (character != null) {
+      character.setHp(event.getHp());
+      if (character.isDead()) {
+        character.changeDieTexture();
+      }
+    }
+  }
+
+  /**
+   * Handles the state of a character that entered the area of interest of the client. The character
+   * is put where it is on the server, with its health points, since the client did not get its
+   * moves while it was outside the area.
+   *
+   * @param state The state of the character.
+   */
+  public void handleClientEvent(CharacterState state) {
+    Character character = gameState.getCharacter(state.getId());
+    if (character != null) {
+      character.move(state.getX(), state.getY());
+      character.setHp(state.getHp());
+      if (character.isDead()) {
+        character.changeDieTexture();
+      }
+    }
+  }
+
+  /**
+   * Handles a client event for the end of the game. The game state keeps the first game over event
+   * it sees, whether it was detected locally or sent by the server.
+   *
+   * @param event The game over event to handle.
+   */
+  public void handleClientEvent(GameOver event) {
+    gameState.endGame(event);
+  }
 }
@@ -0,0 +1,60 @@
+package com.mygdx.controller;
+
+import com.badlogic.gdx.math.RandomXS128;
+import lombok.Getter;
+
+/**
+ * This class is the source of randomness of a match. It is created from a single seed, and it hands
+ * out independent random streams, one per user: the spawn positions have their own stream, and
+ * every character gets a stream derived from its registry id. A stream only depends on the seed and
+ * on its id, so the order in which the characters draw numbers does not change what the other
+ * characters draw, and the same seed with the same input gives the same match on every run.
+ *
+ * @author Hades
+ */
+@Getter
+public class GameRandom {
+  // The id of the stream that places the characters at the start of a match.
+  public static final long SPAWN_STREAM = -1;
+
+  private final long seed; // The seed of the match.
+
+  /**
+   * Constructor for GameRandom. It creates the source of a match with a seed.
+   *
+   * @param seed The seed of the match.
+   */
+  public GameRandom(long seed) {
+    this.seed = seed;
+  }
+
+  /** Constructor for GameRandom. It creates the source of a match with a random seed. */
+  public GameRandom() {
+    this(new RandomXS128().nextLong());
+  }
+
+  /**
+   * This method creates the random stream with an id. Two calls with the same id return streams
+   * that produce the same numbers.
+   *
+   * @param id The id of the stream.
+   * @return A new random stream.
+   */
+  public RandomXS128 stream(long id) {
+    return new RandomXS128(mix(seed ^ mix(id)));
+  }
+
+  /**
+   * This method scrambles the bits of a value with the finalizer of SplitMix64, so close ids give
+   * unrelated seeds.
+   *
+   * @param value The value to scramble.
+   * @return The scrambled value.
+   */
+  static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
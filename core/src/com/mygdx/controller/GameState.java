@@ -2,38 +2,83 @@ package com.mygdx.controller;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.character.Character;
 import com.mygdx.character.Enemy;
 import com.mygdx.character.Hero;
+import com.mygdx.character.MinHpHeap;
+import com.mygdx.config.Config;
 import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
 import com.mygdx.event.CharacterMove;
 import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
 import com.mygdx.event.HeroAttack;
+import com.mygdx.map.FlowField;
 import com.mygdx.map.Map;
+import com.mygdx.map.SpatialGrid;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
 import com.mygdx.observer.GameObserver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * This class represents the state of the game at any given moment. It contains lists of heroes,
- * enemies, and bullets, as well as the game map. It also maintains a list of observers that are
- * notified of game events. It uses the observer pattern to notify observers of game events.
+ * This class represents the state of the game at any given moment. It contains lists of heroes and
+ * enemies, a store of bullets, as well as the game map. It also maintains a list of observers that
+ * are notified of game events. It uses the observer pattern to notify observers of game events. The
+ * heroes and enemies are also indexed by a spatial grid per team, which is used by the bullets to
+ * only test the characters close to them, by a min-hp heap per team, which is used by the AI to
+ * find the weakest target, by a flow field per team, which is used by the AI to move towards the
+ * other team, and by a registry that maps the compact integer ids used by the network events to the
+ * characters. It counts the living characters of each team, so the end of the game is detected when
+ * a character dies instead of by scanning the lists. The randomness of the match comes from a
+ * seeded GameRandom, which gives every character its own stream. For Jackson, the bullet store is
+ * exposed as a list of bullets.
  *
  * @author Hades
  */
 @Getter
 @Setter
 @NoArgsConstructor
-@JsonIgnoreProperties({"observers"})
+@JsonIgnoreProperties({
+  "observers",
+  "heroGrid",
+  "enemyGrid",
+  "heroHeap",
+  "enemyHeap",
+  "heroField",
+  "enemyField",
+  "random",
+  "registry",
+  "heroAlive",
+  "enemyAlive",
+  "gameOver",
+  "bulletStore"
+})
 public class GameState {
   private CopyOnWriteArrayList<Hero> heroes;
   private CopyOnWriteArrayList<Enemy> enemies;
-  private CopyOnWriteArrayList<Bullet> bullets;
+  private BulletStore bulletStore = new BulletStore();
   private Map map;
   private List<GameObserver> observers = new ArrayList<>();
+  private SpatialGrid<Hero> heroGrid;
+  private SpatialGrid<Enemy> enemyGrid;
+  private MinHpHeap<Hero> heroHeap = new MinHpHeap<>();
+  private MinHpHeap<Enemy> enemyHeap = new MinHpHeap<>();
+  private FlowField heroField; // The flow field that leads the heroes to the enemies.
+  private FlowField enemyField; // The flow field that leads the enemies to the heroes.
+  private Character[] registry = new Character[0];
+  private GameRandom random = new GameRandom(); // The source of randomness of the match.
+  private final AtomicInteger heroAlive = new AtomicInteger();
+  private final AtomicInteger enemyAlive = new AtomicInteger();
+  private final AtomicReference<GameOver> gameOver = new AtomicReference<>();
 
   /**
    * Constructor for GameState. Initializes the game state with provided heroes, enemies, bullets,
@@ -41,18 +86,343 @@ public class GameState {
    *
    * @param heroes List of heroes
    * @param enemies List of enemies
-   * @param bullets List of bullets
+   * @param bulletStore Store of bullets
    * @param map Game map
    */
   public GameState(
       CopyOnWriteArrayList<Hero> heroes,
       CopyOnWriteArrayList<Enemy> enemies,
-      CopyOnWriteArrayList<Bullet> bullets,
+      BulletStore bulletStore,
       Map map) {
     this.heroes = heroes;
     this.enemies = enemies;
-    this.bullets = bullets;
+    this.bulletStore = bulletStore;
     this.map = map;
+    rebuildIndexes();
+  }
+
+  /**
+   * Returns a stable snapshot of the bullets as a list. It is used by Jackson to serialize the
+   * bullets.
+   *
+   * @return The list of living bullets
+   */
+  public CopyOnWriteArrayList<Bullet> getBullets() {
+    return bulletStore.toList();
+  }
+
+  /**
+   * Replaces the bullets in the bullet store. It is used by Jackson to deserialize the bullets.
+   *
+   * @param bullets The list of bullets
+   */
+  public void setBullets(List<Bullet> bullets) {
+    bulletStore.setAll(bullets);
+  }
+
+  /**
+   * Returns the seed of the random source of the match. It is used by Jackson to serialize the
+   * seed, so a match that is loaded or sent to a client goes on with the same randomness.
+   *
+   * @return The seed of the match
+   */
+  public long getSeed() {
+    return random.getSeed();
+  }
+
+  /**
+   * Replaces the random source of the match by one with the given seed. It is used by Jackson to
+   * deserialize the seed. The characters get their streams of the new source when the indexes are
+   * rebuilt.
+   *
+   * @param seed The seed of the match
+   */
+  public void setSeed(long seed) {
+    random = new GameRandom(seed);
+  }
+
+  /**
+   * Rebuilds the spatial grids, the registry, the min-hp heaps and the living counts of the heroes
+   * and enemies from their lists, and clears their flow fields. It must be called after the lists
+   * are replaced or filled outside of the constructor.
+   */
+  public void rebuildIndexes() {
+    rebuildGrids();
+    heroField = new FlowField((int) Config.ROWS, (int) Config.COLS);
+    enemyField = new FlowField((int) Config.ROWS, (int) Config.COLS);
+    rebuildRegistry();
+    rebuildHeaps();
+    rebuildAlive();
+  }
+
+  /** Rebuilds the spatial grids of the heroes and enemies from their lists. */
+  private void rebuildGrids() {
+    heroGrid = new SpatialGrid<>((int) Config.ROWS, (int) Config.COLS);
+    enemyGrid = new SpatialGrid<>((int) Config.ROWS, (int) Config.COLS);
+    if (heroes != null) {
+      heroes.forEach(heroGrid::add);
+    }
+    if (enemies != null) {
+      enemies.forEach(enemyGrid::add);
+    }
+  }
+
+  /**
+   * Rebuilds the registry of the heroes and enemies from their lists. The heroes get the ids from 0
+   * in the order of their list, followed by the enemies, so every peer that holds the same lists
+   * assigns the same ids. Every character also gets the random stream of its id, so it draws the
+   * same numbers in every run of a match with the same seed.
+   */
+  private void rebuildRegistry() {
+    int heroCount = heroes == null ? 0 : heroes.size();
+    int enemyCount = enemies == null ? 0 : enemies.size();
+    Character[] characters = new Character[heroCount + enemyCount];
+    for (int i = 0; i < heroCount; i++) {
+      characters[i] = heroes.get(i);
+    }
+    for (int i = 0; i < enemyCount; i++) {
+      characters[heroCount + i] = enemies.get(i);
+    }
+    for (int i = 0; i < characters.length; i++) {
+      characters[i].setNetId(i);
+      characters[i].setRandom(random.stream(i));
+    }
+    registry = characters;
+  }
+
+  /** Rebuilds the min-hp heaps of the heroes and enemies from their lists. */
+  private void rebuildHeaps() {
+    heroHeap.clear();
+    enemyHeap.clear();
+    if (heroes != null) {
+      heroes.forEach(heroHeap::update);
+    }
+    if (enemies != null) {
+      enemies.forEach(enemyHeap::update);
+    }
+  }
+
+  /**
+   * Recounts the living heroes and enemies from their lists. If a team that has characters has no
+   * living one, for example in a loaded game, the game is ended right away.
+   */
+  private void rebuildAlive() {
+    heroAlive.set(
+        heroes == null ? 0 : (int) heroes.stream().filter(hero -> !hero.isDead()).count());
+    enemyAlive.set(
+        enemies == null ? 0 : (int) enemies.stream().filter(enemy -> !enemy.isDead()).count());
+
+    if (heroes != null && !heroes.isEmpty() && heroAlive.get() == 0) {
+      endGame(new GameOver("Enemy", GameEvent.Type.GAME_OVER));
+    } else if (enemies != null && !enemies.isEmpty() && enemyAlive.get() == 0) {
+      endGame(new GameOver("Hero", GameEvent.Type.GAME_OVER));
+    }
+  }
+
+  /**
+   * Returns the number of living heroes.
+   *
+   * @return The number of living heroes
+   */
+  public int getHeroAlive() {
+    return heroAlive.get();
+  }
+
+  /**
+   * Returns the number of living enemies.
+   *
+   * @return The number of living enemies
+   */
+  public int getEnemyAlive() {
+    return enemyAlive.get();
+  }
+
+  /**
+   * Returns the game over event if the game has ended.
+   *
+   * @return The game over event, or null if the game is still running
+   */
+  public GameOver getGameOver() {
+    return gameOver.get();
+  }
+
+  /**
+   * Ends the game with a game over event. Only the first game over event is kept, later ones are
+   * ignored.
+   *
+   * @param event The game over event
+   * @return true if the game was ended by this call, false if it had already ended
+   */
+  public boolean endGame(GameOver event) {
+    return gameOver.compareAndSet(null, event);
+  }
+
+  /**
+   * Returns the character registered with an id.
+   *
+   * @param id The registry id of the character
+   * @return The character, or null if no character is registered with the id
+   */
+  public Character getCharacter(int id) {
+    Character[] characters = registry;
+    return id >= 0 && id < characters.length ? characters[id] : null;
+  }
+
+  /**
+   * Returns the hero registered with an id.
+   *
+   * @param id The registry id of the hero
+   * @return The hero, or null if no hero is registered with the id
+   */
+  public Hero getHero(int id) {
+    Character character = getCharacter(id);
+    return character instanceof Hero ? (Hero) character : null;
+  }
+
+  /**
+   * Returns the enemy registered with an id.
+   *
+   * @param id The registry id of the enemy
+   * @return The enemy, or null if no enemy is registered with the id
+   */
+  public Enemy getEnemy(int id) {
+    Character character = getCharacter(id);
+    return character instanceof Enemy ? (Enemy) character : null;
+  }
+
+  /**
+   * Moves a character in the spatial grid of its team after it has moved.
+   *
+   * @param character The character that moved
+   * @param fromX The previous x-coordinate of the character
+   * @param fromY The previous y-coordinate of the character
+   */
+  public void updateGrid(Character character, float fromX, float fromY) {
+    if (character instanceof Hero && heroGrid != null) {
+      heroGrid.move((Hero) character, fromX, fromY);
+    } else if (character instanceof Enemy && enemyGrid != null) {
+      enemyGrid.move((Enemy) character, fromX, fromY);
+    }
+  }
+
+  /**
+   * Adds a character to the spatial grid of its team at its position, so the bullets can hit it
+   * again. It is used by a client when the character enters its area of interest.
+   *
+   * @param character The character to add
+   */
+  public void addToGrid(Character character) {
+    if (character instanceof Hero && heroGrid != null) {
+      heroGrid.add((Hero) character);
+    } else if (character instanceof Enemy && enemyGrid != null) {
+      enemyGrid.add((Enemy) character);
+    }
+  }
+
+  /**
+   * Removes a character from the spatial grid of its team, so the bullets pass through it. It is
+   * used by a client when the character leaves its area of interest, since its position is not
+   * updated until it enters again.
+   *
+   * @param character The character to remove
+   */
+  public void removeFromGrid(Character character) {
+    if (character instanceof Hero && heroGrid != null) {
+      heroGrid.remove((Hero) character);
+    } else if (character instanceof Enemy && enemyGrid != null) {
+      enemyGrid.remove((Enemy) character);
+    }
+  }
+
+  /**
+   * Recomputes the flow field of the heroes from the positions of the living enemies. It is called
+   * by the simulation thread once per AI step, before the heroes move.
+   */
+  public void updateHeroField() {
+    if (enemies != null) {
+      heroField.compute(enemies);
+    }
+  }
+
+  /**
+   * Recomputes the flow field of the enemies from the positions of the living heroes. It is called
+   * by the simulation thread once per AI step, before the enemies move.
+   */
+  public void updateEnemyField() {
+    if (heroes != null) {
+      enemyField.compute(heroes);
+    }
+  }
+
+  /**
+   * Updates a character in the min-hp heap of its team after its health points have changed, and
+   * sends a CharacterHp event to the observers, if there are any. A character that died is removed
+   * from the heap and from the living count of its team. When the last living character of a team
+   * dies, the game ends and a GameOver event is sent to all observers.
+   *
+   * @param character The character whose health points changed
+   * @param fromHp The previous health points of the character
+   */
+  public void updateHp(Character character, int fromHp) {
+    if (character.getNetId() < 0) {
+      return;
+    }
+
+    AtomicInteger alive;
+    String winner;
+    if (character instanceof Hero) {
+      heroHeap.update((Hero) character);
+      alive = heroAlive;
+      winner = "Enemy";
+    } else if (character instanceof Enemy) {
+      enemyHeap.update((Enemy) character);
+      alive = enemyAlive;
+      winner = "Hero";
+    } else {
+      return;
+    }
+    if (!observers.isEmpty()) {
+      notifyObservers(
+          new CharacterHp(character.getNetId(), character.getHp(), GameEvent.Type.CHARACTER_HP));
+    }
+
+    boolean wasDead = fromHp <= 0;
+    if (!wasDead && character.isDead()) {
+      if (alive.decrementAndGet() == 0) {
+        GameOver event = new GameOver(winner, GameEvent.Type.GAME_OVER);
+        if (endGame(event)) {
+          notifyObservers(event);
+        }
+      }
+    } else if (wasDead && !character.isDead()) {
+      alive.incrementAndGet();
+    }
+  }
+
+  /**
+   * Computes a checksum of the simulated state: the position and health points of every character
+   * and the position, speed and attack points of every bullet. Two runs of a match with the same
+   * seed and the same input have the same checksum after the same number of ticks, so it can be
+   * compared to check that a run was reproduced.
+   *
+   * @return The checksum of the state
+   */
+  public long checksum() {
+    long hash = random.getSeed();
+    for (Character character : registry) {
+      hash = 31 * hash + Float.floatToIntBits(character.getX());
+      hash = 31 * hash + Float.floatToIntBits(character.getY());
+      hash = 31 * hash + character.getHp();
+    }
+    synchronized (bulletStore) {
+      for (int i = 0; i < bulletStore.size(); i++) {
+        hash = 31 * hash + Float.floatToIntBits(bulletStore.getX(i));
+        hash = 31 * hash + Float.floatToIntBits(bulletStore.getY(i));
+        hash = 31 * hash + Float.floatToIntBits(bulletStore.getRotation(i));
+        hash = 31 * hash + bulletStore.getAtk(i);
+      }
+    }
+    return hash;
   }
 
   /**
@@ -80,6 +450,7 @@ public class GameState {
    * @param event The game event to notify observers of
    */
   public void notifyObservers(GameEvent event) {
+    long begin = System.nanoTime();
     for (GameObserver observer : observers) {
       if (event instanceof CharacterMove) {
         observer.handleEvent((CharacterMove) event);
@@ -87,9 +458,14 @@ public class GameState {
         observer.handleEvent((CharacterAttack) event);
       } else if (event instanceof HeroAttack) {
         observer.handleEvent((HeroAttack) event);
+      } else if (event instanceof GameOver) {
+        observer.handleEvent((GameOver) event);
+      } else if (event instanceof CharacterHp) {
+        observer.handleEvent((CharacterHp) event);
       } else {
         throw new UnsupportedOperationException();
       }
     }
+    Metrics.getInstance().record(Probe.OBSERVERS, begin);
   }
 }
@@ -0,0 +1,45 @@
+package com.mygdx.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.mygdx.config.Config;
+import lombok.Getter;
+
+/**
+ * This class is responsible for managing the sounds used in the game. It loads the sound of a shot
+ * once and shares it between all bullets, instead of decoding the file again for every bullet. It
+ * uses the Singleton pattern in the same way as the TextureManager.
+ *
+ * @author Hades
+ */
+@Getter
+public class SoundManager {
+  private Sound shootSound;
+
+  /** Private constructor for SoundManager. Calls the initSound method to load the sounds. */
+  private SoundManager() {
+    initSound();
+  }
+
+  /** Loads the sound that is played when a bullet hits a character. */
+  private void initSound() {
+    shootSound = Gdx.audio.newSound(Gdx.files.internal(Config.SHOOT_PATH));
+  }
+
+  /**
+   * This class holds the instance of the SoundManager. It is used to implement the Singleton
+   * pattern.
+   */
+  private static class SoundManagerHolder {
+    private static final SoundManager INSTANCE = new SoundManager();
+  }
+
+  /**
+   * Returns the instance of the SoundManager. If the instance does not exist, it is created.
+   *
+   * @return The instance of the SoundManager
+   */
+  public static SoundManager getInstance() {
+    return SoundManagerHolder.INSTANCE;
+  }
+}
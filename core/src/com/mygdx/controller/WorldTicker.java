@@ -0,0 +1,223 @@
+package com.mygdx.controller;
+
+import com.mygdx.bullet.BulletUpdater;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * This class advances the whole game world in fixed steps on a single simulation thread. Every tick
+ * it runs, in order, the AI of the heroes, the AI of the enemies and the bullet updater, so the
+ * number of threads no longer grows with the number of units. The AI of the characters runs once
+ * every Config.INTERVAL_MILLI milliseconds worth of ticks, the bullets are updated on every tick.
+ * Each part of the world can be enabled separately, which allows a client to only simulate the
+ * bullets while the server drives the characters. It also records how long each tick takes, so the
+ * remaining headroom of the simulation can be inspected.
+ *
+ * <p>The simulation thread is the only thread that writes the world. The input, network and screen
+ * threads submit their changes as commands to the command queue of the ticker, and the commands are
+ * run in the order of their submission at the start of the next tick, before any character acts.
+ *
+ * @author Hades
+ */
+@Getter
+@Setter
+public class WorldTicker implements Runnable {
+  private GameState gameState; // The game state that is advanced by the ticker.
+  private BulletUpdater bulletUpdater; // The updater that moves the bullets every tick.
+  private final CommandQueue commands = new CommandQueue(); // The changes of the other threads.
+  private volatile boolean heroEnabled; // Whether the AI of the heroes is run.
+  private volatile boolean enemyEnabled; // Whether the AI of the enemies is run.
+  private volatile boolean bulletEnabled; // Whether the bullets are updated.
+  private long tick; // The number of ticks advanced so far.
+  private volatile long lastTickNanos; // The duration of the last tick in nanoseconds.
+  private volatile long maxTickNanos; // The duration of the longest tick in nanoseconds.
+  private volatile long totalTickNanos; // The total duration of all ticks in nanoseconds.
+  private volatile long tickCount; // The number of timed ticks.
+  private ScheduledThreadPoolExecutor executor;
+  // The scheduler shared with other tickers, null if the ticker runs on its own thread.
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> future; // The ticks scheduled on the shared scheduler.
+
+  /**
+   * Constructor for the WorldTicker class. It initializes the game state and the bullet updater.
+   * Nothing is enabled until one of the enable methods is called.
+   *
+   * @param gameState The game state to advance.
+   * @param bulletUpdater The updater for the bullets.
+   */
+  public WorldTicker(GameState gameState, BulletUpdater bulletUpdater) {
+    this.gameState = gameState;
+    this.bulletUpdater = bulletUpdater;
+  }
+
+  /**
+   * Starts the simulation thread if it is not already running. The world is advanced at a fixed
+   * rate of Config.TICK_RATE ticks per second. If a shared scheduler is set, the ticks are run by
+   * its threads, which never run two ticks of the same ticker at the same time, so many worlds can
+   * be advanced by a few threads.
+   */
+  public synchronized void start() {
+    if (scheduler != null) {
+      if (future == null) {
+        future = scheduler.scheduleAtFixedRate(this, 0, getTickNanos(), TimeUnit.NANOSECONDS);
+      }
+      return;
+    }
+    if (executor != null && !executor.isShutdown()) {
+      return;
+    }
+
+    executor = new ScheduledThreadPoolExecutor(1);
+    executor.scheduleAtFixedRate(this, 0, getTickNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Stops the simulation thread, or cancels the ticks on the shared scheduler. The enabled parts of
+   * the world are kept for the next start.
+   */
+  public synchronized void stop() {
+    if (future != null) {
+      future.cancel(false);
+      future = null;
+    }
+    if (executor == null) {
+      return;
+    }
+
+    executor.shutdown(); // Disable new tasks from being submitted
+    try {
+      // Wait a while for existing tasks to terminate
+      if (!executor.awaitTermination(Config.INTERVAL_MILLI / 10, TimeUnit.MILLISECONDS)) {
+        executor.shutdownNow(); // Cancel currently executing tasks
+        // Wait a while for tasks to respond to being cancelled
+        if (!executor.awaitTermination(Config.INTERVAL_MILLI / 10, TimeUnit.MILLISECONDS)) {
+          GameLogger.getInstance().error(Category.GAME, "WorldTicker pool did not terminate");
+        }
+      }
+    } catch (InterruptedException ie) {
+      // (Re-)Cancel if current thread also interrupted
+      executor.shutdownNow();
+      // Preserve interrupt status
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Runs one timed tick of the world. An exception thrown by a tick is logged instead of being
+   * propagated, because it would otherwise silently cancel all following ticks.
+   */
+  @Override
+  public void run() {
+    long begin = System.nanoTime();
+    try {
+      tick();
+    } catch (RuntimeException e) {
+      GameLogger.getInstance().error(Category.GAME, "WorldTicker tick " + tick + " failed", e);
+    }
+    record(System.nanoTime() - begin);
+  }
+
+  /**
+   * Submits a command that changes the world. The command is run by the simulation thread at the
+   * start of the next tick, so it can be called from any thread.
+   *
+   * @param command The command to run.
+   */
+  public void submit(Runnable command) {
+    commands.submit(command);
+  }
+
+  /**
+   * Advances the world by one tick. The submitted commands are run first, then the heroes act
+   * before the enemies, and both act before the bullets are moved, so every tick is applied in the
+   * same order. The flow field of a team is computed once, right before the team acts, so each
+   * character only reads it.
+   */
+  public void tick() {
+    commands.drain();
+
+    if (tick % getAiTicks() == 0) {
+      if (heroEnabled) {
+        if (Config.FLOW_FIELD) {
+          gameState.updateHeroField();
+        }
+        for (Hero hero : gameState.getHeroes()) {
+          hero.run();
+        }
+      }
+      if (enemyEnabled) {
+        if (Config.FLOW_FIELD) {
+          gameState.updateEnemyField();
+        }
+        for (Enemy enemy : gameState.getEnemies()) {
+          enemy.run();
+        }
+      }
+    }
+
+    if (bulletEnabled) {
+      bulletUpdater.run();
+    }
+
+    tick++;
+  }
+
+  /**
+   * Records the duration of a tick.
+   *
+   * @param nanos The duration of the tick in nanoseconds.
+   */
+  private void record(long nanos) {
+    lastTickNanos = nanos;
+    maxTickNanos = Math.max(maxTickNanos, nanos);
+    totalTickNanos += nanos;
+    tickCount++;
+  }
+
+  /**
+   * Returns the number of ticks between two actions of a character.
+   *
+   * @return The number of ticks between two actions of a character, at least 1.
+   */
+  public static int getAiTicks() {
+    return Math.max(1, Config.INTERVAL_MILLI * Config.TICK_RATE / 1000);
+  }
+
+  /**
+   * Returns the duration of one tick.
+   *
+   * @return The duration of one tick in nanoseconds.
+   */
+  public static long getTickNanos() {
+    return TimeUnit.SECONDS.toNanos(1) / Config.TICK_RATE;
+  }
+
+  /**
+   * Returns the average duration of the timed ticks.
+   *
+   * @return The average duration of a tick in nanoseconds, 0 if no tick has been run.
+   */
+  public long getAverageTickNanos() {
+    long count = tickCount;
+    return count == 0 ? 0 : totalTickNanos / count;
+  }
+
+  /**
+   * Returns the fraction of the tick budget that is left on average. A value close to 1 means the
+   * simulation is mostly idle, a value at or below 0 means the ticks take longer than the budget.
+   *
+   * @return The average headroom of a tick.
+   */
+  public double getHeadroom() {
+    return 1 - (double) getAverageTickNanos() / getTickNanos();
+  }
+}
@@ -29,33 +29,66 @@ public abstract class Entity implements Serializable {
 
   /**
    * Constructor for the Entity class. It initializes the position, health points, attack points and
-   * sprite of the entity.
+   * sprite of the entity. An entity created without a texture has no sprite, which is used by the
+   * headless simulation.
    *
    * @param x The x-coordinate of the entity.
    * @param y The y-coordinate of the entity.
    * @param hp The health points of the entity.
    * @param atk The attack points of the entity.
-   * @param texture The texture of the entity.
+   * @param texture The texture of the entity, or null for an entity without a sprite.
    */
   public Entity(float x, float y, int hp, int atk, Texture texture) {
     this.x = x;
     this.y = y;
     this.hp = hp;
     this.atk = atk;
-    sprite = new Sprite(texture);
+    sprite = texture == null ? null : new Sprite(texture);
   }
 
   /**
    * This method moves the entity to a new position. The new position must be a multiple of the cell
    * size, as defined in the Config class. This is to ensure that the entity stays within the grid
    * of the game. If the new position is not a multiple of the cell size, an assertion error will be
-   * thrown.
+   * thrown. After the position is changed, the onMove hook is called with the previous position.
    */
   public void move(float x, float y) {
+    float fromX = this.x;
+    float fromY = this.y;
     setX(x);
     setY(y);
+    onMove(fromX, fromY);
   }
 
+  /**
+   * This method is called after the entity has moved. It does nothing by default, subclasses
+   * override it to keep indexes of the entity positions up to date.
+   *
+   * @param fromX The previous x-coordinate of the entity.
+   * @param fromY The previous y-coordinate of the entity.
+   */
+  protected void onMove(float fromX, float fromY) {}
+
+  /**
+   * This method sets the health points of the entity. After the health points are changed, the
+   * onHpChange hook is called with the previous health points.
+   *
+   * @param hp The new health points of the entity.
+   */
+  public void setHp(int hp) {
+    int fromHp = this.hp;
+    this.hp = hp;
+    onHpChange(fromHp);
+  }
+
+  /**
+   * This method is called after the health points of the entity have changed. It does nothing by
+   * default, subclasses override it to keep indexes of the entity health points up to date.
+   *
+   * @param fromHp The previous health points of the entity.
+   */
+  protected void onHpChange(int fromHp) {}
+
   /**
    * This method checks if the entity is dead. An entity is dead if its health points are less than
    * or equal to 0.
@@ -77,11 +110,13 @@ public abstract class Entity implements Serializable {
   }
 
   /**
-   * This method gets the bounding rectangle of the entity.
+   * This method gets the bounding rectangle of the entity. The sprite is moved to the position of
+   * the entity first, so the bound does not depend on when the entity was last rendered.
    *
    * @return The bounding rectangle of the entity.
    */
   public Rectangle getBound() {
+    sprite.setPosition(x, y);
     return sprite.getBoundingRectangle();
   }
 }
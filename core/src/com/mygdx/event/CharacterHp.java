@@ -0,0 +1,40 @@
+package com.mygdx.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This class represents a change of the health points of a character in the game. It contains the
+ * registry id of the character and its new health points. It extends the GameEvent class and adds
+ * additional properties specific to a change of health points. This event is created and dispatched
+ * by the GameState#updateHp method, so a server can send the health points of a character to the
+ * clients that show it, even when they did not get the bullet that hit it. The type property is
+ * inherited from the GameEvent class and is always CHARACTER_HP.
+ *
+ * @author Hades
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CharacterHp extends GameEvent {
+  /** The registry id of the character. */
+  int id;
+
+  /** The new health points of the character. */
+  int hp;
+
+  /**
+   * Constructor for CharacterHp. Initializes the event with the provided id, health points and
+   * type.
+   *
+   * @param id The registry id of the character.
+   * @param hp The new health points of the character.
+   * @param type The type of the event. Always CHARACTER_HP for this class.
+   */
+  public CharacterHp(int id, int hp, Type type) {
+    this.id = id;
+    this.hp = hp;
+    this.type = type;
+  }
+}
@@ -10,7 +10,8 @@ import lombok.Setter;
  * additional properties specific to a character move. This event is created and dispatched by the
  * Character#randomMove and Hero#update methods. The directionX and directionY properties represent
  * the direction of the move in the x and y axes respectively. They can take values between -1 and
- * 1, inclusive. The id property represents the id of the character that moved.
+ * 1, inclusive. The id property represents the registry id of the character that moved, which is a
+ * compact integer so that it can be resolved with an array index by GameState#getCharacter.
  *
  * @author Hades
  */
@@ -24,8 +25,8 @@ public class CharacterMove extends GameEvent {
   /** The direction of the move in the y axis. */
   int directionY;
 
-  /** The id of the character that moved. */
-  String id;
+  /** The registry id of the character that moved. */
+  int id;
 
   /**
    * Constructor for CharacterMove. Initializes the move with the provided x and y directions, id,
@@ -33,10 +34,10 @@ public class CharacterMove extends GameEvent {
    *
    * @param directionX The direction of the move in the x axis.
    * @param directionY The direction of the move in the y axis.
-   * @param id The id of the character that moved.
+   * @param id The registry id of the character that moved.
    * @param type The type of the event.
    */
-  public CharacterMove(int directionX, int directionY, String id, Type type) {
+  public CharacterMove(int directionX, int directionY, int id, Type type) {
     assert directionX >= -1 && directionX <= 1 && directionY >= -1 && directionY <= 1;
 
     this.directionX = directionX;
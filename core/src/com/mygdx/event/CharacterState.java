@@ -0,0 +1,46 @@
+package com.mygdx.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This class represents the state of a character that entered the area of interest of a client. It
+ * contains the registry id, the position and the health points of the character. It is not a game
+ * event: the server sends it to a client instead of the moves the character made while it was
+ * outside the area, so the client can put the character back where it is.
+ *
+ * @author Hades
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CharacterState {
+  /** The registry id of the character. */
+  int id;
+
+  /** The x-coordinate of the character. */
+  float x;
+
+  /** The y-coordinate of the character. */
+  float y;
+
+  /** The health points of the character. */
+  int hp;
+
+  /**
+   * Constructor for CharacterState. Initializes the state with the provided id, position and health
+   * points.
+   *
+   * @param id The registry id of the character.
+   * @param x The x-coordinate of the character.
+   * @param y The y-coordinate of the character.
+   * @param hp The health points of the character.
+   */
+  public CharacterState(int id, float x, float y, int hp) {
+    this.id = id;
+    this.x = x;
+    this.y = y;
+    this.hp = hp;
+  }
+}
@@ -17,13 +17,16 @@ public class GameEvent {
    * Enumeration of the different types of game events. HERO_MOVE: Represents a move event of a hero
    * character. ENEMY_MOVE: Represents a move event of an enemy character. CHARACTER_ATTACK:
    * Represents an attack event of a character. HERO_ATTACK: Represents an attack event of a hero
-   * character.
+   * character. GAME_OVER: Represents the end of the game. CHARACTER_HP: Represents a change of the
+   * health points of a character.
    */
   public enum Type {
     HERO_MOVE,
     ENEMY_MOVE,
     CHARACTER_ATTACK,
     HERO_ATTACK,
+    GAME_OVER,
+    CHARACTER_HP,
   }
 
   /** The type of the game event. */
@@ -0,0 +1,33 @@
+package com.mygdx.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This class represents the end of the game. It contains the winner of the game. It extends the
+ * GameEvent class and adds additional properties specific to the end of the game. This event is
+ * created and dispatched by the GameState#updateHp method when the last living character of a team
+ * dies. The type property is inherited from the GameEvent class and represents the type of the
+ * event. In this case, the type is always GAME_OVER.
+ *
+ * @author Hades
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class GameOver extends GameEvent {
+  /** The winner of the game, either "Hero" or "Enemy". */
+  String winner;
+
+  /**
+   * Constructor for GameOver. Initializes the event with the provided winner and type.
+   *
+   * @param winner The winner of the game, either "Hero" or "Enemy".
+   * @param type The type of the event. Always GAME_OVER for this class.
+   */
+  public GameOver(String winner, Type type) {
+    this.winner = winner;
+    this.type = type;
+  }
+}
@@ -5,10 +5,13 @@ import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.mygdx.config.Config;
+import com.mygdx.metrics.Metrics;
 
 /**
  * This class represents a base screen for the game. It implements the Screen interface. It contains
@@ -17,6 +20,7 @@ import com.mygdx.config.Config;
  * @author Hades
  */
 public class BaseScreen implements Screen {
+  private static final float METRICS_INTERVAL = 0.5f; // The seconds between overlay updates.
 
   protected final MyGdxGame game;
   protected final OrthographicCamera camera;
@@ -24,10 +28,12 @@ public class BaseScreen implements Screen {
   protected Table table;
   protected final Skin skin;
   protected InputMultiplexer multiplexer;
+  private Label metricsLabel; // The latency overlay, null if it is not shown.
+  private float metricsElapsed; // The time in seconds since the overlay was last updated.
 
   /**
    * Constructor for the BaseScreen class. It initializes the game, camera, stage, table, skin and
-   * multiplexer.
+   * multiplexer. If Config.SHOW_METRICS is set, it also adds the latency overlay to the stage.
    *
    * @param game The game instance.
    */
@@ -48,6 +54,13 @@ public class BaseScreen implements Screen {
     Gdx.input.setInputProcessor(multiplexer);
 
     stage.addActor(table);
+
+    if (Config.SHOW_METRICS) {
+      metricsLabel = new Label("", skin);
+      metricsLabel.setAlignment(Align.topLeft);
+      metricsLabel.setPosition(10, stage.getHeight() - 10, Align.topLeft);
+      stage.addActor(metricsLabel);
+    }
   }
 
   @Override
@@ -55,7 +68,8 @@ public class BaseScreen implements Screen {
 
   /**
    * This method is called every frame to render the screen. It clears the screen, updates the
-   * camera, sets the projection matrix for the batch, acts the stage and draws the stage.
+   * camera, sets the projection matrix for the batch, updates the latency overlay, acts the stage
+   * and draws the stage.
    *
    * @param delta The time in seconds since the last frame.
    */
@@ -66,10 +80,32 @@ public class BaseScreen implements Screen {
     camera.update();
     game.batch.setProjectionMatrix(camera.combined);
 
+    updateMetrics(delta);
     stage.act(Gdx.graphics.getDeltaTime());
     stage.draw();
   }
 
+  /**
+   * This method updates the text of the latency overlay twice per second with the p50, p99 and max
+   * of every histogram. It does nothing if the overlay is not shown.
+   *
+   * @param delta The time in seconds since the last frame.
+   */
+  private void updateMetrics(float delta) {
+    if (metricsLabel == null) {
+      return;
+    }
+
+    metricsElapsed += delta;
+    if (metricsElapsed >= METRICS_INTERVAL) {
+      metricsElapsed = 0;
+      metricsLabel.setText(Metrics.getInstance().summary());
+      metricsLabel.pack();
+      metricsLabel.setPosition(10, stage.getHeight() - 10, Align.topLeft);
+      metricsLabel.toFront();
+    }
+  }
+
   /**
    * This method is called when the screen is resized. It updates the viewport of the stage.
    *
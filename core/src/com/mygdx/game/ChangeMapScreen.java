@@ -1,6 +1,5 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -8,6 +7,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 
 /**
  * This class represents the screen for changing the map size. It extends the BaseScreen class. It
@@ -110,7 +111,7 @@ public class ChangeMapScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("SettingScreen", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "SettingScreen start");
   }
 
   /**
@@ -121,6 +122,6 @@ public class ChangeMapScreen extends BaseScreen {
   public void dispose() {
     super.dispose();
 
-    Gdx.app.log("SettingScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "SettingScreen end");
   }
 }
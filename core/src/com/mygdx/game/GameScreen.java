@@ -15,12 +15,18 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.TimeUtils;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.character.Enemy;
 import com.mygdx.character.Hero;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameController;
+import com.mygdx.controller.GameRandom;
+import com.mygdx.event.GameOver;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import com.mygdx.map.Map;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
@@ -58,7 +64,7 @@ public class GameScreen extends BaseScreen {
    * @param isHeadless whether the game is running in headless mode
    * @param heroes the list of heroes
    * @param enemies the list of enemies
-   * @param bullets the list of bullets
+   * @param bullets the store of bullets
    * @param map the game map
    */
   public GameScreen(
@@ -66,8 +72,32 @@ public class GameScreen extends BaseScreen {
       boolean isHeadless,
       CopyOnWriteArrayList<Hero> heroes,
       CopyOnWriteArrayList<Enemy> enemies,
-      CopyOnWriteArrayList<Bullet> bullets,
+      BulletStore bullets,
       Map map) {
+    this(game, isHeadless, heroes, enemies, bullets, map, new GameRandom().getSeed());
+  }
+
+  /**
+   * The constructor initializes the game screen with the seed of the match, which is the seed a
+   * loaded game was saved with. It sets up the game entities, the game map, and the game state. It
+   * also sets up the user interface and starts the game.
+   *
+   * @param game the game instance
+   * @param isHeadless whether the game is running in headless mode
+   * @param heroes the list of heroes
+   * @param enemies the list of enemies
+   * @param bullets the store of bullets
+   * @param map the game map
+   * @param seed the seed of the match
+   */
+  public GameScreen(
+      MyGdxGame game,
+      boolean isHeadless,
+      CopyOnWriteArrayList<Hero> heroes,
+      CopyOnWriteArrayList<Enemy> enemies,
+      BulletStore bullets,
+      Map map,
+      long seed) {
     super(game);
 
     if (isHeadless) {
@@ -76,7 +106,7 @@ public class GameScreen extends BaseScreen {
       shapeRenderer = new ShapeRenderer();
     }
 
-    gameController = new GameController(heroes, enemies, bullets, map);
+    gameController = new GameController(heroes, enemies, bullets, map, seed);
 
     bgm = Gdx.audio.newMusic(Gdx.files.internal(Config.BGM_PATH));
     bgm.setLooping(true);
@@ -86,7 +116,7 @@ public class GameScreen extends BaseScreen {
 
     currentHero = gameController.getGameState().getHeroes().get(0);
     currentHero.setAI(false);
-    multiplexer.addProcessor(new InputHandler(currentHero, camera));
+    multiplexer.addProcessor(new InputHandler(gameController, currentHero, camera));
 
     gameController.start();
   }
@@ -186,7 +216,10 @@ public class GameScreen extends BaseScreen {
     stage.addActor(saveButton);
   }
 
-  /** This method saves the game. It serializes the game entities and the game map to a file. */
+  /**
+   * This method saves the game. It serializes the game entities, the game map and the seed of the
+   * match to a file.
+   */
   private void saveGame() {
     TextButton okButton = new TextButton("OK", skin);
     okButton.addListener(
@@ -203,8 +236,9 @@ public class GameScreen extends BaseScreen {
       ObjectOutputStream out = new ObjectOutputStream(fileOut);
       out.writeObject(gameController.getGameState().getHeroes());
       out.writeObject(gameController.getGameState().getEnemies());
-      out.writeObject(gameController.getGameState().getBullets());
+      out.writeObject(gameController.getGameState().getBulletStore());
       out.writeObject(gameController.getGameState().getMap());
+      out.writeObject(gameController.getGameState().getSeed());
       out.close();
       fileOut.close();
       new Dialog("Success", skin)
@@ -228,7 +262,7 @@ public class GameScreen extends BaseScreen {
       try {
         out.writeObject(gameController.getGameState().getHeroes());
         out.writeObject(gameController.getGameState().getEnemies());
-        out.writeObject(gameController.getGameState().getBullets());
+        out.writeObject(gameController.getGameState().getBulletStore());
         out.writeObject(gameController.getGameState().getMap());
         out.flush();
         out.reset();
@@ -247,7 +281,7 @@ public class GameScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("GameScreen", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "GameScreen start");
   }
 
   /**
@@ -260,6 +294,7 @@ public class GameScreen extends BaseScreen {
    */
   @Override
   public void render(float delta) {
+    long begin = System.nanoTime();
     record();
 
     super.render(delta);
@@ -274,20 +309,20 @@ public class GameScreen extends BaseScreen {
 
     stage.act(delta);
     stage.draw();
+    Metrics.getInstance().record(Probe.RENDER, begin);
 
     checkGameOver();
   }
 
   /**
-   * This method checks if the game is over. The game is over if all heroes or all enemies are dead.
+   * This method checks if the game is over. The game is over if all heroes or all enemies are dead,
+   * which the game state records with a GameOver event when the last character of a team dies.
    */
   private void checkGameOver() {
-    if (gameController.isHeroEmpty()) {
-      dispose();
-      game.setScreen(new ResultsScreen(game, "Enemy"));
-    } else if (gameController.isEnemyEmpty()) {
+    GameOver gameOver = gameController.getGameState().getGameOver();
+    if (gameOver != null) {
       dispose();
-      game.setScreen(new ResultsScreen(game, "Hero"));
+      game.setScreen(new ResultsScreen(game, gameOver.getWinner()));
     }
   }
 
@@ -306,7 +341,7 @@ public class GameScreen extends BaseScreen {
 
     gameController.getGameState().getEnemies().forEach(enemy -> enemy.render(game.batch));
 
-    gameController.getGameState().getBullets().forEach(bullet -> bullet.render(game.batch));
+    gameController.getGameState().getBulletStore().render(game.batch);
   }
 
   /**
@@ -331,24 +366,30 @@ public class GameScreen extends BaseScreen {
         fileOut.close();
       }
     } catch (IOException e) {
-      Gdx.app.log("GameScreen", "error when close file: " + e.getMessage());
+      GameLogger.getInstance()
+          .error(Category.SCREEN, "GameScreen error when close file: {}", e.getMessage());
       Gdx.app.exit();
     }
 
-    Gdx.app.log("GameScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "GameScreen end");
   }
 
   /**
    * This class handles user input. It implements the InputProcessor interface and overrides its
-   * methods to handle key presses and touch events.
+   * methods to handle key presses and touch events. The moves and attacks of the hero are not done
+   * on the render thread, they are submitted as commands to the game controller and done by the
+   * simulation thread.
    */
   public static class InputHandler implements InputProcessor {
     private long lastTimeMove = TimeUtils.millis();
     private long lastTimeAttack = TimeUtils.millis();
+    private final GameController gameController;
     private final Hero currentHero;
     private final OrthographicCamera camera;
 
-    public InputHandler(Hero currentHero, OrthographicCamera camera) {
+    public InputHandler(
+        GameController gameController, Hero currentHero, OrthographicCamera camera) {
+      this.gameController = gameController;
       this.currentHero = currentHero;
       this.camera = camera;
     }
@@ -381,7 +422,9 @@ public class GameScreen extends BaseScreen {
           break;
       }
 
-      currentHero.update((int) (dx * Config.CELL_SIZE), (int) (dy * Config.CELL_SIZE));
+      int moveX = (int) (dx * Config.CELL_SIZE);
+      int moveY = (int) (dy * Config.CELL_SIZE);
+      gameController.submit(() -> currentHero.update(moveX, moveY));
 
       return false;
     }
@@ -406,7 +449,9 @@ public class GameScreen extends BaseScreen {
 
       Vector3 v3 = new Vector3(screenX, screenY, 0);
       camera.unproject(v3);
-      currentHero.update(v3.x, v3.y);
+      float x = v3.x;
+      float y = v3.y;
+      gameController.submit(() -> currentHero.update(x, y));
 
       return false;
     }
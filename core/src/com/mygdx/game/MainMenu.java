@@ -8,6 +8,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 
 /**
  * This class represents the main menu screen of the game. It extends the BaseScreen class. It
@@ -104,7 +106,7 @@ public class MainMenu extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("MainMenu", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "MainMenu start");
   }
 
   /**
@@ -115,6 +117,6 @@ public class MainMenu extends BaseScreen {
   public void dispose() {
     super.dispose();
 
-    Gdx.app.log("MainMenu", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "MainMenu end");
   }
 }
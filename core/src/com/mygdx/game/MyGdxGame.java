@@ -2,12 +2,17 @@ package com.mygdx.game;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.metrics.Metrics;
+import java.io.IOException;
 
 /**
  * This class represents the main game application. It extends the Game class from the libGDX
  * framework. It contains a SpriteBatch that is used to draw 2D images. It sets the screen to the
- * main menu screen when the application is created. It also disposes the SpriteBatch when the
- * application is disposed.
+ * main menu screen when the application is created. It also disposes the SpriteBatch and writes the
+ * latency histograms when the application is disposed.
  *
  * @author Hades
  */
@@ -33,9 +38,21 @@ public class MyGdxGame extends Game {
     super.render();
   }
 
-  /** This method is called when the application is disposed. It disposes the SpriteBatch. */
+  /**
+   * This method is called when the application is disposed. It disposes the SpriteBatch, writes the
+   * latency histograms to Config.METRICS_PATH and waits for the logger to write the last messages,
+   * since its writer thread does not keep the process alive.
+   */
   @Override
   public void dispose() {
     batch.dispose();
+
+    try {
+      Metrics.getInstance().dump(Config.METRICS_PATH);
+    } catch (IOException e) {
+      GameLogger.getInstance()
+          .error(Category.GAME, "failed to write {}: {}", Config.METRICS_PATH, e.getMessage());
+    }
+    GameLogger.getInstance().flush(1000);
   }
 }
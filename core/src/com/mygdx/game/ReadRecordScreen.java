@@ -1,31 +1,33 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.character.Enemy;
 import com.mygdx.character.Hero;
 import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import com.mygdx.map.Map;
-
 import java.io.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * This class represents the screen for reading game records. It extends the BaseScreen class. It
- * contains a list of heroes, enemies, and bullets, and a map. It also contains an enumeration for
- * the game action (load game or view replay). It has a label and a path for the game action. It has
- * methods for initializing the fields, reading the record, and showing and disposing the screen.
+ * contains a list of heroes and enemies, a store of bullets, and a map. It also contains an
+ * enumeration for the game action (load game or view replay). It has a label and a path for the
+ * game action. It has methods for initializing the fields, reading the record, and showing and
+ * disposing the screen.
  *
  * @author Hades
  */
 public class ReadRecordScreen extends BaseScreen {
   CopyOnWriteArrayList<Hero> heroList;
   CopyOnWriteArrayList<Enemy> enemyList;
-  CopyOnWriteArrayList<Bullet> bulletList;
+  BulletStore bulletStore;
   Map map;
+  long seed; // The seed of the match.
 
   /** This enumeration represents the game action. It can be either load game or view replay. */
   public enum GameAction {
@@ -75,7 +77,8 @@ public class ReadRecordScreen extends BaseScreen {
           public void changed(ChangeEvent event, Actor actor) {
             dispose();
             if ("Load Game".equals(labelText)) {
-              game.setScreen(new GameScreen(game, false, heroList, enemyList, bulletList, map));
+              game.setScreen(
+                  new GameScreen(game, false, heroList, enemyList, bulletStore, map, seed));
             } else {
               game.setScreen(new ReplayScreen(game, filaPath[0]));
             }
@@ -128,7 +131,8 @@ public class ReadRecordScreen extends BaseScreen {
 
   /**
    * This method reads the record from the file. It reads the list of heroes, enemies, and bullets,
-   * and the map from the file. It also changes the configuration based on the map size.
+   * the map and the seed of the match from the file. It also changes the configuration based on the
+   * map size.
    *
    * @param filename The name of the file from which the record will be read.
    * @throws IOException If an I/O error occurs.
@@ -139,8 +143,9 @@ public class ReadRecordScreen extends BaseScreen {
     ObjectInputStream in = new ObjectInputStream(fileIn);
     heroList = (CopyOnWriteArrayList<Hero>) in.readObject();
     enemyList = (CopyOnWriteArrayList<Enemy>) in.readObject();
-    bulletList = (CopyOnWriteArrayList<Bullet>) in.readObject();
+    bulletStore = (BulletStore) in.readObject();
     map = (Map) in.readObject();
+    seed = (Long) in.readObject();
     in.close();
     fileIn.close();
 
@@ -153,7 +158,7 @@ public class ReadRecordScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("LoadGameScreen", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "LoadGameScreen start");
   }
 
   /**
@@ -164,6 +169,6 @@ public class ReadRecordScreen extends BaseScreen {
   public void dispose() {
     super.dispose();
 
-    Gdx.app.log("LoadGameScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "LoadGameScreen end");
   }
 }
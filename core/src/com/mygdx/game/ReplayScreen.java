@@ -6,10 +6,12 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.character.Enemy;
 import com.mygdx.character.Hero;
 import com.mygdx.controller.GameController;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import com.mygdx.map.Map;
 import java.io.EOFException;
 import java.io.FileInputStream;
@@ -52,7 +54,8 @@ public class ReplayScreen extends BaseScreen {
       fileIn = new FileInputStream(filePath);
       in = new ObjectInputStream(fileIn);
     } catch (Exception e) {
-      Gdx.app.log("ReplayScreen", "error when open file: " + e.getMessage());
+      GameLogger.getInstance()
+          .error(Category.SCREEN, "ReplayScreen error when open file: {}", e.getMessage());
       Gdx.app.exit();
     }
   }
@@ -67,7 +70,7 @@ public class ReplayScreen extends BaseScreen {
     try {
       gameController.getGameState().setHeroes((CopyOnWriteArrayList<Hero>) in.readObject());
       gameController.getGameState().setEnemies((CopyOnWriteArrayList<Enemy>) in.readObject());
-      gameController.getGameState().setBullets((CopyOnWriteArrayList<Bullet>) in.readObject());
+      gameController.getGameState().setBulletStore((BulletStore) in.readObject());
       gameController.getGameState().setMap((Map) in.readObject());
       gameController.loadTexture();
     } catch (EOFException e) {
@@ -76,7 +79,7 @@ public class ReplayScreen extends BaseScreen {
           new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-              System.out.println("ok");
+              GameLogger.getInstance().debug(Category.SCREEN, "ReplayScreen ok");
               dispose();
               game.setScreen(new MainMenu(game));
             }
@@ -84,7 +87,8 @@ public class ReplayScreen extends BaseScreen {
       new Dialog("End", skin).text("Game Replay end").button(okButton).show(stage);
       isEnd = true;
     } catch (Exception e) {
-      Gdx.app.log("ReplayScreen", "error when read file: " + e.getMessage());
+      GameLogger.getInstance()
+          .error(Category.SCREEN, "ReplayScreen error when read file: {}", e.getMessage());
       Gdx.app.exit();
     }
   }
@@ -111,7 +115,7 @@ public class ReplayScreen extends BaseScreen {
     game.batch.begin();
     gameController.getGameState().getHeroes().forEach(hero -> hero.render(game.batch));
     gameController.getGameState().getEnemies().forEach(enemy -> enemy.render(game.batch));
-    gameController.getGameState().getBullets().forEach(bullet -> bullet.render(game.batch));
+    gameController.getGameState().getBulletStore().render(game.batch);
     game.batch.end();
 
     stage.act(delta);
@@ -124,7 +128,7 @@ public class ReplayScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("ReplayScreen", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "ReplayScreen start");
   }
 
   /**
@@ -139,12 +143,13 @@ public class ReplayScreen extends BaseScreen {
       fileIn.close();
       in.close();
     } catch (IOException e) {
-      Gdx.app.log("ReplayScreen", "error when close file: " + e.getMessage());
+      GameLogger.getInstance()
+          .error(Category.SCREEN, "ReplayScreen error when close file: {}", e.getMessage());
       Gdx.app.exit();
     }
 
     shapeRenderer.dispose();
 
-    Gdx.app.log("ReplayScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "ReplayScreen end");
   }
 }
@@ -9,6 +9,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 
 /**
  * This class represents the results screen of the game. It extends the BaseScreen class. It
@@ -81,7 +83,7 @@ public class ResultsScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("ResultsScreen", "start, winner: " + winner);
+    GameLogger.getInstance().info(Category.SCREEN, "ResultsScreen start, winner: {}", winner);
   }
 
   /**
@@ -92,6 +94,6 @@ public class ResultsScreen extends BaseScreen {
   public void dispose() {
     super.dispose();
 
-    Gdx.app.log("ResultsScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "ResultsScreen end");
   }
 }
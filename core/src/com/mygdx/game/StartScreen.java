@@ -1,10 +1,11 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import com.mygdx.nio.GameClient;
 import com.mygdx.nio.GameServer;
 
@@ -69,7 +70,8 @@ public class StartScreen extends BaseScreen {
             try {
               game.setScreen(new GameServer(game, Config.SERVER_PORT));
             } catch (Exception e) {
-              e.printStackTrace();
+              GameLogger.getInstance()
+                  .error(Category.NETWORK, "StartScreen failed to start the server", e);
             }
           }
         });
@@ -92,7 +94,7 @@ public class StartScreen extends BaseScreen {
    */
   @Override
   public void show() {
-    Gdx.app.log("StartScreen", "start");
+    GameLogger.getInstance().info(Category.SCREEN, "StartScreen start");
   }
 
   /**
@@ -103,6 +105,6 @@ public class StartScreen extends BaseScreen {
   public void dispose() {
     super.dispose();
 
-    Gdx.app.log("StartScreen", "end");
+    GameLogger.getInstance().info(Category.SCREEN, "StartScreen end");
   }
 }
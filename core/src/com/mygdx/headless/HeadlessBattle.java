@@ -0,0 +1,120 @@
+package com.mygdx.headless;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameController;
+import com.mygdx.controller.GameState;
+import com.mygdx.controller.WorldTicker;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Level;
+import com.mygdx.metrics.Metrics;
+
+/**
+ * This class runs a large battle without graphics, audio or screens, as a stress target for the
+ * simulation. It starts a headless libGDX application only to provide Gdx.app and Gdx.files,
+ * creates a headless GameController on a large map and advances its WorldTicker as fast as possible
+ * on the calling thread. The characters move along flow fields, which are meant for large maps. At
+ * the end it reports the number of ticks per second, the tick durations and the latency histograms
+ * of the instrumented parts.
+ *
+ * <p>The arguments are, in order and all optional: the number of rows, the number of columns, the
+ * number of heroes, the number of enemies, the number of ticks, the number of threads that update
+ * the bullets and the seed of the match. The defaults are a 1000x1000 map with 10000 heroes and
+ * 10000 enemies, advanced for 2000 ticks with one bullet thread per available processor and the
+ * seed 1. A run with the same arguments simulates the same match, and it prints the checksum of the
+ * final state, so two runs can be compared.
+ *
+ * @author Hades
+ */
+public class HeadlessBattle {
+  private static final int REPORT_TICKS = 200; // The number of ticks between progress reports.
+
+  /**
+   * This method runs the battle.
+   *
+   * @param args The rows, columns, heroes, enemies, ticks, bullet threads and seed, all optional.
+   */
+  public static void main(String[] args) {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int cols = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int heroes = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+    int enemies = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+    long ticks = args.length > 4 ? Long.parseLong(args[4]) : 2000;
+    int threads =
+        args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+    long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+
+    HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+    config.updatesPerSecond = 1;
+    new HeadlessApplication(new ApplicationAdapter() {}, config);
+    Gdx.app.setLogLevel(Application.LOG_ERROR);
+    GameLogger.getInstance().setLevel(Level.ERROR);
+
+    Config.changeConfig(rows, cols);
+    Config.changeHeroCount(heroes);
+    Config.changeEnemyCount(enemies);
+    Config.changeBulletParallelism(threads);
+    Config.changeFlowField(true);
+
+    long begin = System.nanoTime();
+    GameController gameController = new GameController(true, seed);
+    System.out.printf(
+        "map %dx%d, %d heroes, %d enemies, %d bullet threads, seed %d, set up in %d ms%n",
+        rows, cols, heroes, enemies, threads, seed, (System.nanoTime() - begin) / 1_000_000);
+
+    System.out.println(run(gameController, ticks));
+    System.out.printf("checksum %016x%n", gameController.getGameState().checksum());
+    System.out.print(Metrics.getInstance().summary());
+    GameLogger.getInstance().flush(1000);
+    Gdx.app.exit();
+  }
+
+  /**
+   * This method advances the world of a game controller for a number of ticks, or until the game is
+   * over, and prints a progress line every REPORT_TICKS ticks.
+   *
+   * @param gameController The game controller to advance.
+   * @param ticks The maximum number of ticks.
+   * @return The summary of the run.
+   */
+  public static String run(GameController gameController, long ticks) {
+    GameState gameState = gameController.getGameState();
+    WorldTicker worldTicker = gameController.getWorldTicker();
+    worldTicker.setHeroEnabled(true);
+    worldTicker.setEnemyEnabled(true);
+    worldTicker.setBulletEnabled(true);
+
+    long begin = System.nanoTime();
+    long tick = 0;
+    while (tick < ticks && gameState.getGameOver() == null) {
+      worldTicker.run();
+      tick++;
+
+      if (tick % REPORT_TICKS == 0) {
+        System.out.printf(
+            "tick %d: %d heroes, %d enemies, %d bullets, last tick %.2f ms%n",
+            tick,
+            gameState.getHeroAlive(),
+            gameState.getEnemyAlive(),
+            gameState.getBulletStore().size(),
+            worldTicker.getLastTickNanos() / 1e6);
+      }
+    }
+    double seconds = Math.max(1, System.nanoTime() - begin) / 1e9;
+
+    return String.format(
+        "%d ticks in %.2f s: %.1f ticks/s, average tick %.3f ms, max tick %.3f ms%s",
+        tick,
+        seconds,
+        tick / seconds,
+        worldTicker.getAverageTickNanos() / 1e6,
+        worldTicker.getMaxTickNanos() / 1e6,
+        gameState.getGameOver() == null
+            ? ""
+            : ", " + gameState.getGameOver().getWinner() + " wins");
+  }
+}
@@ -0,0 +1,306 @@
+package com.mygdx.headless;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.RandomXS128;
+import com.mygdx.config.Config;
+import com.mygdx.controller.WorldTicker;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.HeroAttack;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Level;
+import com.mygdx.metrics.LatencyHistogram;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.nio.EventCodec;
+import com.mygdx.nio.FrameReader;
+import com.mygdx.nio.Room;
+import com.mygdx.nio.RoomServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a load test of the RoomServer. It starts a RoomServer on a free port, connects as
+ * many bots as the rooms can hold, and lets them play for a while: every bot reads the frames of
+ * its match, and once its match has started it moves or attacks with its hero every MOVE_MILLIS
+ * milliseconds. All the bots run on the calling thread with one Selector, and they are connected
+ * CONNECT_BATCH at a time between the reads, so the bots that joined are served while the others
+ * connect. At the end it reports how many clients joined and how many matches started and ended,
+ * the number of events received by the bots, the join latencies, the tick durations of the open
+ * rooms and the latency histograms of the instrumented parts, among which the selector loop of the
+ * server.
+ *
+ * <p>The arguments are, in order and all optional: the number of rooms, the number of seconds, the
+ * number of threads that run the world tickers, the number of rows and columns of the map and the
+ * radius of the areas of interest of the clients. The defaults are 200 rooms for 30 seconds with
+ * one thread per available processor, on the map of Config, with areas that cover the whole map.
+ * The characters move along flow fields, as on the large maps the test is meant for.
+ *
+ * @author Hades
+ */
+public class ServerLoad {
+  private static final long MOVE_MILLIS = 500; // The time between two actions of a bot.
+  private static final int CONNECT_BATCH = 16; // The number of bots connected per loop.
+
+  /**
+   * This method runs the load test.
+   *
+   * @param args The rooms, seconds, threads, map size and interest radius, all optional.
+   * @throws IOException If an I/O error occurs.
+   */
+  public static void main(String[] args) throws IOException {
+    int rooms = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    long seconds = args.length > 1 ? Long.parseLong(args[1]) : 30;
+    int threads =
+        args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    int size = args.length > 3 ? Integer.parseInt(args[3]) : (int) Config.ROWS;
+    int radius = args.length > 4 ? Integer.parseInt(args[4]) : Config.INTEREST_RADIUS;
+
+    HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+    config.updatesPerSecond = 1;
+    new HeadlessApplication(new ApplicationAdapter() {}, config);
+    Gdx.app.setLogLevel(Application.LOG_ERROR);
+    GameLogger.getInstance().setLevel(Level.ERROR);
+
+    Config.changeConfig(size, size);
+    Config.changeInterestRadius(radius);
+    Config.changeFlowField(true);
+    RoomServer server = new RoomServer(0, rooms, threads);
+    new Thread(server).start();
+    System.out.printf(
+        "%d rooms of %d clients, %d simulation threads, %d s, map %dx%d, interest radius %d%n",
+        rooms, Config.MAX_CONNECTIONS, threads, seconds, size, size, radius);
+
+    System.out.println(run(server, rooms * Config.MAX_CONNECTIONS, seconds * 1000));
+    System.out.print(Metrics.getInstance().summary());
+    server.stop();
+    Gdx.app.exit();
+  }
+
+  /**
+   * This method connects bots to a running server and lets them play for a while.
+   *
+   * @param server The server to connect to.
+   * @param clients The number of bots.
+   * @param millis The duration of the test in milliseconds.
+   * @return The summary of the test.
+   * @throws IOException If an I/O error occurs.
+   */
+  public static String run(RoomServer server, int clients, long millis) throws IOException {
+    RandomXS128 random = new RandomXS128(1);
+    LatencyHistogram joins = new LatencyHistogram();
+    List<Bot> bots = new ArrayList<>();
+    long begin = System.nanoTime();
+
+    try (Selector selector = Selector.open()) {
+      long end = System.currentTimeMillis() + millis;
+      long now;
+      while ((now = System.currentTimeMillis()) < end) {
+        for (int i = 0; i < CONNECT_BATCH && bots.size() < clients; i++) {
+          bots.add(new Bot(selector, server.getPort(), joins));
+        }
+
+        selector.select(Math.max(1, Math.min(MOVE_MILLIS / 10, end - now)));
+        for (SelectionKey key : selector.selectedKeys()) {
+          ((Bot) key.attachment()).read();
+        }
+        selector.selectedKeys().clear();
+
+        for (Bot bot : bots) {
+          bot.act(now, random);
+        }
+      }
+
+      for (Bot bot : bots) {
+        bot.channel.close();
+      }
+    }
+    double seconds = (System.nanoTime() - begin) / 1e9;
+
+    int joined = 0;
+    long snapshotBytes = 0;
+    int started = 0;
+    int over = 0;
+    long events = 0;
+    long enters = 0;
+    long leaves = 0;
+    long bytes = 0;
+    for (Bot bot : bots) {
+      joined += bot.joined ? 1 : 0;
+      snapshotBytes += bot.snapshotBytes;
+      started += bot.started ? 1 : 0;
+      over += bot.over ? 1 : 0;
+      events += bot.events;
+      enters += bot.enters;
+      leaves += bot.leaves;
+      bytes += bot.bytes;
+    }
+    long averageTick = 0;
+    long maxTick = 0;
+    List<Room> rooms = server.getRooms();
+    for (Room room : rooms) {
+      WorldTicker worldTicker = room.getGameController().getWorldTicker();
+      averageTick += worldTicker.getAverageTickNanos();
+      maxTick = Math.max(maxTick, worldTicker.getMaxTickNanos());
+    }
+
+    return String.format(
+        "%d/%d clients joined, %d/%d matches started, %d matches over, "
+            + "%d events received (%.0f/s), %d enters, %d leaves, %.1f MB received, "
+            + "join p50 %.1f ms, p99 %.1f ms, max %.1f ms, snapshot %d bytes deflated, "
+            + "%d rooms open, average tick %.3f ms, max tick %.3f ms",
+        joined,
+        clients,
+        started / Config.MAX_CONNECTIONS,
+        clients / Config.MAX_CONNECTIONS,
+        over / Config.MAX_CONNECTIONS,
+        events,
+        events / seconds,
+        enters,
+        leaves,
+        bytes / 1e6,
+        joins.getPercentile(50) / 1e6,
+        joins.getPercentile(99) / 1e6,
+        joins.getMax() / 1e6,
+        joined == 0 ? 0 : snapshotBytes / joined,
+        rooms.size(),
+        rooms.isEmpty() ? 0 : averageTick / rooms.size() / 1e6,
+        maxTick / 1e6);
+  }
+
+  /**
+   * This class is a client of the load test. It reads the frames of its match with a FrameReader
+   * and counts them, and it sends the moves and the attacks of its hero.
+   */
+  private static class Bot {
+    private final SocketChannel channel;
+    private final FrameReader reader = new FrameReader();
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(64);
+    private final LatencyHistogram joins; // The join latencies of all the bots.
+    private final long connectNanos; // The time the bot connected.
+    private int player = -1; // The index of the hero of the bot.
+    private boolean joined = false; // Whether the whole game state has been received.
+    private long snapshotBytes = 0; // The number of deflated bytes of the game state.
+    private boolean started = false;
+    private boolean over = false;
+    private boolean closed = false;
+    private long events = 0; // The number of game events received.
+    private long enters = 0; // The number of characters that entered the area of interest.
+    private long leaves = 0; // The number of characters that left the area of interest.
+    private long bytes = 0; // The number of bytes received.
+    private long nextAction = 0; // The time of the next action of the bot.
+
+    /**
+     * Constructor for Bot. It connects to the server and registers the channel with a selector.
+     *
+     * @param selector The selector of the bots.
+     * @param port The port of the server.
+     * @param joins The join latencies of all the bots.
+     * @throws IOException If an I/O error occurs.
+     */
+    Bot(Selector selector, int port, LatencyHistogram joins) throws IOException {
+      this.joins = joins;
+      connectNanos = System.nanoTime();
+      channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+      channel.configureBlocking(false);
+      channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    /**
+     * This method reads the bytes that are available and handles the whole frames.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    void read() throws IOException {
+      int read = reader.read(channel);
+      if (read == -1) {
+        closed = true;
+        channel.close();
+        return;
+      }
+      bytes += read;
+
+      ByteBuffer buffer = reader.getBuffer();
+      int type;
+      while ((type = reader.next()) >= 0) {
+        switch (type) {
+          case EventCodec.JOIN:
+            player = EventCodec.decodeJoin(buffer);
+            break;
+          case EventCodec.SNAPSHOT:
+            snapshotBytes += EventCodec.decodeSnapshot(buffer).remaining();
+            break;
+          case EventCodec.SNAPSHOT_END:
+            EventCodec.skip(buffer);
+            joined = true;
+            joins.record(System.nanoTime() - connectNanos);
+            break;
+          case EventCodec.START:
+            EventCodec.skip(buffer);
+            started = true;
+            break;
+          case EventCodec.INTEREST:
+            EventCodec.decodeInterest(buffer);
+            break;
+          case EventCodec.ENTER:
+            EventCodec.decodeEnter(buffer);
+            enters++;
+            break;
+          case EventCodec.LEAVE:
+            EventCodec.decodeLeave(buffer);
+            leaves++;
+            break;
+          default:
+            GameEvent event = EventCodec.decode(buffer);
+            events++;
+            over |= event.getType() == GameEvent.Type.GAME_OVER;
+            break;
+        }
+      }
+    }
+
+    /**
+     * This method moves or attacks with the hero of the bot, if its match is running and its last
+     * action is old enough.
+     *
+     * @param now The current time in milliseconds.
+     * @param random The random stream of the bots.
+     * @throws IOException If an I/O error occurs.
+     */
+    void act(long now, RandomXS128 random) throws IOException {
+      if (!started || over || closed || now < nextAction) {
+        return;
+      }
+      nextAction = now + MOVE_MILLIS;
+
+      sendBuffer.clear();
+      if (random.nextInt(4) == 0) {
+        EventCodec.encode(
+            new HeroAttack(
+                player,
+                random.nextFloat() * Config.MAP_WIDTH,
+                random.nextFloat() * Config.MAP_HEIGHT,
+                GameEvent.Type.HERO_ATTACK),
+            sendBuffer);
+      } else {
+        EventCodec.encode(
+            new CharacterMove(
+                random.nextInt(3) - 1, random.nextInt(3) - 1, player, GameEvent.Type.HERO_MOVE),
+            sendBuffer);
+      }
+      sendBuffer.flip();
+      while (sendBuffer.hasRemaining()) {
+        channel.write(sendBuffer);
+      }
+    }
+  }
+}
@@ -0,0 +1,430 @@
+package com.mygdx.log;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is the logger of the game. A message has a level and a category, and it is only kept
+ * if its level is at least the level of its category, which is checked before anything else is
+ * done. A kept message is not formatted by the caller: its format and arguments are put into a
+ * preallocated slot of a ring buffer, and a background writer thread formats the message and writes
+ * it to the output. So the simulation, render and network threads never format strings for
+ * discarded messages and never block on the output. If the ring buffer is full, the message is
+ * dropped and counted instead of waiting for the writer.
+ *
+ * <p>The format of a message uses {} as the placeholder of the next argument. The arguments are
+ * formatted later on the writer thread, so only immutable values like strings and numbers should be
+ * passed. The logger uses the Singleton pattern in the same way as the SoundManager.
+ *
+ * @author Hades
+ */
+public class GameLogger {
+  /** The levels of the messages, from the most to the least verbose. */
+  public enum Level {
+    DEBUG,
+    INFO,
+    ERROR,
+    NONE
+  }
+
+  /** The categories of the messages, each category has its own level. */
+  public enum Category {
+    GAME,
+    SCREEN,
+    CHARACTER,
+    BULLET,
+    MAP,
+    NETWORK
+  }
+
+  private static final int DEFAULT_CAPACITY = 1 << 14; // The default number of slots, a power of 2.
+  private static final long FLUSH_NANOS = 100_000; // How long flush sleeps between its checks.
+
+  private final Slot[] slots; // The ring buffer of the messages.
+  private final int mask; // The mask that maps a sequence number to a slot.
+  private final AtomicLong claimed = new AtomicLong(); // The next sequence number to claim.
+  private final AtomicLong written = new AtomicLong(); // The next sequence number to write.
+  private final AtomicLong dropped = new AtomicLong(); // The number of dropped messages.
+  private volatile Level[] levels; // The level of each category, replaced as a whole.
+  private final PrintStream out; // The output of the writer.
+  private final SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+  private final StringBuilder line = new StringBuilder(); // The line being formatted.
+  private final Thread writer; // The thread that writes the messages.
+  private volatile boolean waiting; // Whether the writer is parked until a message is published.
+
+  /**
+   * This class is a slot of the ring buffer. A slot is published by writing its sequence number
+   * last, so the writer sees the other fields once it sees the sequence number.
+   */
+  private static class Slot {
+    volatile long sequence = -1; // The sequence number of the published message in the slot.
+    long claimed; // The sequence number of the message being filled in.
+    long millis; // The time of the message.
+    Level level;
+    Category category;
+    String thread; // The name of the thread that logged the message.
+    String format;
+    Object[] args = new Object[2]; // The arguments, grown for messages with more arguments.
+    int argCount;
+    Throwable throwable;
+
+    /** This method publishes the message in the slot to the writer. */
+    void publish() {
+      sequence = claimed;
+    }
+  }
+
+  /**
+   * Constructor for GameLogger. It creates the ring buffer, sets the level of every category to
+   * INFO and starts the writer thread.
+   *
+   * @param capacity The number of slots of the ring buffer, rounded up to a power of 2.
+   * @param out The output of the messages.
+   */
+  public GameLogger(int capacity, PrintStream out) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    slots = new Slot[size];
+    for (int i = 0; i < size; i++) {
+      slots[i] = new Slot();
+    }
+    mask = size - 1;
+    this.out = out;
+    levels = new Level[Category.values().length];
+    Arrays.fill(levels, Level.INFO);
+
+    writer = new Thread(this::write, "GameLogger");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * This class holds the instance of the GameLogger. It is used to implement the Singleton pattern.
+   */
+  private static class GameLoggerHolder {
+    private static final GameLogger INSTANCE = new GameLogger(DEFAULT_CAPACITY, System.out);
+  }
+
+  /**
+   * Returns the instance of the GameLogger. If the instance does not exist, it is created.
+   *
+   * @return The instance of the GameLogger
+   */
+  public static GameLogger getInstance() {
+    return GameLoggerHolder.INSTANCE;
+  }
+
+  /**
+   * This method sets the level of a category.
+   *
+   * @param category The category.
+   * @param level The lowest level of the messages that are kept.
+   */
+  public synchronized void setLevel(Category category, Level level) {
+    Level[] copy = levels.clone();
+    copy[category.ordinal()] = level;
+    levels = copy;
+  }
+
+  /**
+   * This method sets the level of every category.
+   *
+   * @param level The lowest level of the messages that are kept.
+   */
+  public synchronized void setLevel(Level level) {
+    Level[] copy = new Level[levels.length];
+    Arrays.fill(copy, level);
+    levels = copy;
+  }
+
+  /**
+   * This method checks if messages of a level and a category are kept. Callers can use it to skip
+   * computing the arguments of a message that is discarded.
+   *
+   * @param level The level of the message.
+   * @param category The category of the message.
+   * @return true if the messages are kept, false otherwise.
+   */
+  public boolean isEnabled(Level level, Category category) {
+    return level != Level.NONE && level.compareTo(levels[category.ordinal()]) >= 0;
+  }
+
+  /**
+   * This method logs a debug message without arguments.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   */
+  public void debug(Category category, String format) {
+    if (isEnabled(Level.DEBUG, category)) {
+      Slot slot = claim(Level.DEBUG, category, format, 0, null);
+      if (slot != null) {
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs a debug message with one argument.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param arg0 The first argument of the message.
+   */
+  public void debug(Category category, String format, Object arg0) {
+    if (isEnabled(Level.DEBUG, category)) {
+      Slot slot = claim(Level.DEBUG, category, format, 1, null);
+      if (slot != null) {
+        slot.args[0] = arg0;
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs a debug message with two arguments.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param arg0 The first argument of the message.
+   * @param arg1 The second argument of the message.
+   */
+  public void debug(Category category, String format, Object arg0, Object arg1) {
+    if (isEnabled(Level.DEBUG, category)) {
+      Slot slot = claim(Level.DEBUG, category, format, 2, null);
+      if (slot != null) {
+        slot.args[0] = arg0;
+        slot.args[1] = arg1;
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs an info message without arguments.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   */
+  public void info(Category category, String format) {
+    if (isEnabled(Level.INFO, category)) {
+      Slot slot = claim(Level.INFO, category, format, 0, null);
+      if (slot != null) {
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs an info message with one argument.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param arg0 The first argument of the message.
+   */
+  public void info(Category category, String format, Object arg0) {
+    if (isEnabled(Level.INFO, category)) {
+      Slot slot = claim(Level.INFO, category, format, 1, null);
+      if (slot != null) {
+        slot.args[0] = arg0;
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs an info message with two arguments.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param arg0 The first argument of the message.
+   * @param arg1 The second argument of the message.
+   */
+  public void info(Category category, String format, Object arg0, Object arg1) {
+    if (isEnabled(Level.INFO, category)) {
+      Slot slot = claim(Level.INFO, category, format, 2, null);
+      if (slot != null) {
+        slot.args[0] = arg0;
+        slot.args[1] = arg1;
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs an error message.
+   *
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param args The arguments of the message.
+   */
+  public void error(Category category, String format, Object... args) {
+    if (isEnabled(Level.ERROR, category)) {
+      Slot slot = claim(Level.ERROR, category, format, args.length, null);
+      if (slot != null) {
+        System.arraycopy(args, 0, slot.args, 0, args.length);
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method logs an error message with the stack trace of a throwable.
+   *
+   * @param category The category of the message.
+   * @param message The message.
+   * @param throwable The throwable.
+   */
+  public void error(Category category, String message, Throwable throwable) {
+    if (isEnabled(Level.ERROR, category)) {
+      Slot slot = claim(Level.ERROR, category, message, 0, throwable);
+      if (slot != null) {
+        publish(slot);
+      }
+    }
+  }
+
+  /**
+   * This method returns the number of messages that were dropped because the ring buffer was full.
+   *
+   * @return The number of dropped messages.
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * This method waits until the writer has written every message that was logged before the call.
+   *
+   * @param timeoutMillis The maximum time to wait in milliseconds.
+   * @return true if the messages were written, false if the time ran out.
+   */
+  public boolean flush(long timeoutMillis) {
+    long target = claimed.get();
+    long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+    while (written.get() < target) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      LockSupport.parkNanos(FLUSH_NANOS);
+    }
+    return true;
+  }
+
+  /**
+   * This method claims the next free slot of the ring buffer and fills in everything but the
+   * arguments. The caller fills in the arguments and publishes the slot. It returns null and drops
+   * the message if every slot still holds a message that the writer has not written.
+   *
+   * @param level The level of the message.
+   * @param category The category of the message.
+   * @param format The format of the message.
+   * @param argCount The number of arguments of the message.
+   * @param throwable The throwable of the message, or null.
+   * @return The claimed slot, or null if the message is dropped.
+   */
+  private Slot claim(
+      Level level, Category category, String format, int argCount, Throwable throwable) {
+    long sequence;
+    do {
+      sequence = claimed.get();
+      if (sequence - written.get() >= slots.length) {
+        dropped.incrementAndGet();
+        return null;
+      }
+    } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+    Slot slot = slots[(int) (sequence & mask)];
+    slot.claimed = sequence;
+    slot.millis = System.currentTimeMillis();
+    slot.level = level;
+    slot.category = category;
+    slot.thread = Thread.currentThread().getName();
+    slot.format = format;
+    if (slot.args.length < argCount) {
+      slot.args = new Object[argCount];
+    }
+    slot.argCount = argCount;
+    slot.throwable = throwable;
+    return slot;
+  }
+
+  /**
+   * This method publishes the message in a slot to the writer, and wakes the writer up if it is
+   * waiting for a message.
+   *
+   * @param slot The slot of the message.
+   */
+  private void publish(Slot slot) {
+    slot.publish();
+    if (waiting) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  /**
+   * This method is the loop of the writer thread. It writes the slots in the order of their
+   * sequence numbers and flushes the output whenever the ring buffer is empty. It then parks until
+   * a message is published, so an idle process does not wake the writer up. The writer announces
+   * that it waits before it checks the slot again, and a publisher publishes before it checks if
+   * the writer waits, so a message is never left unwritten.
+   */
+  private void write() {
+    long next = 0;
+    while (true) {
+      Slot slot = slots[(int) (next & mask)];
+      if (slot.sequence != next) {
+        out.flush();
+        waiting = true;
+        if (slot.sequence != next) {
+          LockSupport.park(this);
+        }
+        waiting = false;
+        continue;
+      }
+
+      out.println(format(slot));
+      if (slot.throwable != null) {
+        slot.throwable.printStackTrace(out);
+      }
+      Arrays.fill(slot.args, 0, slot.argCount, null);
+      slot.format = null;
+      slot.throwable = null;
+      next++;
+      written.set(next);
+    }
+  }
+
+  /**
+   * This method formats the message of a slot. Every {} in the format is replaced by the next
+   * argument, arguments without a placeholder are ignored.
+   *
+   * @param slot The slot of the message.
+   * @return The formatted line.
+   */
+  private String format(Slot slot) {
+    line.setLength(0);
+    line.append(time.format(new Date(slot.millis)))
+        .append(' ')
+        .append(slot.level)
+        .append(" [")
+        .append(slot.thread)
+        .append("] ")
+        .append(slot.category)
+        .append(": ");
+
+    String format = slot.format;
+    int arg = 0;
+    int from = 0;
+    int at;
+    while (arg < slot.argCount && (at = format.indexOf("{}", from)) >= 0) {
+      line.append(format, from, at).append(slot.args[arg++]);
+      from = at + 2;
+    }
+    line.append(format, from, format.length());
+    return line.toString();
+  }
+}
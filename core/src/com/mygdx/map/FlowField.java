@@ -0,0 +1,109 @@
+package com.mygdx.map;
+
+import com.mygdx.config.Config;
+import com.mygdx.entity.Entity;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a flow field over the cells of the game map. It holds, for every cell, the number
+ * of steps to the nearest living target, computed by a breadth-first search that starts from the
+ * cells of all targets at once. The field is computed once for a whole team, and each unit of the
+ * team then steers by comparing the distances of the cells next to it, so the cost per unit does
+ * not depend on the number of units. The distances are counted on the empty map: the cells that are
+ * occupied by other units are passed through, because they move every tick, and the units only
+ * check that the cell they step into is free.
+ *
+ * @author Hades
+ */
+public class FlowField {
+  // The distance of a cell from which no target can be reached.
+  public static final int UNREACHED = Integer.MAX_VALUE;
+
+  private final int rows;
+  private final int cols;
+  private final int[] distances; // The distance of each cell to the nearest target.
+  private final int[] queue; // The cells to visit, reused by every computation.
+
+  /**
+   * Constructor for the FlowField class. It creates a field in which no cell reaches a target.
+   *
+   * @param rows The number of rows of the map.
+   * @param cols The number of columns of the map.
+   */
+  public FlowField(int rows, int cols) {
+    this.rows = rows;
+    this.cols = cols;
+    distances = new int[rows * cols];
+    queue = new int[rows * cols];
+    Arrays.fill(distances, UNREACHED);
+  }
+
+  /**
+   * This method computes the distances of all cells to the nearest living target. The search visits
+   * every cell once, so it takes O(rows * cols) steps however many units steer by the field.
+   *
+   * @param targets The entities the field leads to, the dead ones are ignored.
+   */
+  public void compute(List<? extends Entity> targets) {
+    Arrays.fill(distances, UNREACHED);
+
+    int tail = 0;
+    for (Entity target : targets) {
+      if (target.isDead()) {
+        continue;
+      }
+      int row = (int) (target.getX() / Config.CELL_SIZE);
+      int col = (int) (target.getY() / Config.CELL_SIZE);
+      if (row < 0 || row >= rows || col < 0 || col >= cols) {
+        continue;
+      }
+      int cell = row * cols + col;
+      if (distances[cell] != 0) {
+        distances[cell] = 0;
+        queue[tail++] = cell;
+      }
+    }
+
+    for (int head = 0; head < tail; head++) {
+      int cell = queue[head];
+      int row = cell / cols;
+      int col = cell % cols;
+      int distance = distances[cell] + 1;
+      if (row > 0 && distances[cell - cols] == UNREACHED) {
+        distances[cell - cols] = distance;
+        queue[tail++] = cell - cols;
+      }
+      if (row < rows - 1 && distances[cell + cols] == UNREACHED) {
+        distances[cell + cols] = distance;
+        queue[tail++] = cell + cols;
+      }
+      if (col > 0 && distances[cell - 1] == UNREACHED) {
+        distances[cell - 1] = distance;
+        queue[tail++] = cell - 1;
+      }
+      if (col < cols - 1 && distances[cell + 1] == UNREACHED) {
+        distances[cell + 1] = distance;
+        queue[tail++] = cell + 1;
+      }
+    }
+  }
+
+  /**
+   * This method returns the distance of a cell to the nearest target.
+   *
+   * @param x The x-coordinate of the cell. Must be a multiple of Config.CELL_SIZE.
+   * @param y The y-coordinate of the cell. Must be a multiple of Config.CELL_SIZE.
+   * @return The number of steps to the nearest target, or UNREACHED if the cell is outside the map
+   *     or no target can be reached.
+   */
+  public int getDistance(float x, float y) {
+    int row = (int) Math.floor(x / Config.CELL_SIZE);
+    int col = (int) Math.floor(y / Config.CELL_SIZE);
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      return UNREACHED;
+    }
+
+    return distances[row * cols + col];
+  }
+}
@@ -0,0 +1,250 @@
+package com.mygdx.map;
+
+import com.mygdx.character.Character;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import java.util.List;
+import java.util.function.IntConsumer;
+import lombok.Getter;
+
+/**
+ * This class is the area of interest of a client in a multiplayer game: the square of cells of the
+ * map within a radius around the hero of the client. The server only sends a client the events of
+ * the characters inside its area, and the client only shows those characters. The area keeps which
+ * characters are inside it by their registry ids, and when its center moves, it finds the
+ * characters that entered and left it by reading the cells of the spatial grids of the game state
+ * that are in one square and not in the other, so the cost of a move depends on the radius and not
+ * on the size of the map or the number of characters. A radius of 0 covers the whole map.
+ *
+ * <p>The area must be changed by the thread that moves the characters, which is the simulation
+ * thread, or before the world ticker is started.
+ *
+ * @author Hades
+ */
+@Getter
+public class InterestArea {
+  private final int player; // The registry id of the hero at the center of the area.
+  private final int radius; // The number of cells from the center to the border, 0 for the map.
+  private final boolean[] inside; // Whether each character of the registry is inside the area.
+  private int centerX; // The cell of the center on the x-axis.
+  private int centerY; // The cell of the center on the y-axis.
+
+  /**
+   * Constructor for InterestArea. No character is inside the area until it is reset.
+   *
+   * @param player The registry id of the hero at the center of the area.
+   * @param radius The number of cells from the center to the border, 0 for the whole map.
+   * @param characters The number of characters in the registry of the game state.
+   */
+  public InterestArea(int player, int radius, int characters) {
+    assert radius >= 0;
+
+    this.player = player;
+    this.radius = radius;
+    inside = new boolean[characters];
+  }
+
+  /**
+   * This method centers the area on the hero of the client and marks the characters inside it,
+   * which are all the characters when the area covers the whole map.
+   *
+   * @param gameState The game state of the match.
+   */
+  public void reset(GameState gameState) {
+    Character hero = gameState.getCharacter(player);
+    centerX = cell(hero.getX());
+    centerY = cell(hero.getY());
+    for (int i = 0; i < inside.length; i++) {
+      Character character = gameState.getCharacter(i);
+      inside[i] = contains(character.getX(), character.getY());
+    }
+  }
+
+  /**
+   * This method checks if a position is inside the area.
+   *
+   * @param x The x-coordinate.
+   * @param y The y-coordinate.
+   * @return true if the cell of the position is inside the area, false otherwise.
+   */
+  public boolean contains(float x, float y) {
+    return radius == 0
+        || Math.abs(cell(x) - centerX) <= radius && Math.abs(cell(y) - centerY) <= radius;
+  }
+
+  /**
+   * This method checks if a character is inside the area.
+   *
+   * @param id The registry id of the character.
+   * @return true if the character is inside the area, false otherwise.
+   */
+  public boolean isInside(int id) {
+    return id >= 0 && id < inside.length && inside[id];
+  }
+
+  /**
+   * This method marks a character as inside or outside the area.
+   *
+   * @param id The registry id of the character.
+   * @param value Whether the character is inside the area.
+   */
+  public void setInside(int id, boolean value) {
+    inside[id] = value;
+  }
+
+  /**
+   * This method updates the area after a character has moved. If the character is the hero at the
+   * center, the area moves with it, and every character that entered or left the area is reported.
+   * Otherwise only the character itself can have entered or left the area.
+   *
+   * @param gameState The game state of the match.
+   * @param id The registry id of the character that moved.
+   * @param entered Called with the registry id of every character that entered the area.
+   * @param left Called with the registry id of every character that left the area.
+   * @return true if the character was inside the area before and after its move, false otherwise.
+   */
+  public boolean update(GameState gameState, int id, IntConsumer entered, IntConsumer left) {
+    Character character = gameState.getCharacter(id);
+    if (id == player) {
+      recenter(gameState, cell(character.getX()), cell(character.getY()), entered, left);
+      return true;
+    }
+
+    boolean was = inside[id];
+    boolean now = contains(character.getX(), character.getY());
+    if (was != now) {
+      inside[id] = now;
+      (now ? entered : left).accept(id);
+    }
+    return was && now;
+  }
+
+  /**
+   * This method checks if the path of a bullet crosses the area, so the bullet can hit a character
+   * inside it. The path starts at the position of the bullet and goes on in the direction of its
+   * speed, and the area is grown by the size of a bullet on every side.
+   *
+   * @param x The x-coordinate of the bullet.
+   * @param y The y-coordinate of the bullet.
+   * @param speedX The speed of the bullet on the x-axis.
+   * @param speedY The speed of the bullet on the y-axis.
+   * @return true if the path crosses the area, false otherwise.
+   */
+  public boolean crosses(float x, float y, float speedX, float speedY) {
+    if (radius == 0) {
+      return true;
+    }
+
+    float margin = Math.max(Config.BULLET_WIDTH, Config.BULLET_HEIGHT);
+    float[] near = {
+      (centerX - radius) * Config.CELL_SIZE - margin, (centerY - radius) * Config.CELL_SIZE - margin
+    };
+    float[] far = {
+      (centerX + radius + 1) * Config.CELL_SIZE + margin,
+      (centerY + radius + 1) * Config.CELL_SIZE + margin
+    };
+    float[] origin = {x, y};
+    float[] speed = {speedX, speedY};
+
+    // Clip the ray against the two slabs of the square, it crosses the square if some t >= 0 is in
+    // both of them.
+    float enter = 0;
+    float exit = Float.POSITIVE_INFINITY;
+    for (int axis = 0; axis < 2; axis++) {
+      if (speed[axis] == 0) {
+        if (origin[axis] < near[axis] || origin[axis] > far[axis]) {
+          return false;
+        }
+        continue;
+      }
+      float t1 = (near[axis] - origin[axis]) / speed[axis];
+      float t2 = (far[axis] - origin[axis]) / speed[axis];
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
+    return enter <= exit;
+  }
+
+  /**
+   * This method moves the center of the area to a cell. The characters in the cells of the new
+   * square that are not in the old one entered the area, and the characters in the cells of the old
+   * square that are not in the new one left it.
+   *
+   * @param gameState The game state of the match.
+   * @param x The cell of the new center on the x-axis.
+   * @param y The cell of the new center on the y-axis.
+   * @param entered Called with the registry id of every character that entered the area.
+   * @param left Called with the registry id of every character that left the area.
+   */
+  private void recenter(GameState gameState, int x, int y, IntConsumer entered, IntConsumer left) {
+    int fromX = centerX;
+    int fromY = centerY;
+    centerX = x;
+    centerY = y;
+    if (radius == 0 || x == fromX && y == fromY) {
+      return;
+    }
+
+    for (int i = fromX - radius; i <= fromX + radius; i++) {
+      for (int j = fromY - radius; j <= fromY + radius; j++) {
+        if (Math.abs(i - x) > radius || Math.abs(j - y) > radius) {
+          visit(gameState, i, j, false, left);
+        }
+      }
+    }
+    for (int i = x - radius; i <= x + radius; i++) {
+      for (int j = y - radius; j <= y + radius; j++) {
+        if (Math.abs(i - fromX) > radius || Math.abs(j - fromY) > radius) {
+          visit(gameState, i, j, true, entered);
+        }
+      }
+    }
+  }
+
+  /**
+   * This method marks the characters of a cell as inside or outside the area and reports the ones
+   * whose mark changed.
+   *
+   * @param gameState The game state of the match.
+   * @param i The cell on the x-axis.
+   * @param j The cell on the y-axis.
+   * @param value Whether the characters of the cell are inside the area.
+   * @param changed Called with the registry id of every character whose mark changed.
+   */
+  private void visit(GameState gameState, int i, int j, boolean value, IntConsumer changed) {
+    List<Hero> heroes = gameState.getHeroGrid().get(i, j);
+    for (Hero hero : heroes) {
+      mark(hero.getNetId(), value, changed);
+    }
+    List<Enemy> enemies = gameState.getEnemyGrid().get(i, j);
+    for (Enemy enemy : enemies) {
+      mark(enemy.getNetId(), value, changed);
+    }
+  }
+
+  /**
+   * This method marks a character as inside or outside the area and reports it if its mark changed.
+   *
+   * @param id The registry id of the character.
+   * @param value Whether the character is inside the area.
+   * @param changed Called with the registry id of the character if its mark changed.
+   */
+  private void mark(int id, boolean value, IntConsumer changed) {
+    if (id >= 0 && id < inside.length && inside[id] != value) {
+      inside[id] = value;
+      changed.accept(id);
+    }
+  }
+
+  /**
+   * This method converts a coordinate to the index of its cell.
+   *
+   * @param value The coordinate.
+   * @return The index of the cell.
+   */
+  private static int cell(float value) {
+    return (int) Math.floor(value / Config.CELL_SIZE);
+  }
+}
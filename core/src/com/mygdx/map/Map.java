@@ -1,43 +1,97 @@
 package com.mygdx.map;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mygdx.config.Config;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import lombok.NoArgsConstructor;
 
 /**
  * This class represents a game map. It implements the Serializable interface for saving and loading
- * the game state. It contains a 2D matrix that represents the cells of the map. It also contains
- * methods for getting and setting the value of a cell and for rendering the map.
+ * the game state. The cells of the map are kept in a flat atomic array, so a character claims its
+ * destination cell with a single compare-and-set instead of locking the whole map, and characters
+ * on different threads can move at the same time. It also contains methods for getting and setting
+ * the value of a cell and for rendering the map. For Jackson, the cells are exposed as a 2D matrix.
  *
  * @author Hades
  */
-@Getter
 @NoArgsConstructor
 public class Map implements Serializable {
-  private int[][] matrix;
+  private int rows;
+  private int cols;
+  private AtomicIntegerArray cells;
 
   /**
-   * Constructor for the Map class. It initializes the matrix with the specified number of rows and
+   * Constructor for the Map class. It initializes the cells with the specified number of rows and
    * columns and sets all cells to 0.
    *
    * @param rows The number of rows.
    * @param cols The number of columns.
    */
   public Map(int rows, int cols) {
-    matrix = new int[rows][cols];
+    this.rows = rows;
+    this.cols = cols;
+    cells = new AtomicIntegerArray(rows * cols);
 
+    GameLogger.getInstance().debug(Category.MAP, "rows: {}, cols: {}", rows, cols);
+  }
+
+  /**
+   * This method returns a copy of the cells as a 2D matrix, indexed by row and then column. It is
+   * used by Jackson to serialize the map.
+   *
+   * @return The matrix of the cells.
+   */
+  public int[][] getMatrix() {
+    int[][] matrix = new int[rows][cols];
     for (int i = 0; i < rows; i++) {
       for (int j = 0; j < cols; j++) {
-        matrix[i][j] = 0;
+        matrix[i][j] = cells.get(i * cols + j);
       }
     }
+    return matrix;
+  }
 
-    Gdx.app.log("Map", "rows: " + rows + ", cols: " + cols);
+  /**
+   * This method replaces the cells with the values of a 2D matrix. It is used by Jackson to
+   * deserialize the map.
+   *
+   * @param matrix The matrix of the cells, indexed by row and then column.
+   */
+  public void setMatrix(int[][] matrix) {
+    rows = matrix.length;
+    cols = rows == 0 ? 0 : matrix[0].length;
+    AtomicIntegerArray values = new AtomicIntegerArray(rows * cols);
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < cols; j++) {
+        values.set(i * cols + j, matrix[i][j]);
+      }
+    }
+    cells = values;
+  }
+
+  /**
+   * This method returns the number of rows of the map.
+   *
+   * @return The number of rows.
+   */
+  @JsonIgnore
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * This method returns the number of columns of the map.
+   *
+   * @return The number of columns.
+   */
+  @JsonIgnore
+  public int getCols() {
+    return cols;
   }
 
   /**
@@ -55,7 +109,7 @@ public class Map implements Serializable {
       return 2;
     }
 
-    return matrix[(int) (x / Config.CELL_SIZE)][(int) (y / Config.CELL_SIZE)];
+    return cells.get(index(x, y));
   }
 
   /**
@@ -73,7 +127,56 @@ public class Map implements Serializable {
       return;
     }
 
-    matrix[(int) (x / Config.CELL_SIZE)][(int) (y / Config.CELL_SIZE)] = value;
+    cells.set(index(x, y), value);
+  }
+
+  /**
+   * This method claims a free cell with a single compare-and-set. If the cell is outside the map or
+   * already occupied, it does nothing.
+   *
+   * @param x The x-coordinate. Must be a multiple of Config.CELL_SIZE.
+   * @param y The y-coordinate. Must be a multiple of Config.CELL_SIZE.
+   * @return true if the cell was free and is now occupied by the caller, false otherwise.
+   */
+  public boolean claim(int x, int y) {
+    assert x % Config.CELL_SIZE == 0 && y % Config.CELL_SIZE == 0;
+
+    if (x < 0 || x >= Config.MAP_WIDTH || y < 0 || y >= Config.MAP_HEIGHT) {
+      return false;
+    }
+
+    return cells.compareAndSet(index(x, y), 0, 1);
+  }
+
+  /**
+   * This method moves an occupant from one cell to another. It first claims the destination cell
+   * and only releases the source cell if the claim succeeded, so two characters can never end up in
+   * the same cell and no lock is needed.
+   *
+   * @param fromX The x-coordinate of the source cell. Must be a multiple of Config.CELL_SIZE.
+   * @param fromY The y-coordinate of the source cell. Must be a multiple of Config.CELL_SIZE.
+   * @param toX The x-coordinate of the destination cell. Must be a multiple of Config.CELL_SIZE.
+   * @param toY The y-coordinate of the destination cell. Must be a multiple of Config.CELL_SIZE.
+   * @return true if the move was made, false if the destination is outside the map or occupied.
+   */
+  public boolean move(int fromX, int fromY, int toX, int toY) {
+    if (!claim(toX, toY)) {
+      return false;
+    }
+
+    set(fromX, fromY, 0);
+    return true;
+  }
+
+  /**
+   * This method converts the coordinates of a cell inside the map to its index in the flat array.
+   *
+   * @param x The x-coordinate.
+   * @param y The y-coordinate.
+   * @return The index of the cell.
+   */
+  private int index(int x, int y) {
+    return (int) (x / Config.CELL_SIZE) * cols + (int) (y / Config.CELL_SIZE);
   }
 
   /**
@@ -0,0 +1,146 @@
+package com.mygdx.map;
+
+import com.mygdx.config.Config;
+import com.mygdx.entity.Entity;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class is a uniform grid index over the game map. It buckets entities by the cell of size
+ * Config.CELL_SIZE that contains their position, so a collision query only has to look at the
+ * entities of a few cells instead of all of them. Each bucket is a CopyOnWriteArrayList, because
+ * entities move rarely compared to how often the buckets are read by the bullets.
+ *
+ * @param <T> The type of the indexed entities.
+ * @author Hades
+ */
+public class SpatialGrid<T extends Entity> {
+  private final int rows;
+  private final int cols;
+  private final List<T>[] cells;
+
+  /**
+   * Constructor for the SpatialGrid class. It creates an empty bucket for each cell of the map.
+   *
+   * @param rows The number of rows of the map.
+   * @param cols The number of columns of the map.
+   */
+  @SuppressWarnings("unchecked")
+  public SpatialGrid(int rows, int cols) {
+    this.rows = rows;
+    this.cols = cols;
+    cells = (List<T>[]) new List<?>[rows * cols];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = new CopyOnWriteArrayList<>();
+    }
+  }
+
+  /**
+   * This method converts an x-coordinate to the index of the row that contains it.
+   *
+   * @param x The x-coordinate.
+   * @return The index of the row, may be outside the grid.
+   */
+  public int cellX(float x) {
+    return (int) Math.floor(x / Config.CELL_SIZE);
+  }
+
+  /**
+   * This method converts a y-coordinate to the index of the column that contains it.
+   *
+   * @param y The y-coordinate.
+   * @return The index of the column, may be outside the grid.
+   */
+  public int cellY(float y) {
+    return (int) Math.floor(y / Config.CELL_SIZE);
+  }
+
+  /**
+   * This method gets the entities in a cell. If the cell is outside the grid, it returns an empty
+   * list.
+   *
+   * @param i The index of the row.
+   * @param j The index of the column.
+   * @return The entities in the cell.
+   */
+  public List<T> get(int i, int j) {
+    if (i < 0 || i >= rows || j < 0 || j >= cols) {
+      return Collections.emptyList();
+    }
+
+    return cells[i * cols + j];
+  }
+
+  /**
+   * This method adds an entity to the cell that contains its position.
+   *
+   * @param entity The entity to add.
+   */
+  public void add(T entity) {
+    add(entity, entity.getX(), entity.getY());
+  }
+
+  /**
+   * This method removes an entity from the cell that contains its position.
+   *
+   * @param entity The entity to remove.
+   */
+  public void remove(T entity) {
+    remove(entity, entity.getX(), entity.getY());
+  }
+
+  /**
+   * This method moves an entity from the cell of its previous position to the cell of its current
+   * position. It does nothing if both positions are in the same cell.
+   *
+   * @param entity The entity that moved.
+   * @param fromX The previous x-coordinate of the entity.
+   * @param fromY The previous y-coordinate of the entity.
+   */
+  public void move(T entity, float fromX, float fromY) {
+    if (cellX(fromX) == cellX(entity.getX()) && cellY(fromY) == cellY(entity.getY())) {
+      return;
+    }
+
+    remove(entity, fromX, fromY);
+    add(entity, entity.getX(), entity.getY());
+  }
+
+  /** This method removes all entities from the grid. */
+  public void clear() {
+    for (List<T> cell : cells) {
+      cell.clear();
+    }
+  }
+
+  /**
+   * This method adds an entity to the cell that contains a position.
+   *
+   * @param entity The entity to add.
+   * @param x The x-coordinate of the position.
+   * @param y The y-coordinate of the position.
+   */
+  private void add(T entity, float x, float y) {
+    int i = cellX(x);
+    int j = cellY(y);
+    if (i >= 0 && i < rows && j >= 0 && j < cols) {
+      cells[i * cols + j].add(entity);
+    }
+  }
+
+  /**
+   * This method removes an entity from the cell that contains a position.
+   *
+   * @param entity The entity to remove.
+   * @param x The x-coordinate of the position.
+   * @param y The y-coordinate of the position.
+   */
+  private void remove(T entity, float x, float y) {
+    int i = cellX(x);
+    int j = cellY(y);
+    if (i >= 0 && i < rows && j >= 0 && j < cols) {
+      cells[i * cols + j].remove(entity);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.mygdx.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a histogram of latencies in nanoseconds with a fixed number of logarithmic buckets.
+ * Every power of two is split into SUB_BUCKETS buckets of equal width, so a recorded value is known
+ * to within about 6 percent, from 1 nanosecond up to the largest long. The counts are kept in an
+ * AtomicLongArray, so recording is thread safe, does not allocate and takes a few atomic adds.
+ * Percentiles are read from the counts while values are still recorded, so they are approximate.
+ *
+ * @author Hades
+ */
+public class LatencyHistogram {
+  private static final int SUB_BITS = 4; // The number of bits of a value kept inside a power of 2.
+  private static final int SUB_BUCKETS = 1 << SUB_BITS; // The number of buckets per power of 2.
+  // The number of buckets: the values below SUB_BUCKETS, then SUB_BUCKETS for each larger power.
+  private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong(); // The number of recorded values.
+  private final AtomicLong max = new AtomicLong(); // The largest recorded value.
+
+  /**
+   * This method records a latency. Negative latencies are recorded as 0.
+   *
+   * @param nanos The latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucket(value));
+    count.incrementAndGet();
+
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * This method returns the number of recorded latencies.
+   *
+   * @return The number of recorded latencies.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * This method returns the largest recorded latency.
+   *
+   * @return The largest latency in nanoseconds, 0 if nothing was recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * This method returns an upper bound of a percentile of the recorded latencies. It is the upper
+   * end of the bucket that contains the percentile, but not more than the largest latency.
+   *
+   * @param percentile The percentile between 0 and 100.
+   * @return The latency in nanoseconds, 0 if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upper(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** This method removes all recorded latencies. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    max.set(0);
+  }
+
+  /**
+   * This method writes the non-empty buckets, one line each with the lower and upper end of the
+   * bucket in nanoseconds and its count.
+   *
+   * @param out The output.
+   */
+  public void write(PrintStream out) {
+    for (int i = 0; i < BUCKETS; i++) {
+      long n = counts.get(i);
+      if (n > 0) {
+        out.println(lower(i) + "\t" + upper(i) + "\t" + n);
+      }
+    }
+  }
+
+  /**
+   * This method returns the bucket of a value.
+   *
+   * @param value The value, not negative.
+   * @return The index of the bucket.
+   */
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * This method returns the smallest value of a bucket.
+   *
+   * @param bucket The index of the bucket.
+   * @return The smallest value of the bucket.
+   */
+  static long lower(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+  }
+
+  /**
+   * This method returns the largest value of a bucket.
+   *
+   * @param bucket The index of the bucket.
+   * @return The largest value of the bucket.
+   */
+  static long upper(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    return lower(bucket) + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,121 @@
+package com.mygdx.metrics;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.EnumMap;
+
+/**
+ * This class holds one latency histogram for each instrumented part of the game, so it can be seen
+ * where the time of a frame or a tick goes. A part records the time between a begin timestamp taken
+ * with System.nanoTime and the end of its work. The histograms can be summarized as text for the
+ * overlay of the screens, and written to a file when the game exits. It uses the Singleton pattern
+ * in the same way as the SoundManager.
+ *
+ * @author Hades
+ */
+public class Metrics {
+  /** The instrumented parts of the game. */
+  public enum Probe {
+    RENDER, // GameScreen#render, one frame of the game screen.
+    BULLETS, // BulletUpdater#run, one update of all bullets.
+    HERO, // Hero#run, one action of a hero.
+    ENEMY, // Enemy#run, one action of an enemy.
+    OBSERVERS, // GameState#notifyObservers, the dispatch of one event.
+    SELECTOR // One iteration of the selector loop of the GameServer, without the wait.
+  }
+
+  private final EnumMap<Probe, LatencyHistogram> histograms = new EnumMap<>(Probe.class);
+
+  /** Private constructor for Metrics. It creates an empty histogram for every probe. */
+  private Metrics() {
+    for (Probe probe : Probe.values()) {
+      histograms.put(probe, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * This class holds the instance of the Metrics. It is used to implement the Singleton pattern.
+   */
+  private static class MetricsHolder {
+    private static final Metrics INSTANCE = new Metrics();
+  }
+
+  /**
+   * Returns the instance of the Metrics. If the instance does not exist, it is created.
+   *
+   * @return The instance of the Metrics
+   */
+  public static Metrics getInstance() {
+    return MetricsHolder.INSTANCE;
+  }
+
+  /**
+   * This method records the time since a begin timestamp in the histogram of a probe.
+   *
+   * @param probe The probe.
+   * @param beginNanos The begin timestamp, taken with System.nanoTime.
+   */
+  public void record(Probe probe, long beginNanos) {
+    histograms.get(probe).record(System.nanoTime() - beginNanos);
+  }
+
+  /**
+   * This method returns the histogram of a probe.
+   *
+   * @param probe The probe.
+   * @return The histogram of the probe.
+   */
+  public LatencyHistogram get(Probe probe) {
+    return histograms.get(probe);
+  }
+
+  /** This method removes the recorded latencies of every probe. */
+  public void reset() {
+    histograms.values().forEach(LatencyHistogram::reset);
+  }
+
+  /**
+   * This method summarizes the histograms, one line per probe that has recorded latencies, with the
+   * median, the 99th percentile and the largest latency in milliseconds.
+   *
+   * @return The summary.
+   */
+  public String summary() {
+    StringBuilder builder = new StringBuilder();
+    for (Probe probe : Probe.values()) {
+      LatencyHistogram histogram = histograms.get(probe);
+      if (histogram.getCount() > 0) {
+        builder.append(
+            String.format(
+                "%-9s p50 %8.3f  p99 %8.3f  max %8.3f ms  (%d)%n",
+                probe,
+                histogram.getPercentile(50) / 1e6,
+                histogram.getPercentile(99) / 1e6,
+                histogram.getMax() / 1e6,
+                histogram.getCount()));
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * This method writes the summary and the buckets of every histogram to a file.
+   *
+   * @param path The path of the file.
+   * @throws IOException If the file cannot be written.
+   */
+  public void dump(String path) throws IOException {
+    try (PrintStream out = new PrintStream(new FileOutputStream(path))) {
+      out.print(summary());
+      for (Probe probe : Probe.values()) {
+        LatencyHistogram histogram = histograms.get(probe);
+        if (histogram.getCount() > 0) {
+          out.println();
+          out.println("# " + probe + " lower_ns upper_ns count");
+          histogram.write(out);
+        }
+      }
+    }
+  }
+}
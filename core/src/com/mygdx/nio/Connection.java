@@ -0,0 +1,178 @@
+package com.mygdx.nio;
+
+import com.mygdx.map.InterestArea;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * This class is the state of the connection of one client to the GameServer. It holds the bytes
+ * received from the client that do not form a whole frame yet, and the queue of the frames that are
+ * waiting to be sent to the client. Any thread can add frames to the queue, but only the server
+ * thread writes them to the channel, when the channel is ready for writing. The key of the channel
+ * only asks for OP_WRITE while frames are waiting, so an idle connection does not wake up the
+ * selector.
+ *
+ * @author Hades
+ */
+@Getter
+class Connection {
+  // The largest number of frames given to one gathering write.
+  static final int BATCH = 64;
+
+  private final String id; // The id of the client.
+  private final SocketChannel channel;
+  private final SelectionKey key;
+  @Setter private Room room; // The room of the client, set when it joins.
+  // The area of the map whose events the client gets, set when it joins, only used by the room.
+  @Setter private InterestArea interest;
+  private final FrameReader reader = new FrameReader(); // The frames received from the client.
+  private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+  // Whether the connection must ask for OP_WRITE, set by the threads that add frames.
+  private final AtomicBoolean writeRequested = new AtomicBoolean();
+
+  // The initial game state that is sent before the queued frames, null once it has been sent.
+  private volatile SnapshotWriter snapshot;
+
+  // The frames of the current gathering write, only used by the server thread.
+  @Getter(AccessLevel.NONE)
+  private final ByteBuffer[] batch = new ByteBuffer[BATCH];
+
+  /**
+   * Constructor for Connection.
+   *
+   * @param id The id of the client.
+   * @param channel The channel of the client.
+   * @param key The key of the channel in the selector of the server.
+   */
+  Connection(String id, SocketChannel channel, SelectionKey key) {
+    this.id = id;
+    this.channel = channel;
+    this.key = key;
+  }
+
+  /**
+   * This method adds a frame to the queue of the connection. The buffer must be ready to be read
+   * and must not be changed afterwards.
+   *
+   * @param frame The buffer of the frame.
+   * @return true if the connection must now ask for OP_WRITE, false if it already asked for it.
+   */
+  boolean enqueue(ByteBuffer frame) {
+    outbound.add(frame);
+    return writeRequested.compareAndSet(false, true);
+  }
+
+  /**
+   * This method sets the initial game state to send to the client. It is sent before all the frames
+   * of the queue, so it must be set before the connection is given any frame.
+   *
+   * @param snapshot The writer of the initial game state.
+   * @return true if the connection must now ask for OP_WRITE, false if it already asked for it.
+   */
+  boolean sendSnapshot(SnapshotWriter snapshot) {
+    this.snapshot = snapshot;
+    return writeRequested.compareAndSet(false, true);
+  }
+
+  /**
+   * This method drops the initial game state if it has not been fully sent, and closes its writer.
+   * It is only called by the server thread, when the connection is closed.
+   */
+  void closeSnapshot() {
+    SnapshotWriter writer = snapshot;
+    if (writer != null) {
+      snapshot = null;
+      writer.close();
+    }
+  }
+
+  /**
+   * This method makes the key of the connection ask for OP_WRITE. It is only called by the server
+   * thread.
+   */
+  void requestWrite() {
+    try {
+      key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+    } catch (CancelledKeyException e) {
+      closeSnapshot();
+      outbound.clear();
+    }
+  }
+
+  /**
+   * This method writes the initial game state, then the queued frames, to the channel until the
+   * queue is empty or the channel cannot take more bytes. The frames at the head of the queue are
+   * given to the channel together in one gathering write. A frame that is only partly written stays
+   * at the head of the queue with its position after the written bytes. When the queue is empty,
+   * the key stops asking for OP_WRITE. It is only called by the server thread.
+   *
+   * @return The number of bytes written.
+   * @throws IOException If an I/O error occurs.
+   */
+  long write() throws IOException {
+    long written = 0;
+    ByteBuffer snapshotFrame;
+    while (snapshot != null) {
+      if ((snapshotFrame = snapshot.next()) == null) {
+        snapshot = null;
+        break;
+      }
+      written += channel.write(snapshotFrame);
+      if (snapshotFrame.hasRemaining()) {
+        return written;
+      }
+    }
+
+    while (true) {
+      int count = 0;
+      for (ByteBuffer frame : outbound) {
+        if (count == BATCH) {
+          break;
+        }
+        batch[count++] = frame;
+      }
+      if (count == 0) {
+        break;
+      }
+
+      written += channel.write(batch, 0, count);
+      int sent = 0;
+      while (sent < count && !batch[sent].hasRemaining()) {
+        outbound.poll();
+        sent++;
+      }
+      Arrays.fill(batch, 0, count, null);
+      if (sent < count) {
+        return written;
+      }
+    }
+
+    writeRequested.set(false);
+    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+    // A frame added after the queue was seen empty, but before the flag was cleared, did not ask
+    // for OP_WRITE, so the key asks for it again.
+    if (hasPending() && writeRequested.compareAndSet(false, true)) {
+      requestWrite();
+    }
+    return written;
+  }
+
+  /**
+   * This method checks if frames are waiting to be sent.
+   *
+   * @return true if the initial game state or the queue has not been sent, false otherwise.
+   */
+  boolean hasPending() {
+    return snapshot != null || !outbound.isEmpty();
+  }
+}
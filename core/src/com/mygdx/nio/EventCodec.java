@@ -0,0 +1,412 @@
+package com.mygdx.nio;
+
+import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.CharacterState;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
+import com.mygdx.event.HeroAttack;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is the binary codec of the messages between the GameServer and the GameClient. Every
+ * message is a frame: an int with the number of bytes that follow it, a type byte, and the fields
+ * of the message at fixed widths, with the characters referred to by their integer registry ids.
+ * The frames are written to and read from ByteBuffers given by the caller, so the buffers can be
+ * reused and no String or JSON tree is built for an event. A reader first calls {@link
+ * #peek(ByteBuffer)} to learn if a whole frame is in its buffer and of which type it is, and then
+ * calls the decode method of that type.
+ *
+ * @author Hades
+ */
+public class EventCodec {
+  // The frame types of the game events, in the order of GameEvent.Type.
+  public static final byte HERO_MOVE = 0;
+  public static final byte ENEMY_MOVE = 1;
+  public static final byte CHARACTER_ATTACK = 2;
+  public static final byte HERO_ATTACK = 3;
+  public static final byte GAME_OVER = 4;
+  public static final byte CHARACTER_HP = 5;
+  // The frame that starts the game on the clients, it has no fields.
+  public static final byte START = 6;
+  // The frame that tells a client the index of its hero.
+  public static final byte JOIN = 7;
+  // The frame that carries a chunk of the initial game state, as deflated UTF-8 JSON.
+  public static final byte SNAPSHOT = 8;
+  // The frame that ends the chunks of the initial game state, it has no fields.
+  public static final byte SNAPSHOT_END = 9;
+  // The frame that tells a client the radius of its area of interest, after the snapshot end.
+  public static final byte INTEREST = 10;
+  // The frame that tells a client that a character entered its area of interest, with its state.
+  public static final byte ENTER = 11;
+  // The frame that tells a client that a character left its area of interest.
+  public static final byte LEAVE = 12;
+
+  // The number of bytes of the length of a frame.
+  public static final int LENGTH_BYTES = Integer.BYTES;
+  // The largest frame that is accepted, bigger lengths are taken as a corrupted stream.
+  public static final int MAX_FRAME = 1 << 24;
+
+  // The lengths of the frames with fixed fields: the type byte and the fields.
+  private static final int MOVE_LENGTH = 1 + Integer.BYTES + 2;
+  private static final int ATTACK_LENGTH = 1 + 6 * Float.BYTES;
+  private static final int HERO_ATTACK_LENGTH = 1 + Integer.BYTES + 2 * Float.BYTES;
+  private static final int HP_LENGTH = 1 + 2 * Integer.BYTES;
+  private static final int INT_LENGTH = 1 + Integer.BYTES;
+  private static final int ENTER_LENGTH = 1 + 2 * Integer.BYTES + 2 * Float.BYTES;
+
+  private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+
+  private EventCodec() {}
+
+  /**
+   * This method writes a game event as a frame at the position of a buffer.
+   *
+   * @param event The event to write.
+   * @param out The buffer to write to.
+   * @throws java.nio.BufferOverflowException If the buffer has not enough room for the frame.
+   */
+  public static void encode(GameEvent event, ByteBuffer out) {
+    int start = begin(out, (byte) event.getType().ordinal());
+    if (event instanceof CharacterMove) {
+      CharacterMove move = (CharacterMove) event;
+      out.putInt(move.getId());
+      out.put((byte) move.getDirectionX());
+      out.put((byte) move.getDirectionY());
+    } else if (event instanceof CharacterAttack) {
+      CharacterAttack attack = (CharacterAttack) event;
+      out.putFloat(attack.getX());
+      out.putFloat(attack.getY());
+      out.putInt(attack.getAtk());
+      out.putFloat(attack.getSpeedX());
+      out.putFloat(attack.getSpeedY());
+      out.putFloat(attack.getRotation());
+    } else if (event instanceof HeroAttack) {
+      HeroAttack attack = (HeroAttack) event;
+      out.putInt(attack.getId());
+      out.putFloat(attack.getX());
+      out.putFloat(attack.getY());
+    } else if (event instanceof GameOver) {
+      out.put(((GameOver) event).getWinner().getBytes(StandardCharsets.UTF_8));
+    } else if (event instanceof CharacterHp) {
+      CharacterHp hp = (CharacterHp) event;
+      out.putInt(hp.getId());
+      out.putInt(hp.getHp());
+    } else {
+      throw new IllegalArgumentException("Unknown event: " + event.getClass());
+    }
+    end(out, start);
+  }
+
+  /**
+   * This method writes a start frame at the position of a buffer.
+   *
+   * @param out The buffer to write to.
+   */
+  public static void encodeStart(ByteBuffer out) {
+    end(out, begin(out, START));
+  }
+
+  /**
+   * This method writes a join frame at the position of a buffer.
+   *
+   * @param player The index of the hero of the client.
+   * @param out The buffer to write to.
+   */
+  public static void encodeJoin(int player, ByteBuffer out) {
+    int start = begin(out, JOIN);
+    out.putInt(player);
+    end(out, start);
+  }
+
+  /**
+   * This method writes a snapshot frame at the position of a buffer.
+   *
+   * @param data The array of the chunk of the deflated game state.
+   * @param offset The offset of the chunk in the array.
+   * @param length The number of bytes of the chunk.
+   * @param out The buffer to write to.
+   */
+  public static void encodeSnapshot(byte[] data, int offset, int length, ByteBuffer out) {
+    int start = begin(out, SNAPSHOT);
+    out.put(data, offset, length);
+    end(out, start);
+  }
+
+  /**
+   * This method writes a snapshot end frame at the position of a buffer.
+   *
+   * @param out The buffer to write to.
+   */
+  public static void encodeSnapshotEnd(ByteBuffer out) {
+    end(out, begin(out, SNAPSHOT_END));
+  }
+
+  /**
+   * This method writes an interest frame at the position of a buffer.
+   *
+   * @param radius The radius of the area of interest of the client in cells, 0 for the whole map.
+   * @param out The buffer to write to.
+   */
+  public static void encodeInterest(int radius, ByteBuffer out) {
+    int start = begin(out, INTEREST);
+    out.putInt(radius);
+    end(out, start);
+  }
+
+  /**
+   * This method writes an enter frame at the position of a buffer.
+   *
+   * @param state The state of the character that entered the area of interest.
+   * @param out The buffer to write to.
+   */
+  public static void encodeEnter(CharacterState state, ByteBuffer out) {
+    int start = begin(out, ENTER);
+    out.putInt(state.getId());
+    out.putFloat(state.getX());
+    out.putFloat(state.getY());
+    out.putInt(state.getHp());
+    end(out, start);
+  }
+
+  /**
+   * This method writes a leave frame at the position of a buffer.
+   *
+   * @param id The registry id of the character that left the area of interest.
+   * @param out The buffer to write to.
+   */
+  public static void encodeLeave(int id, ByteBuffer out) {
+    int start = begin(out, LEAVE);
+    out.putInt(id);
+    end(out, start);
+  }
+
+  /**
+   * This method checks if a whole frame is between the position and the limit of a buffer. The
+   * position of the buffer is not changed.
+   *
+   * @param in The buffer to read from.
+   * @return The type of the frame from 0 to 255, or -1 if the frame is not complete yet.
+   * @throws IllegalStateException If the length of the frame is not valid.
+   */
+  public static int peek(ByteBuffer in) {
+    if (in.remaining() < LENGTH_BYTES) {
+      return -1;
+    }
+    int length = in.getInt(in.position());
+    if (length < 1 || length > MAX_FRAME) {
+      throw new IllegalStateException("Invalid frame length: " + length);
+    }
+    if (in.remaining() < LENGTH_BYTES + length) {
+      return -1;
+    }
+    return in.get(in.position() + LENGTH_BYTES) & 0xFF;
+  }
+
+  /**
+   * This method reads a game event frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The event of the frame.
+   * @throws IllegalStateException If the frame is not a game event, or its length does not match
+   *     the fields of its type.
+   */
+  public static GameEvent decode(ByteBuffer in) {
+    int length = in.getInt();
+    int end = in.position() + length;
+    byte type = in.get();
+    GameEvent event;
+    switch (type) {
+      case HERO_MOVE:
+      case ENEMY_MOVE:
+        checkLength(length, MOVE_LENGTH, type);
+        int id = in.getInt();
+        int dx = in.get();
+        int dy = in.get();
+        event = new CharacterMove(dx, dy, id, TYPES[type]);
+        break;
+      case CHARACTER_ATTACK:
+        checkLength(length, ATTACK_LENGTH, type);
+        event =
+            new CharacterAttack(
+                in.getFloat(),
+                in.getFloat(),
+                in.getInt(),
+                in.getFloat(),
+                in.getFloat(),
+                in.getFloat(),
+                TYPES[type]);
+        break;
+      case HERO_ATTACK:
+        checkLength(length, HERO_ATTACK_LENGTH, type);
+        event = new HeroAttack(in.getInt(), in.getFloat(), in.getFloat(), TYPES[type]);
+        break;
+      case GAME_OVER:
+        event = new GameOver(readString(in, end), TYPES[type]);
+        break;
+      case CHARACTER_HP:
+        checkLength(length, HP_LENGTH, type);
+        event = new CharacterHp(in.getInt(), in.getInt(), TYPES[type]);
+        break;
+      default:
+        throw new IllegalStateException("Not an event frame: " + type);
+    }
+    in.position(end);
+    return event;
+  }
+
+  /**
+   * This method reads a join frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The index of the hero of the client.
+   * @throws IllegalStateException If the length of the frame does not match its field.
+   */
+  public static int decodeJoin(ByteBuffer in) {
+    return decodeInt(in);
+  }
+
+  /**
+   * This method reads an interest frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The radius of the area of interest of the client in cells, 0 for the whole map.
+   * @throws IllegalStateException If the length of the frame does not match its field.
+   */
+  public static int decodeInterest(ByteBuffer in) {
+    return decodeInt(in);
+  }
+
+  /**
+   * This method reads an enter frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The state of the character that entered the area of interest.
+   * @throws IllegalStateException If the length of the frame does not match its fields.
+   */
+  public static CharacterState decodeEnter(ByteBuffer in) {
+    int length = in.getInt();
+    int end = length + in.position();
+    checkLength(length, ENTER_LENGTH, in.get());
+    CharacterState state =
+        new CharacterState(in.getInt(), in.getFloat(), in.getFloat(), in.getInt());
+    in.position(end);
+    return state;
+  }
+
+  /**
+   * This method reads a leave frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The registry id of the character that left the area of interest.
+   * @throws IllegalStateException If the length of the frame does not match its field.
+   */
+  public static int decodeLeave(ByteBuffer in) {
+    return decodeInt(in);
+  }
+
+  /**
+   * This method reads a snapshot frame. The frame must be complete, as checked by peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return A view of the bytes of the chunk in the buffer, valid until the buffer is changed.
+   */
+  public static ByteBuffer decodeSnapshot(ByteBuffer in) {
+    int end = in.getInt() + in.position();
+    in.get();
+    ByteBuffer chunk = in.duplicate();
+    chunk.limit(end);
+    in.position(end);
+    return chunk;
+  }
+
+  /**
+   * This method skips a frame without reading its fields. The frame must be complete, as checked by
+   * peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   */
+  public static void skip(ByteBuffer in) {
+    in.position(in.getInt() + in.position());
+  }
+
+  /**
+   * This method starts a frame: it leaves room for the length and writes the type.
+   *
+   * @param out The buffer to write to.
+   * @param type The type of the frame.
+   * @return The position of the length of the frame.
+   */
+  private static int begin(ByteBuffer out, byte type) {
+    int start = out.position();
+    out.putInt(0);
+    out.put(type);
+    return start;
+  }
+
+  /**
+   * This method ends a frame by writing its length in the room left by begin.
+   *
+   * @param out The buffer to write to.
+   * @param start The position of the length of the frame.
+   */
+  private static void end(ByteBuffer out, int start) {
+    out.putInt(start, out.position() - start - LENGTH_BYTES);
+  }
+
+  /**
+   * This method reads a frame whose only field is an int. The frame must be complete, as checked by
+   * peek.
+   *
+   * @param in The buffer to read from, its position is moved past the frame.
+   * @return The field of the frame.
+   * @throws IllegalStateException If the length of the frame does not match its field.
+   */
+  private static int decodeInt(ByteBuffer in) {
+    int length = in.getInt();
+    int end = length + in.position();
+    checkLength(length, INT_LENGTH, in.get());
+    int value = in.getInt();
+    in.position(end);
+    return value;
+  }
+
+  /**
+   * This method checks that the length of a frame is the length of the fields of its type, so the
+   * fields are not read from the next frame.
+   *
+   * @param length The length of the frame.
+   * @param expected The length of the type byte and the fields of the type.
+   * @param type The type of the frame.
+   * @throws IllegalStateException If the lengths are not equal.
+   */
+  private static void checkLength(int length, int expected, int type) {
+    if (length != expected) {
+      throw new IllegalStateException("Invalid length " + length + " of frame type " + type);
+    }
+  }
+
+  /**
+   * This method reads the UTF-8 bytes up to the end of a frame as a string.
+   *
+   * @param in The buffer to read from.
+   * @param end The position of the end of the frame.
+   * @return The string.
+   */
+  private static String readString(ByteBuffer in, int end) {
+    int length = end - in.position();
+    String s;
+    if (in.hasArray()) {
+      s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[length];
+      in.get(bytes, 0, length);
+      in.position(in.position() - length);
+      s = new String(bytes, StandardCharsets.UTF_8);
+    }
+    in.position(end);
+    return s;
+  }
+}
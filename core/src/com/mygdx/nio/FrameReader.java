@@ -0,0 +1,109 @@
+package com.mygdx.nio;
+
+import com.mygdx.config.Config;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import lombok.Getter;
+
+/**
+ * This class reassembles the frames of the EventCodec from a stream of bytes. The bytes are read
+ * into one direct buffer that is reused for the whole connection, so a frame split across several
+ * reads is completed by the next reads, and several frames that arrive in one read are returned one
+ * after the other. The buffer grows when a frame is announced that is bigger than it. The bytes of
+ * the frames that have not been decoded yet are between the position and the limit of the buffer.
+ *
+ * @author Hades
+ */
+public class FrameReader {
+  @Getter private ByteBuffer buffer; // The received bytes, ready to be read.
+
+  /** Constructor for FrameReader. It creates a reader with a buffer of Config.BUFFER_SIZE bytes. */
+  public FrameReader() {
+    this(Config.BUFFER_SIZE);
+  }
+
+  /**
+   * Constructor for FrameReader.
+   *
+   * @param capacity The initial capacity of the buffer.
+   */
+  public FrameReader(int capacity) {
+    buffer = ByteBuffer.allocateDirect(capacity);
+    buffer.flip();
+  }
+
+  /**
+   * This method reads the bytes that are available from a channel into the buffer, after the bytes
+   * that have not been decoded yet. If the frame at the position of the buffer is bigger than the
+   * buffer, the buffer is replaced by a bigger one first.
+   *
+   * @param channel The channel to read from.
+   * @return The number of bytes read, or -1 if the channel has reached the end of the stream.
+   * @throws IOException If an I/O error occurs.
+   */
+  public int read(ReadableByteChannel channel) throws IOException {
+    if (buffer.remaining() >= EventCodec.LENGTH_BYTES) {
+      // Checks the length of the pending frame.
+      EventCodec.peek(buffer);
+      int size = EventCodec.LENGTH_BYTES + buffer.getInt(buffer.position());
+      if (size > buffer.capacity()) {
+        grow(size);
+      }
+    }
+
+    buffer.compact();
+    int bytes;
+    try {
+      bytes = channel.read(buffer);
+    } finally {
+      buffer.flip();
+    }
+    return bytes;
+  }
+
+  /**
+   * This method checks if a whole frame has been received.
+   *
+   * @return The type of the frame at the position of the buffer, or -1 if it is not complete yet.
+   * @throws IllegalStateException If the length of the frame is not valid.
+   */
+  public int next() {
+    return EventCodec.peek(buffer);
+  }
+
+  /**
+   * This method reads from a channel until a whole frame has been received. It is meant for
+   * blocking channels.
+   *
+   * @param channel The channel to read from.
+   * @return The type of the frame at the position of the buffer.
+   * @throws IOException If an I/O error occurs or the channel reaches the end of the stream first.
+   */
+  public int await(ReadableByteChannel channel) throws IOException {
+    int type;
+    while ((type = next()) < 0) {
+      if (read(channel) == -1) {
+        throw new IOException("Connection closed");
+      }
+    }
+    return type;
+  }
+
+  /**
+   * This method replaces the buffer by a bigger one that keeps the bytes that have not been decoded
+   * yet.
+   *
+   * @param size The number of bytes the buffer must hold at least.
+   */
+  private void grow(int size) {
+    int capacity = buffer.capacity();
+    while (capacity < size) {
+      capacity *= 2;
+    }
+    ByteBuffer bigger = ByteBuffer.allocateDirect(capacity);
+    bigger.put(buffer);
+    bigger.flip();
+    buffer = bigger;
+  }
+}
@@ -6,34 +6,36 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.TimeUtils;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mygdx.character.Hero;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameController;
 import com.mygdx.controller.GameState;
 import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
 import com.mygdx.event.CharacterMove;
+import com.mygdx.event.CharacterState;
 import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
 import com.mygdx.event.HeroAttack;
 import com.mygdx.game.BaseScreen;
 import com.mygdx.game.MyGdxGame;
 import com.mygdx.game.ResultsScreen;
-
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.map.InterestArea;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
-import java.util.Objects;
 
 /**
  * This class represents the game client in a multiplayer game. It is responsible for handling user
  * input, communicating with the game server, and rendering the game state. It extends the
- * BaseScreen class and implements the Runnable interface. It uses non-blocking I/O with Java's NIO
- * package to communicate with the server. It uses Jackson for JSON serialization and
- * deserialization. It uses LibGDX for rendering and user input handling.
+ * BaseScreen class and implements the Runnable interface. It uses Java's NIO package to communicate
+ * with the server, with the game events sent and received as binary frames of the EventCodec. It
+ * uses Jackson only to deserialize the initial game state. It uses LibGDX for rendering and user
+ * input handling.
  *
  * @author Hades
  */
@@ -43,6 +45,12 @@ public class GameClient extends BaseScreen implements Runnable {
   private final ShapeRenderer shapeRenderer;
   private final GameController gameController;
   private Hero currentHero;
+  // The buffer the events are encoded into, only used by the render thread.
+  private final ByteBuffer sendBuffer = ByteBuffer.allocate(Config.BUFFER_SIZE);
+  // The frames received from the server.
+  private final FrameReader reader = new FrameReader();
+  // The characters the server sends the events of, only changed by the simulation thread.
+  private InterestArea interest;
 
   /**
    * Constructor for GameClient. Initializes the game client with the provided game instance, server
@@ -88,11 +96,12 @@ public class GameClient extends BaseScreen implements Runnable {
       //      socketChannel.configureBlocking(false);
 
       // Print connection information
-      System.out.println("Attempting to connect to server at " + serverAddress + ":" + port);
+      GameLogger.getInstance()
+          .info(Category.NETWORK, "Attempting to connect to server at {}:{}", serverAddress, port);
       if (socketChannel.isConnected()) {
-        System.out.println("Connection established successfully.");
+        GameLogger.getInstance().info(Category.NETWORK, "Connection established successfully.");
       } else {
-        System.out.println("Failed to establish connection.");
+        GameLogger.getInstance().error(Category.NETWORK, "Failed to establish connection.");
         throw new RuntimeException("Failed to establish connection.");
       }
     } catch (IOException e) {
@@ -101,94 +110,176 @@ public class GameClient extends BaseScreen implements Runnable {
   }
 
   /**
-   * Initializes the game by receiving the initial game state from the server. The game state is
-   * received as a JSON string and deserialized into a GameState object. The textures for the game
-   * entities are loaded.
+   * Initializes the game by receiving the initial game state from the server. The index of the hero
+   * of the client is received in a join frame, followed by the game state as deflated JSON in
+   * snapshot frames, which are inflated as they arrive, up to a snapshot end frame. The JSON is
+   * then deserialized into a GameState object. The frames are read until they are complete,
+   * whatever the number of reads they arrive in, and the frames received after them are kept for
+   * the main loop. The radius of the area of interest of the client follows in an interest frame,
+   * and the area is centered on the hero of the client, so only the characters inside it are shown.
+   * The textures for the game entities are loaded.
    *
    * @throws IOException If an I/O error occurs.
    */
   private void initGame() throws IOException {
-    ObjectMapper objectMapper = new ObjectMapper();
-    String s = receiveMessage();
-    String[] info = s.split("\\|");
-    assert info.length == 2;
+    if (reader.await(socketChannel) != EventCodec.JOIN) {
+      throw new IOException("Expected a join frame");
+    }
+    int player = EventCodec.decodeJoin(reader.getBuffer());
 
-    gameController.setGameState(objectMapper.readValue(info[0], GameState.class));
-    currentHero = gameController.getGameState().getHeroes().get(Integer.parseInt(info[1].trim()));
+    SnapshotReader snapshot = new SnapshotReader();
+    int type;
+    while ((type = reader.await(socketChannel)) == EventCodec.SNAPSHOT) {
+      snapshot.accept(EventCodec.decodeSnapshot(reader.getBuffer()));
+    }
+    if (type != EventCodec.SNAPSHOT_END) {
+      throw new IOException("Expected a snapshot end frame");
+    }
+    EventCodec.skip(reader.getBuffer());
+    byte[] json = snapshot.finish();
+    GameLogger.getInstance()
+        .info(
+            Category.NETWORK,
+            "Received snapshot: {} bytes deflated, {} bytes of JSON",
+            snapshot.getCompressedSize(),
+            json.length);
+
+    gameController.setGameState(new ObjectMapper().readValue(json, GameState.class));
+    GameState gameState = gameController.getGameState();
+    currentHero = gameState.getHeroes().get(player);
+
+    if (reader.await(socketChannel) != EventCodec.INTEREST) {
+      throw new IOException("Expected an interest frame");
+    }
+    int radius = EventCodec.decodeInterest(reader.getBuffer());
+    interest = new InterestArea(currentHero.getNetId(), radius, gameState.getRegistry().length);
+    interest.reset(gameState);
+    // The characters outside the area are not shown and must not be hit by the local bullets.
+    for (int id = 0; id < gameState.getRegistry().length; id++) {
+      if (!interest.isInside(id)) {
+        gameState.removeFromGrid(gameState.getCharacter(id));
+      }
+    }
 
     gameController.loadTexture();
   }
 
   /**
-   * Sends a message to the game server. The message is sent as a JSON string.
+   * Sends a game event to the game server as a binary frame. It is only called by the render
+   * thread, which is the only user of the send buffer.
    *
-   * @param message The message to send.
+   * @param event The game event to send.
    * @throws IOException If an I/O error occurs.
    */
-  public void sendMessage(String message) throws IOException {
-    ByteBuffer buffer = ByteBuffer.allocate(Config.BUFFER_SIZE);
-    buffer.clear();
-    buffer.put(message.getBytes());
-    buffer.flip();
-    while (buffer.hasRemaining()) {
-      socketChannel.write(buffer);
+  public void send(GameEvent event) throws IOException {
+    sendBuffer.clear();
+    EventCodec.encode(event, sendBuffer);
+    sendBuffer.flip();
+    while (sendBuffer.hasRemaining()) {
+      socketChannel.write(sendBuffer);
     }
 
-    System.out.println("Sent to server: " + message);
+    GameLogger.getInstance().debug(Category.NETWORK, "Sent to server: {}", event.getType());
   }
 
   /**
-   * Receives a message from the game server. The message is received as a JSON string.
+   * Receives the bytes that are available from the game server into the frame reader.
    *
-   * @return The received message.
+   * @return The number of bytes read, or -1 if the server has closed the connection.
    * @throws IOException If an I/O error occurs.
    */
-  public String receiveMessage() throws IOException {
-    ByteBuffer buffer = ByteBuffer.allocate(Config.BUFFER_SIZE);
-    StringBuilder receivedMessage = new StringBuilder();
-
-    socketChannel.read(buffer);
-    receivedMessage.append(new String(buffer.array(), StandardCharsets.UTF_8));
+  public int receiveMessage() throws IOException {
+    int bytes = reader.read(socketChannel);
 
-    System.out.println("Received from server: " + receivedMessage);
+    GameLogger.getInstance().debug(Category.NETWORK, "Received from server: {} bytes", bytes);
 
-    return receivedMessage.toString();
+    return bytes;
   }
 
   /**
-   * Handles a message received from the game server. The message is a JSON string that represents a
-   * game event. The event is deserialized and handled according to its type.
-   *
-   * @param msg The message to handle.
-   * @throws JsonProcessingException If an error occurs during JSON processing.
+   * Handles the whole frames received from the game server. Every game event is decoded, and its
+   * handling according to its type is submitted to the simulation thread. A start frame starts the
+   * bullets. An enter frame puts a character back where it is and shows it, and a leave frame hides
+   * a character from the view and from the local bullets, in the order of the moves. A frame that
+   * is not complete yet is left in the frame reader until more bytes arrive.
    */
-  private void handleMassage(String msg) throws JsonProcessingException {
-    String[] msgs = msg.split("\\|");
-    ObjectMapper objectMapper = new ObjectMapper();
-    for (String s : msgs) {
-      if (s.trim().isEmpty()) {
+  private void handleMassage() {
+    ByteBuffer buffer = reader.getBuffer();
+    int type;
+    while ((type = reader.next()) >= 0) {
+      if (type == EventCodec.START) {
+        EventCodec.skip(buffer);
+        GameLogger.getInstance().info(Category.NETWORK, "Game start!");
+        gameController.startBullet();
+        continue;
+      }
+      if (type == EventCodec.ENTER) {
+        CharacterState state = EventCodec.decodeEnter(buffer);
+        gameController.submit(() -> enter(state));
+        continue;
+      }
+      if (type == EventCodec.LEAVE) {
+        int id = EventCodec.decodeLeave(buffer);
+        gameController.submit(() -> leave(id));
         continue;
       }
 
-      JsonNode rootNode = objectMapper.readTree(s);
-      String eventType = rootNode.path("type").asText();
-      if (Objects.equals(eventType, GameEvent.Type.HERO_MOVE.name())) {
-        gameController.handleClientEvent(objectMapper.treeToValue(rootNode, CharacterMove.class));
-      } else if (Objects.equals(eventType, GameEvent.Type.CHARACTER_ATTACK.name())) {
-        gameController.handleClientEvent(objectMapper.treeToValue(rootNode, CharacterAttack.class));
-      } else if (Objects.equals(eventType, GameEvent.Type.ENEMY_MOVE.name())) {
-        gameController.handleClientEvent(objectMapper.treeToValue(rootNode, CharacterMove.class));
-      } else if (Objects.equals(eventType, GameEvent.Type.HERO_ATTACK.name())) {
-        gameController.handleClientEvent(objectMapper.treeToValue(rootNode, HeroAttack.class));
+      GameEvent event = EventCodec.decode(buffer);
+      if (event instanceof CharacterMove) {
+        CharacterMove move = (CharacterMove) event;
+        gameController.submit(() -> gameController.handleClientEvent(move));
+      } else if (event instanceof CharacterAttack) {
+        CharacterAttack attack = (CharacterAttack) event;
+        gameController.submit(() -> gameController.handleClientEvent(attack));
+      } else if (event instanceof HeroAttack) {
+        HeroAttack attack = (HeroAttack) event;
+        gameController.submit(() -> gameController.handleClientEvent(attack));
+      } else if (event instanceof GameOver) {
+        GameOver gameOver = (GameOver) event;
+        gameController.submit(() -> gameController.handleClientEvent(gameOver));
+      } else if (event instanceof CharacterHp) {
+        CharacterHp hp = (CharacterHp) event;
+        gameController.submit(() -> gameController.handleClientEvent(hp));
       } else {
-        throw new RuntimeException("Unknown event type: " + eventType);
+        throw new RuntimeException("Unknown event type: " + event.getType());
       }
     }
   }
 
   /**
-   * Renders the game state. This method is called once per frame. It renders the map, heroes,
-   * enemies, and bullets. If all heroes or enemies are dead, it switches to the results screen.
+   * Shows a character that entered the area of interest. It is put back in the spatial grid before
+   * it is moved to where it is, so the local bullets can hit it again. It is run by the simulation
+   * thread.
+   *
+   * @param state The state of the character.
+   */
+  private void enter(CharacterState state) {
+    GameState gameState = gameController.getGameState();
+    if (!interest.isInside(state.getId())) {
+      gameState.addToGrid(gameState.getCharacter(state.getId()));
+      interest.setInside(state.getId(), true);
+    }
+    gameController.handleClientEvent(state);
+  }
+
+  /**
+   * Hides a character that left the area of interest. It is taken out of the spatial grid, so the
+   * local bullets do not hit it where it was last seen. It is run by the simulation thread.
+   *
+   * @param id The registry id of the character.
+   */
+  private void leave(int id) {
+    GameState gameState = gameController.getGameState();
+    if (interest.isInside(id)) {
+      gameState.removeFromGrid(gameState.getCharacter(id));
+      interest.setInside(id, false);
+    }
+  }
+
+  /**
+   * Renders the game state. This method is called once per frame. It renders the map, the heroes
+   * and enemies inside the area of interest of the client, and the bullets. If the game is over, it
+   * switches to the results screen.
    *
    * @param delta The time in seconds since the last frame.
    */
@@ -196,10 +287,9 @@ public class GameClient extends BaseScreen implements Runnable {
   public void render(float delta) {
     super.render(delta);
 
-    if (gameController.isHeroEmpty()) {
-      game.setScreen(new ResultsScreen(game, "Enemy"));
-    } else if (gameController.isEnemyEmpty()) {
-      game.setScreen(new ResultsScreen(game, "Hero"));
+    GameOver gameOver = gameController.getGameState().getGameOver();
+    if (gameOver != null) {
+      game.setScreen(new ResultsScreen(game, gameOver.getWinner()));
     }
 
     shapeRenderer.setProjectionMatrix(camera.combined);
@@ -212,13 +302,24 @@ public class GameClient extends BaseScreen implements Runnable {
         .getHeroes()
         .forEach(
             hero -> {
+              if (!interest.isInside(hero.getNetId())) {
+                return;
+              }
               if (hero == currentHero) {
                 hero.renderBorder(game.batch);
               }
               hero.render(game.batch);
             });
-    gameController.getGameState().getEnemies().forEach(enemy -> enemy.render(game.batch));
-    gameController.getGameState().getBullets().forEach(bullet -> bullet.render(game.batch));
+    gameController
+        .getGameState()
+        .getEnemies()
+        .forEach(
+            enemy -> {
+              if (interest.isInside(enemy.getNetId())) {
+                enemy.render(game.batch);
+              }
+            });
+    gameController.getGameState().getBulletStore().render(game.batch);
     game.batch.end();
   }
 
@@ -236,22 +337,19 @@ public class GameClient extends BaseScreen implements Runnable {
 
   /**
    * The main loop for receiving messages from the game server. This method is run in a separate
-   * thread. It continuously receives messages from the server and handles them.
+   * thread. It first handles the frames that arrived with the initial game state, then continuously
+   * receives bytes from the server and handles the frames they complete, until the server closes
+   * the connection.
    */
   @Override
   public void run() {
     try {
-      while (true) {
-        String s = receiveMessage();
-        if ("start".equals(s.trim())) {
-          System.out.println("Game start!");
-          Thread.sleep(1000);
-          gameController.startBullet();
-        } else {
-          handleMassage(s);
-        }
+      handleMassage();
+      while (receiveMessage() != -1) {
+        handleMassage();
       }
-    } catch (InterruptedException | IOException e) {
+      GameLogger.getInstance().info(Category.NETWORK, "Server closed the connection.");
+    } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
@@ -300,10 +398,7 @@ public class GameClient extends BaseScreen implements Runnable {
       }
 
       try {
-        sendMessage(
-            new ObjectMapper()
-                .writeValueAsString(
-                    new CharacterMove(dx, dy, currentHero.getId(), GameEvent.Type.HERO_MOVE)));
+        send(new CharacterMove(dx, dy, currentHero.getNetId(), GameEvent.Type.HERO_MOVE));
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -332,10 +427,7 @@ public class GameClient extends BaseScreen implements Runnable {
       Vector3 v3 = new Vector3(screenX, screenY, 0);
       camera.unproject(v3);
       try {
-        sendMessage(
-            new ObjectMapper()
-                .writeValueAsString(
-                    new HeroAttack(currentHero.getId(), v3.x, v3.y, GameEvent.Type.HERO_ATTACK)));
+        send(new HeroAttack(currentHero.getNetId(), v3.x, v3.y, GameEvent.Type.HERO_ATTACK));
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -0,0 +1,393 @@
+package com.mygdx.nio;
+
+import com.mygdx.character.Character;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameController;
+import com.mygdx.controller.GameState;
+import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.CharacterState;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
+import com.mygdx.event.HeroAttack;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.map.InterestArea;
+import com.mygdx.observer.GameObserver;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * This class is one match hosted by a RoomServer. It owns the game controller of the match, whose
+ * world ticker runs on the scheduler shared by all the rooms of the server, and the connections of
+ * the clients that joined it. The clients join the room one after the other, each getting the next
+ * hero, and the match starts when Config.MAX_CONNECTIONS clients have joined. The room observes its
+ * game state and sends the game events to its clients only, and the events received from its
+ * clients are submitted to its own game controller. When the match is over, the room tells the
+ * server, which closes it once the last frames have been sent.
+ *
+ * <p>Each client has an InterestArea around its hero, of Config.INTEREST_RADIUS cells. A client
+ * only gets the moves of the characters inside its area and the attacks whose bullets can cross it,
+ * so the traffic of a client depends on what is around its hero and not on the size of the match. A
+ * character that enters the area is sent with its whole state, since the client missed its moves,
+ * and a character that leaves it is announced, so the client stops showing it. Since a bullet is
+ * only sent to the clients whose area it could cross when it is fired, a client can miss a bullet
+ * that hits a character after the area has moved, so the health points of a character are sent to
+ * the clients whose area holds it whenever they change. With a radius of 0, the areas cover the
+ * whole map and every event is broadcast to all clients, which see every hit themselves.
+ *
+ * @author Hades
+ */
+@Getter
+public class Room implements GameObserver {
+  // The size of the direct buffers the event frames are encoded into.
+  private static final int SLAB_SIZE = 1 << 16;
+
+  private final int id; // The id of the room in its server.
+  private final RoomServer server;
+  private final GameController gameController;
+  private final int radius; // The radius of the areas of interest of the clients, 0 for the map.
+  private final List<Connection> members = new CopyOnWriteArrayList<>();
+  private int joined = 0; // The number of clients that joined, only used by the server thread.
+  // The buffer the next event frames are encoded into, only used by the simulation thread.
+  private ByteBuffer slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+
+  /**
+   * Constructor for Room. The room observes the game state of the game controller.
+   *
+   * @param id The id of the room in its server.
+   * @param server The server that hosts the room.
+   * @param gameController The game controller of the match.
+   */
+  Room(int id, RoomServer server, GameController gameController) {
+    this.id = id;
+    this.server = server;
+    this.gameController = gameController;
+    radius = Config.INTEREST_RADIUS;
+    gameController.getGameState().addObserver(this);
+  }
+
+  /**
+   * This method adds a client to the room. The client gets the next hero, and the game state is
+   * sent to it by a SnapshotWriter before any event of the room, followed by the radius of its area
+   * of interest, which the client centers on its hero in the game state it received. When the room
+   * is full, a start frame is queued for all clients and the match starts. It is only called by the
+   * server thread, while the world ticker of the room is not started yet.
+   *
+   * @param connection The connection of the client.
+   * @throws IOException If the game state cannot be serialized.
+   */
+  void join(Connection connection) throws IOException {
+    int player = joined++;
+    byte[] json = server.getObjectMapper().writeValueAsBytes(gameController.getGameState());
+    GameLogger.getInstance().info(Category.NETWORK, "{} joined room {}", connection.getId(), id);
+    GameLogger.getInstance()
+        .debug(Category.NETWORK, "Snapshot of room {}: {} bytes of JSON", id, json.length);
+
+    GameState gameState = gameController.getGameState();
+    InterestArea interest = new InterestArea(player, radius, gameState.getRegistry().length);
+    interest.reset(gameState);
+    connection.setRoom(this);
+    connection.setInterest(interest);
+    if (connection.sendSnapshot(new SnapshotWriter(player, json))) {
+      connection.requestWrite();
+    }
+    ByteBuffer frame = ByteBuffer.allocate(EventCodec.LENGTH_BYTES + 1 + Integer.BYTES);
+    EventCodec.encodeInterest(radius, frame);
+    frame.flip();
+    server.enqueue(connection, frame);
+    members.add(connection);
+
+    if (isFull()) {
+      ByteBuffer start = ByteBuffer.allocate(EventCodec.LENGTH_BYTES + 1);
+      EventCodec.encodeStart(start);
+      start.flip();
+      members.forEach(c -> server.enqueue(c, start.asReadOnlyBuffer()));
+
+      gameController.startEnemy();
+      gameController.startBullet();
+    }
+  }
+
+  /**
+   * This method removes a client that disconnected from the room. The match goes on without it.
+   *
+   * @param connection The connection of the client.
+   */
+  void leave(Connection connection) {
+    members.remove(connection);
+  }
+
+  /**
+   * This method checks if the room has all its clients.
+   *
+   * @return true if Config.MAX_CONNECTIONS clients have joined, false otherwise.
+   */
+  public boolean isFull() {
+    return joined >= Config.MAX_CONNECTIONS;
+  }
+
+  /**
+   * This method checks if frames are waiting to be sent to any client of the room.
+   *
+   * @return true if a queue is not empty, false otherwise.
+   */
+  boolean hasPending() {
+    return members.stream().anyMatch(Connection::hasPending);
+  }
+
+  /**
+   * This method submits the handling of a game event received from a client to the simulation
+   * thread of the room. A client may only send the moves and attacks of its hero, any other event
+   * is rejected.
+   *
+   * @param event The game event.
+   * @return true if the event was accepted, false if a client must not send it.
+   */
+  boolean handleClientEvent(GameEvent event) {
+    if (event.getType() == GameEvent.Type.HERO_MOVE) {
+      CharacterMove move = (CharacterMove) event;
+      gameController.submit(() -> gameController.handleServerEvent(move));
+    } else if (event.getType() == GameEvent.Type.HERO_ATTACK) {
+      HeroAttack attack = (HeroAttack) event;
+      gameController.submit(() -> gameController.handleServerEvent(attack));
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * This method stops the match and closes the connections of its clients. It is only called by the
+   * server thread.
+   */
+  void close() {
+    gameController.stop();
+    for (Connection connection : members) {
+      connection.getKey().cancel();
+      connection.closeSnapshot();
+      try {
+        connection.getChannel().close();
+      } catch (IOException e) {
+        GameLogger.getInstance()
+            .error(Category.NETWORK, "Failed to close " + connection.getId(), e);
+      }
+    }
+    members.clear();
+  }
+
+  /**
+   * Encodes a game event once into the slab and returns its frame as a read-only view of the slab.
+   * When the slab is full, a new one is allocated and the old one is kept alive by the frames that
+   * still refer to it, until they have been sent. It is called by the simulation thread, which is
+   * the only user of the slab.
+   *
+   * @param event The game event to encode.
+   * @return The frame of the event, ready to be read.
+   */
+  private ByteBuffer encode(GameEvent event) {
+    return encode(out -> EventCodec.encode(event, out));
+  }
+
+  /**
+   * Encodes a frame into the slab and returns it as a read-only view of the slab, allocating a new
+   * slab when the current one is full.
+   *
+   * @param encoder Writes the frame at the position of a buffer.
+   * @return The frame, ready to be read.
+   */
+  private ByteBuffer encode(Consumer<ByteBuffer> encoder) {
+    int start = slab.position();
+    try {
+      encoder.accept(slab);
+    } catch (BufferOverflowException e) {
+      slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+      return encode(encoder);
+    }
+    ByteBuffer frame = slab.duplicate();
+    frame.position(start);
+    frame.limit(slab.position());
+    return frame.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Encodes a game event once and adds a duplicate of its frame to the queues of all clients of the
+   * room. The duplicates share the bytes of the frame and only have their own position, so the cost
+   * of a broadcast does not grow with the size of the frame times the number of clients.
+   *
+   * @param event The game event to send.
+   */
+  private void broadcast(GameEvent event) {
+    ByteBuffer frame = encode(event);
+    members.forEach(c -> server.enqueue(c, frame.duplicate()));
+  }
+
+  /**
+   * Sends a character move to the clients whose area of interest holds the character before and
+   * after the move. The areas of all clients are updated first: a client whose hero moved gets the
+   * characters that entered and left its area, and a client whose area the character entered or
+   * left gets the character itself, instead of the move.
+   *
+   * @param event The character move to send.
+   */
+  private void sendMove(CharacterMove event) {
+    GameState gameState = gameController.getGameState();
+    ByteBuffer frame = null;
+    for (Connection member : members) {
+      InterestArea interest = member.getInterest();
+      if (interest.update(
+          gameState, event.getId(), id -> sendEnter(member, id), id -> sendLeave(member, id))) {
+        if (frame == null) {
+          frame = encode(event);
+        }
+        server.enqueue(member, frame.duplicate());
+      }
+    }
+  }
+
+  /**
+   * Sends a character attack to the clients whose area of interest can be crossed by its bullet.
+   *
+   * @param event The character attack to send.
+   */
+  private void sendAttack(CharacterAttack event) {
+    ByteBuffer frame = null;
+    for (Connection member : members) {
+      InterestArea interest = member.getInterest();
+      if (interest.crosses(event.getX(), event.getY(), event.getSpeedX(), event.getSpeedY())) {
+        if (frame == null) {
+          frame = encode(event);
+        }
+        server.enqueue(member, frame.duplicate());
+      }
+    }
+  }
+
+  /**
+   * Sends the health points of a character to the clients whose area of interest holds it.
+   *
+   * @param event The character health points event to send.
+   */
+  private void sendHp(CharacterHp event) {
+    ByteBuffer frame = null;
+    for (Connection member : members) {
+      if (member.getInterest().isInside(event.getId())) {
+        if (frame == null) {
+          frame = encode(event);
+        }
+        server.enqueue(member, frame.duplicate());
+      }
+    }
+  }
+
+  /**
+   * Sends the state of a character that entered the area of interest of a client.
+   *
+   * @param member The connection of the client.
+   * @param id The registry id of the character.
+   */
+  private void sendEnter(Connection member, int id) {
+    Character character = gameController.getGameState().getCharacter(id);
+    CharacterState state =
+        new CharacterState(id, character.getX(), character.getY(), character.getHp());
+    server.enqueue(member, encode(out -> EventCodec.encodeEnter(state, out)));
+  }
+
+  /**
+   * Tells a client that a character left its area of interest.
+   *
+   * @param member The connection of the client.
+   * @param id The registry id of the character.
+   */
+  private void sendLeave(Connection member, int id) {
+    server.enqueue(member, encode(out -> EventCodec.encodeLeave(id, out)));
+  }
+
+  /**
+   * Handles a game event. This method is not supported and will throw an
+   * UnsupportedOperationException if called.
+   *
+   * @param event The game event to handle.
+   */
+  @Override
+  public void handleEvent(GameEvent event) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Handles a character move event. Encodes the event and adds its frame to the queues of the
+   * clients whose area of interest holds the character, or of all clients if the areas cover the
+   * whole map.
+   *
+   * @param event The character move event to handle.
+   */
+  @Override
+  public void handleEvent(CharacterMove event) {
+    if (radius == 0) {
+      broadcast(event);
+    } else {
+      sendMove(event);
+    }
+  }
+
+  /**
+   * Handles a character attack event. Encodes the event and adds its frame to the queues of the
+   * clients whose area of interest can be crossed by the bullet, or of all clients if the areas
+   * cover the whole map.
+   *
+   * @param event The character attack event to handle.
+   */
+  @Override
+  public void handleEvent(CharacterAttack event) {
+    if (radius == 0) {
+      broadcast(event);
+    } else {
+      sendAttack(event);
+    }
+  }
+
+  /**
+   * Handles a hero attack event. Encodes the event and adds its frame to the queues of all clients
+   * of the room. It is exempt from the areas of interest, because the game state of the server
+   * never dispatches a hero attack: the clients send it, and the hero fires a bullet that is
+   * dispatched as a character attack, which is filtered by the areas.
+   *
+   * @param event The hero attack event to handle.
+   */
+  @Override
+  public void handleEvent(HeroAttack event) {
+    broadcast(event);
+  }
+
+  /**
+   * Handles a game over event. Encodes the event, adds its frame to the queues of all clients of
+   * the room and tells the server that the match is over.
+   *
+   * @param event The game over event to handle.
+   */
+  @Override
+  public void handleEvent(GameOver event) {
+    broadcast(event);
+    server.end(this);
+  }
+
+  /**
+   * Handles a character health points event. Encodes the event and adds its frame to the queues of
+   * the clients whose area of interest holds the character. Nothing is sent if the areas cover the
+   * whole map, since every client gets every bullet and applies its hits.
+   *
+   * @param event The character health points event to handle.
+   */
+  @Override
+  public void handleEvent(CharacterHp event) {
+    if (radius != 0) {
+      sendHp(event);
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package com.mygdx.nio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameController;
+import com.mygdx.event.GameEvent;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.metrics.Metrics.Probe;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import lombok.Getter;
+
+/**
+ * This class is the network side of the multiplayer game. It hosts many independent matches, each
+ * in its own Room with its own game state and world ticker, in one process. A single server thread
+ * multiplexes the sockets of all the clients with one Selector: it accepts the clients, puts them
+ * into the room that is filling up, routes the frames received from a client to the room of its
+ * connection and writes the frames queued for the clients. A client channel only asks for OP_WRITE
+ * while its queue is not empty: the threads that queue frames hand the connection to the server
+ * thread and wake up the selector, so the server thread sleeps in select while nothing happens. The
+ * world tickers of all the rooms share a small pool of simulation threads, and with a
+ * Config.BULLET_PARALLELISM above 1 their bullet updaters share one pool of bullet threads, so the
+ * number of threads does not grow with the number of rooms.
+ *
+ * <p>A new room is opened when the previous one is full. When a limit of rooms is given, the server
+ * stops accepting clients once the last room is full, and it returns once all the rooms are over.
+ *
+ * @author Hades
+ */
+@Getter
+public class RoomServer implements Runnable {
+  // The number of connections the system keeps waiting for an accept, so a burst of clients is
+  // not dropped while the server thread is busy.
+  private static final int ACCEPT_BACKLOG = 1024;
+
+  private final ServerSocketChannel serverSocketChannel;
+  private final Selector selector;
+  private final SelectionKey acceptKey;
+  private final ScheduledThreadPoolExecutor scheduler; // The threads of the world tickers.
+  private final ForkJoinPool bulletPool; // The threads of the bullet updaters, null for none.
+  private final int maxRooms; // The number of rooms after which no client is accepted, 0 for none.
+  private final List<Room> rooms = new CopyOnWriteArrayList<>(); // The rooms that are not closed.
+  // The connections whose keys must ask for OP_WRITE, handed to the server thread.
+  private final Queue<Connection> writeRequests = new ConcurrentLinkedQueue<>();
+  // The rooms whose match is over, handed to the server thread.
+  private final Queue<Room> endedRooms = new ConcurrentLinkedQueue<>();
+  // The rooms that are over and still send their last frames, only used by the server thread.
+  private final List<Room> closingRooms = new ArrayList<>();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private volatile Room lobby; // The room that is filling up, null once no client is accepted.
+  private int roomCount = 0; // The number of rooms opened so far.
+  private int clientId = 0;
+  private volatile boolean running = true;
+
+  /**
+   * Constructor for RoomServer. Opens a ServerSocketChannel, binds it to the provided port,
+   * configures it to be non-blocking and registers it with a Selector. Opens the first room. The
+   * server only handles I/O events once it is run.
+   *
+   * @param port The port to listen on, 0 for any free port.
+   * @param maxRooms The number of rooms after which no client is accepted, 0 for no limit.
+   * @param threads The number of threads that run the world tickers of the rooms.
+   * @throws IOException If an I/O error occurs.
+   */
+  public RoomServer(int port, int maxRooms, int threads) throws IOException {
+    this.maxRooms = maxRooms;
+    Config.changeHeroCount(Config.MULTI_HERO_COUNT);
+    scheduler = new ScheduledThreadPoolExecutor(threads);
+    scheduler.setRemoveOnCancelPolicy(true);
+    bulletPool = Config.BULLET_PARALLELISM > 1 ? new ForkJoinPool(Config.BULLET_PARALLELISM) : null;
+
+    serverSocketChannel = ServerSocketChannel.open();
+    serverSocketChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+    serverSocketChannel.configureBlocking(false);
+
+    selector = Selector.open();
+    acceptKey = serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+    lobby = openRoom();
+  }
+
+  /**
+   * The main loop for handling I/O events. It continuously listens for I/O events on the Selector
+   * and handles them. After every wake up, it first makes the keys of the connections with new
+   * frames ask for OP_WRITE, and closes the rooms that are over and have sent all their frames. It
+   * handles accept events on the ServerSocketChannel and read and write events on the client
+   * SocketChannels. It returns when the server is stopped, or when the limit of rooms has been
+   * reached and all the rooms are closed.
+   */
+  @Override
+  public void run() {
+    GameLogger.getInstance().info(Category.NETWORK, "Server listening on port {}", getPort());
+
+    try {
+      while (running) {
+        if (lobby == null && rooms.isEmpty()) {
+          GameLogger.getInstance().info(Category.NETWORK, "end");
+          break;
+        }
+
+        selector.select();
+        long begin = System.nanoTime();
+        Connection connection;
+        while ((connection = writeRequests.poll()) != null) {
+          connection.requestWrite();
+        }
+
+        Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+        while (keyIterator.hasNext()) {
+          SelectionKey key = keyIterator.next();
+          keyIterator.remove();
+
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            handleAccept(key);
+          } else {
+            if (key.isReadable()) {
+              handleRead(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+              handleWrite(key);
+            }
+          }
+        }
+
+        closeRooms();
+        Metrics.getInstance().record(Probe.SELECTOR, begin);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      rooms.forEach(Room::close);
+      scheduler.shutdownNow();
+      if (bulletPool != null) {
+        bulletPool.shutdown();
+      }
+      close();
+    }
+  }
+
+  /** Closes the ServerSocketChannel and the Selector. */
+  private void close() {
+    try {
+      serverSocketChannel.close();
+      selector.close();
+    } catch (IOException e) {
+      GameLogger.getInstance().error(Category.NETWORK, "Failed to close the server", e);
+    }
+  }
+
+  /** Stops the server. The rooms are closed by the server thread before it returns. */
+  public void stop() {
+    running = false;
+    selector.wakeup();
+  }
+
+  /**
+   * Returns the port the server listens on.
+   *
+   * @return The local port of the ServerSocketChannel.
+   */
+  public int getPort() {
+    return serverSocketChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Opens a new room with a new headless game controller, whose world ticker runs on the shared
+   * scheduler and whose bullets are moved by the shared bullet pool, if any.
+   *
+   * @return The new room.
+   */
+  private Room openRoom() {
+    GameController gameController = new GameController(true);
+    gameController.getWorldTicker().setScheduler(scheduler);
+    if (bulletPool != null) {
+      gameController.setBulletPool(bulletPool);
+    }
+    Room room = new Room(roomCount++, this, gameController);
+    rooms.add(room);
+    return room;
+  }
+
+  /**
+   * Tells the server that the match of a room is over. The room is closed by the server thread once
+   * its last frames have been sent. It is called by the simulation thread of the room.
+   *
+   * @param room The room whose match is over.
+   */
+  void end(Room room) {
+    endedRooms.add(room);
+    selector.wakeup();
+  }
+
+  /** Closes the rooms that are over and have sent all their frames. */
+  private void closeRooms() {
+    Room room;
+    while ((room = endedRooms.poll()) != null) {
+      closingRooms.add(room);
+    }
+    closingRooms.removeIf(
+        r -> {
+          if (r.hasPending()) {
+            return false;
+          }
+          r.close();
+          rooms.remove(r);
+          GameLogger.getInstance().info(Category.NETWORK, "Room {} closed", r.getId());
+          return true;
+        });
+  }
+
+  /**
+   * Handles an accept event on the ServerSocketChannel. Accepts all the pending client connections,
+   * configures each client SocketChannel to be non-blocking, and registers it with the Selector for
+   * reading only. Creates a Connection for each client, attaches it to the key and adds it to the
+   * room that is filling up. When that room is full, a new room is opened, or, if the limit of
+   * rooms has been reached, the ServerSocketChannel stops asking for OP_ACCEPT.
+   *
+   * @param key The SelectionKey for the ServerSocketChannel.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void handleAccept(SelectionKey key) throws IOException {
+    SocketChannel clientChannel;
+    while (lobby != null && (clientChannel = serverSocketChannel.accept()) != null) {
+      clientChannel.configureBlocking(false);
+
+      String clientId = "Player" + this.clientId;
+      this.clientId++;
+      SelectionKey clientKey = clientChannel.register(selector, SelectionKey.OP_READ);
+      Connection connection = new Connection(clientId, clientChannel, clientKey);
+      clientKey.attach(connection);
+
+      GameLogger.getInstance().info(Category.NETWORK, "Client connected: {}", clientId);
+
+      lobby.join(connection);
+      if (lobby.isFull()) {
+        if (maxRooms == 0 || roomCount < maxRooms) {
+          lobby = openRoom();
+        } else {
+          lobby = null;
+          key.interestOps(0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Handles a read event on a client SocketChannel. Reads the bytes from the client into its frame
+   * reader, decodes every whole frame in it, and gives each game event to the room of the client.
+   * The bytes of a frame that is not complete yet are kept for the next read. If the client has
+   * disconnected, it is removed from its room. A client that sends a frame that is not valid, or an
+   * event that a client must not send, is disconnected, and the other clients are not affected.
+   *
+   * @param key The SelectionKey for the client SocketChannel.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void handleRead(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    FrameReader reader = connection.getReader();
+    int bytesRead;
+    try {
+      bytesRead = reader.read(connection.getChannel());
+      while (bytesRead != -1 && reader.next() >= 0) {
+        GameEvent event = EventCodec.decode(reader.getBuffer());
+        GameLogger.getInstance()
+            .debug(
+                Category.NETWORK,
+                "Received from client {}: {}",
+                connection.getId(),
+                event.getType());
+        if (!connection.getRoom().handleClientEvent(event)) {
+          throw new IllegalStateException("Unexpected event: " + event.getType());
+        }
+      }
+    } catch (IOException e) {
+      bytesRead = -1;
+    } catch (RuntimeException e) {
+      GameLogger.getInstance()
+          .error(Category.NETWORK, "Invalid frame from client " + connection.getId(), e);
+      bytesRead = -1;
+    }
+
+    if (bytesRead == -1) {
+      disconnect(connection);
+    }
+  }
+
+  /**
+   * Handles a write event on a client SocketChannel. Sends as many queued frames to the client as
+   * the channel takes. The key stops asking for OP_WRITE once the queue is empty. If the client has
+   * disconnected, it is removed from its room.
+   *
+   * @param key The SelectionKey for the client SocketChannel.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void handleWrite(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    long bytes;
+    try {
+      bytes = connection.write();
+    } catch (IOException e) {
+      disconnect(connection);
+      return;
+    }
+    GameLogger.getInstance()
+        .debug(Category.NETWORK, "Sent to client {}: {} bytes", connection.getId(), bytes);
+  }
+
+  /**
+   * Closes the SocketChannel of a client that disconnected, closes the writer of its initial game
+   * state if it was not fully sent, and removes the client from its room.
+   *
+   * @param connection The connection of the client.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void disconnect(Connection connection) throws IOException {
+    connection.getChannel().close();
+    connection.getKey().cancel();
+    connection.closeSnapshot();
+    connection.getRoom().leave(connection);
+    GameLogger.getInstance().info(Category.NETWORK, "Client disconnected: {}", connection.getId());
+  }
+
+  /**
+   * Adds a frame to the queue of a client. If the key of the client does not ask for OP_WRITE yet,
+   * the connection is handed to the server thread and the selector is woken up, so the server
+   * thread can make the key ask for it. It can be called from any thread.
+   *
+   * @param connection The connection of the client.
+   * @param frame The buffer of the frame, ready to be read.
+   */
+  void enqueue(Connection connection, ByteBuffer frame) {
+    if (connection.enqueue(frame)) {
+      writeRequests.add(connection);
+      selector.wakeup();
+    }
+  }
+}
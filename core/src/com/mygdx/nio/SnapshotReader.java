@@ -0,0 +1,63 @@
+package com.mygdx.nio;
+
+import com.mygdx.config.Config;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.Getter;
+
+/**
+ * This class receives the initial game state sent by a SnapshotWriter. Every snapshot frame is
+ * inflated as soon as it arrives, so the game state is decompressed while it is received, and the
+ * JSON is complete when the snapshot end frame arrives.
+ *
+ * @author Hades
+ */
+class SnapshotReader {
+  private final Inflater inflater = new Inflater();
+  private final byte[] input = new byte[Config.SNAPSHOT_CHUNK];
+  private final byte[] output = new byte[Config.SNAPSHOT_CHUNK];
+  private final ByteArrayOutputStream json = new ByteArrayOutputStream();
+  @Getter private long compressedSize = 0; // The number of deflated bytes received.
+
+  /**
+   * This method inflates a chunk of the game state.
+   *
+   * @param chunk The bytes of the chunk, as returned by EventCodec.decodeSnapshot.
+   * @throws IOException If the chunk is too big or the deflated data is corrupted.
+   */
+  void accept(ByteBuffer chunk) throws IOException {
+    int length = chunk.remaining();
+    if (length > input.length) {
+      throw new IOException("Snapshot chunk too big: " + length);
+    }
+    chunk.get(input, 0, length);
+    compressedSize += length;
+    inflater.setInput(input, 0, length);
+    try {
+      int bytes;
+      while ((bytes = inflater.inflate(output)) > 0) {
+        json.write(output, 0, bytes);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * This method ends the game state, when the snapshot end frame arrives.
+   *
+   * @return The UTF-8 JSON of the game state.
+   * @throws IOException If the deflated data is not complete.
+   */
+  byte[] finish() throws IOException {
+    boolean finished = inflater.finished();
+    inflater.end();
+    if (!finished) {
+      throw new IOException("Snapshot is not complete");
+    }
+    return json.toByteArray();
+  }
+}
@@ -0,0 +1,78 @@
+package com.mygdx.nio;
+
+import com.mygdx.config.Config;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * This class sends the initial game state to a joining client. It produces the join frame, then the
+ * game state as deflated JSON in snapshot frames of at most Config.SNAPSHOT_CHUNK bytes, and then a
+ * snapshot end frame. The frames are produced one at a time, when the previous one has been
+ * written, so the game state is compressed while it is sent, over as many write-ready events as the
+ * channel needs, and only one frame is held in memory. A writer that is dropped before the end must
+ * be closed. It is only used by the server thread.
+ *
+ * @author Hades
+ */
+class SnapshotWriter {
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final byte[] chunk = new byte[Config.SNAPSHOT_CHUNK];
+  // The frame being written, reused for all the frames.
+  private final ByteBuffer frame =
+      ByteBuffer.allocateDirect(EventCodec.LENGTH_BYTES + 1 + Config.SNAPSHOT_CHUNK);
+  // Whether the snapshot end frame has been produced or the writer has been closed.
+  private boolean ended = false;
+
+  /**
+   * Constructor for SnapshotWriter. The join frame is ready to be written.
+   *
+   * @param player The index of the hero of the client.
+   * @param json The UTF-8 JSON of the game state.
+   */
+  SnapshotWriter(int player, byte[] json) {
+    deflater.setInput(json);
+    deflater.finish();
+    EventCodec.encodeJoin(player, frame);
+    frame.flip();
+  }
+
+  /**
+   * This method returns the frame to write. While the current frame has bytes that have not been
+   * written, it is returned again, otherwise the next frame is produced.
+   *
+   * @return The frame to write, or null if all the frames have been written.
+   */
+  ByteBuffer next() {
+    if (frame.hasRemaining()) {
+      return frame;
+    }
+    if (ended) {
+      return null;
+    }
+
+    frame.clear();
+    if (!deflater.finished()) {
+      int length = deflater.deflate(chunk);
+      EventCodec.encodeSnapshot(chunk, 0, length, frame);
+    } else {
+      EventCodec.encodeSnapshotEnd(frame);
+      deflater.end();
+      ended = true;
+    }
+    frame.flip();
+    return frame;
+  }
+
+  /**
+   * This method releases the native memory of the deflater when the client leaves before the whole
+   * game state has been sent. No frame is produced afterwards. It does nothing if the snapshot end
+   * frame has already been produced.
+   */
+  void close() {
+    if (!ended) {
+      deflater.end();
+      ended = true;
+    }
+    frame.limit(0);
+  }
+}
@@ -1,8 +1,10 @@
 package com.mygdx.observer;
 
 import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
 import com.mygdx.event.CharacterMove;
 import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
 import com.mygdx.event.HeroAttack;
 
 /**
@@ -42,4 +44,20 @@ public interface GameObserver {
    * @param event The hero attack event to handle.
    */
   void handleEvent(HeroAttack event);
+
+  /**
+   * Handles a game over event. This event is triggered when the last living character of a team
+   * dies.
+   *
+   * @param event The game over event to handle.
+   */
+  void handleEvent(GameOver event);
+
+  /**
+   * Handles a character health points event. This event is triggered when the health points of a
+   * character change in the game.
+   *
+   * @param event The character health points event to handle.
+   */
+  void handleEvent(CharacterHp event);
 }
@@ -0,0 +1,178 @@
+package com.mygdx.bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.SpatialGrid;
+import com.mygdx.testRunner.TestRunner;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulletStoreTest {
+  static TestRunner testRunner;
+  static Texture texture;
+  BulletStore store;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.BULLET_PATH);
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  @BeforeEach
+  void setUp() {
+    Config.changeConfig(10, 10);
+    store = new BulletStore();
+  }
+
+  @Test
+  void add() {
+    store.add(1, 2, 3, 4, 5, 0);
+    store.add(1, 2, 3, -4, 0, 180);
+    assertEquals(2, store.size());
+    assertEquals(1, store.getX(0));
+    assertEquals(2, store.getY(0));
+    assertEquals(3, store.getAtk(0));
+    assertEquals(BulletStore.TEAM_HERO, store.getTeam(0));
+    assertEquals(BulletStore.TEAM_ENEMY, store.getTeam(1));
+    assertTrue(store.isAlive(1));
+  }
+
+  @Test
+  void grow() {
+    for (int i = 0; i < 1000; i++) {
+      store.add(i, 0, 1, 0, 0, 0);
+    }
+    assertEquals(1000, store.size());
+    assertEquals(999, store.getX(999));
+  }
+
+  @Test
+  void update() {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    Hero hero = new Hero(64, 64, 100, 10, texture, texture);
+    grid.add(hero);
+
+    store.add(0, 0, 1, 1, 0, 0);
+    store.add(64, 64, 10, 1, 0, 180);
+    store.update(0, grid);
+    store.update(1, grid);
+    assertEquals(1, store.getX(0));
+    assertTrue(store.isAlive(0));
+    assertFalse(store.isAlive(1));
+    assertEquals(90, hero.getHp());
+  }
+
+  @Test
+  void updateLongStep() {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    Hero near = new Hero(96, 0, 100, 10, texture, texture);
+    Hero far = new Hero(192, 0, 100, 10, texture, texture);
+    grid.add(near);
+    grid.add(far);
+
+    store.add(0, 8, 10, 300, 0, 0);
+    store.update(0, grid);
+    assertFalse(store.isAlive(0));
+    assertEquals(90, near.getHp());
+    assertEquals(100, far.getHp());
+    assertEquals(96 - Config.BULLET_WIDTH, store.getX(0), 0.001f);
+  }
+
+  @Test
+  void updateSameOutcome() {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    Hero hero = new Hero(160, 64, 100, 10, texture, texture);
+    grid.add(hero);
+
+    store.add(0, 0, 10, 2, 1.25f, 0);
+    int steps = 0;
+    while (store.isAlive(0)) {
+      store.update(0, grid);
+      steps++;
+    }
+    assertEquals(90, hero.getHp());
+    store.add(0, 0, 10, 2 * steps, 1.25f * steps, 0);
+    store.update(1, grid);
+    assertFalse(store.isAlive(1));
+    assertEquals(80, hero.getHp());
+    assertEquals(store.getX(0), store.getX(1), 0.01f);
+    assertEquals(store.getY(0), store.getY(1), 0.01f);
+  }
+
+  @Test
+  void updateOutside() {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    store.add(Config.MAP_WIDTH, 0, 1, 10, 0, 0);
+    store.update(0, grid);
+    assertFalse(store.isAlive(0));
+  }
+
+  @Test
+  void compact() {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    store.add(Config.MAP_WIDTH, 0, 1, 10, 0, 0);
+    store.add(5, 0, 1, 0, 0, 0);
+    store.update(0, grid);
+    store.compact();
+    assertEquals(1, store.size());
+    assertEquals(5, store.getX(0));
+    assertTrue(store.isAlive(0));
+  }
+
+  @Test
+  void toList() {
+    store.add(1, 2, 3, 4, 5, 45);
+    List<Bullet> bullets = store.toList();
+    assertEquals(1, bullets.size());
+    assertEquals(1, bullets.get(0).getX());
+    assertEquals(4, bullets.get(0).getSpeedX());
+    assertEquals(45, bullets.get(0).getRotation());
+
+    store.add(1, 2, 3, 4, 5, 45);
+    assertEquals(1, bullets.size());
+
+    BulletStore other = new BulletStore();
+    other.setAll(store.toList());
+    assertEquals(2, other.size());
+    assertEquals(45, other.getRotation(1));
+  }
+
+  @Test
+  void serialize() throws Exception {
+    SpatialGrid<Hero> grid = new SpatialGrid<>(10, 10);
+    store.add(Config.MAP_WIDTH, 0, 1, 10, 0, 0);
+    store.add(5, 6, 7, 8, 9, 180);
+    store.update(0, grid);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(store);
+    out.close();
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    BulletStore read = (BulletStore) in.readObject();
+    in.close();
+
+    assertEquals(1, read.size());
+    assertEquals(5, read.getX(0));
+    assertEquals(6, read.getY(0));
+    assertEquals(7, read.getAtk(0));
+    assertEquals(BulletStore.TEAM_ENEMY, read.getTeam(0));
+  }
+}
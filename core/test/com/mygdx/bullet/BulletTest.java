@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.mygdx.character.Hero;
 import com.mygdx.config.Config;
 import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.SpatialGrid;
 import com.mygdx.testRunner.TestRunner;
 import java.util.ArrayList;
 import java.util.List;
@@ -56,6 +57,37 @@ public class BulletTest {
     assertTrue(heroList.get(0).getHp() < 100);
   }
 
+  @Test
+  void updateGrid() {
+    Hero hero = new Hero((int) Config.CELL_SIZE * 2, 0, 100, 1, texture, texture);
+    SpatialGrid<Hero> grid = new SpatialGrid<>((int) Config.ROWS, (int) Config.COLS);
+    grid.add(hero);
+
+    bullet.update(grid);
+    assertEquals(99, bullet.getHp());
+
+    bullet.move(Config.CELL_SIZE * 2, 0);
+    bullet.update(grid);
+    assertEquals(0, bullet.getHp());
+    assertEquals(99, hero.getHp());
+  }
+
+  @Test
+  void updateLongStep() {
+    Hero near = new Hero((int) Config.CELL_SIZE * 3, 0, 100, 1, texture, texture);
+    Hero far = new Hero((int) Config.CELL_SIZE * 6, 0, 100, 1, texture, texture);
+    SpatialGrid<Hero> grid = new SpatialGrid<>((int) Config.ROWS, (int) Config.COLS);
+    grid.add(near);
+    grid.add(far);
+
+    Bullet fast = new Bullet(0, 0, 1, Config.CELL_SIZE * 8, 0, 0, texture);
+    fast.update(grid);
+    assertEquals(0, fast.getHp());
+    assertEquals(99, near.getHp());
+    assertEquals(100, far.getHp());
+    assertTrue(fast.getX() < near.getX());
+  }
+
   @ParameterizedTest
   @ArgumentsSource(FloatArgumentsProvider.class)
   public void isDead(float x, float y) {
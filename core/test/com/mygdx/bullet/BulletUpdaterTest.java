@@ -0,0 +1,151 @@
+package com.mygdx.bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.Map;
+import com.mygdx.testRunner.TestRunner;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class BulletUpdaterTest {
+  static final int SIDE = 64;
+  static TestRunner testRunner;
+  static Texture texture;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.BULLET_PATH);
+    Config.changeConfig(SIDE, SIDE);
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    Config.changeConfig(10, 10);
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  private GameState battle() {
+    Random random = new Random(3);
+    Map map = new Map(SIDE, SIDE);
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      int x = (int) (random.nextInt(SIDE) * Config.CELL_SIZE);
+      int y = (int) (random.nextInt(SIDE) * Config.CELL_SIZE);
+      if (map.claim(x, y)) {
+        if (x < Config.MAP_WIDTH / 2) {
+          heroes.add(new Hero(x, y, 1 + random.nextInt(30), 10, texture, texture));
+        } else {
+          enemies.add(new Enemy(x, y, 1 + random.nextInt(30), 10, texture, texture));
+        }
+      }
+    }
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), map);
+    heroes.forEach(hero -> hero.setGameState(gameState));
+    enemies.forEach(enemy -> enemy.setGameState(gameState));
+
+    for (int i = 0; i < 3000; i++) {
+      float angle = random.nextFloat() * 360 - 180;
+      gameState
+          .getBulletStore()
+          .add(
+              random.nextFloat() * Config.MAP_WIDTH,
+              random.nextFloat() * Config.MAP_HEIGHT,
+              10,
+              40 * (float) Math.cos(Math.toRadians(angle)),
+              40 * (float) Math.sin(Math.toRadians(angle)),
+              angle);
+    }
+    return gameState;
+  }
+
+  @Test
+  void parallelMatchesSequential() {
+    GameState sequential = battle();
+    GameState parallel = battle();
+    BulletUpdater sequentialUpdater = new BulletUpdater(sequential, 1);
+    BulletUpdater parallelUpdater = new BulletUpdater(parallel, 4);
+
+    for (int tick = 0; tick < 20; tick++) {
+      sequentialUpdater.run();
+      parallelUpdater.run();
+    }
+
+    assertTrue(sequential.getBulletStore().size() < 3000);
+    assertEquals(sequential.getBulletStore().size(), parallel.getBulletStore().size());
+    for (int i = 0; i < sequential.getBulletStore().size(); i++) {
+      assertEquals(sequential.getBulletStore().getX(i), parallel.getBulletStore().getX(i));
+      assertEquals(sequential.getBulletStore().getY(i), parallel.getBulletStore().getY(i));
+    }
+    for (int i = 0; i < sequential.getHeroes().size(); i++) {
+      assertEquals(sequential.getHeroes().get(i).getHp(), parallel.getHeroes().get(i).getHp());
+    }
+    for (int i = 0; i < sequential.getEnemies().size(); i++) {
+      assertEquals(sequential.getEnemies().get(i).getHp(), parallel.getEnemies().get(i).getHp());
+    }
+    assertTrue(sequential.getHeroAlive() < sequential.getHeroes().size());
+    assertEquals(sequential.getHeroAlive(), parallel.getHeroAlive());
+    assertEquals(sequential.getEnemyAlive(), parallel.getEnemyAlive());
+  }
+
+  @Test
+  void closeAndSharedPool() {
+    GameState own = battle();
+    GameState shared = battle();
+    BulletUpdater ownUpdater = new BulletUpdater(own, 4);
+    BulletUpdater sharedUpdater = new BulletUpdater(shared, 4);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    sharedUpdater.setPool(pool);
+
+    for (int tick = 0; tick < 20; tick++) {
+      ownUpdater.run();
+      sharedUpdater.run();
+      if (tick == 10) {
+        ownUpdater.close();
+        sharedUpdater.close();
+      }
+    }
+    ownUpdater.close();
+    sharedUpdater.close();
+
+    assertFalse(pool.isShutdown());
+    pool.shutdown();
+    assertEquals(own.getBulletStore().size(), shared.getBulletStore().size());
+    assertEquals(own.getHeroAlive(), shared.getHeroAlive());
+    assertEquals(own.getEnemyAlive(), shared.getEnemyAlive());
+  }
+
+  @Test
+  void applyInBulletOrder() {
+    GameState gameState =
+        new GameState(
+            new CopyOnWriteArrayList<>(),
+            new CopyOnWriteArrayList<>(),
+            new BulletStore(),
+            new Map(SIDE, SIDE));
+    Enemy enemy = new Enemy(64, 0, 10, 10, texture, texture);
+    enemy.setGameState(gameState);
+    gameState.getEnemies().add(enemy);
+    gameState.rebuildIndexes();
+
+    BulletStore store = gameState.getBulletStore();
+    store.add(0, 8, 10, 40, 0, 0);
+    store.add(0, 8, 10, 40, 0, 0);
+    new BulletUpdater(gameState).run();
+
+    assertEquals(0, enemy.getHp());
+    assertEquals(0, store.size());
+  }
+}
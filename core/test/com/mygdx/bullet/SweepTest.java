@@ -0,0 +1,32 @@
+package com.mygdx.bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SweepTest {
+  @Test
+  void enter() {
+    assertEquals(0.25f, Sweep.enter(0, 5, 40, 0, 10, 0, 20, 10));
+    assertEquals(0.5f, Sweep.enter(0, 0, 20, 20, 10, 10, 20, 20));
+    assertEquals(0, Sweep.enter(15, 5, 100, 0, 10, 0, 20, 10));
+    assertEquals(0.25f, Sweep.enter(30, 5, -40, 0, 10, 0, 20, 10));
+  }
+
+  @Test
+  void enterMiss() {
+    assertEquals(Sweep.MISS, Sweep.enter(0, 5, 5, 0, 10, 0, 20, 10));
+    assertEquals(Sweep.MISS, Sweep.enter(0, 15, 40, 0, 10, 0, 20, 10));
+    assertEquals(Sweep.MISS, Sweep.enter(0, 10, 40, 0, 10, 0, 20, 10));
+    assertEquals(Sweep.MISS, Sweep.enter(0, 0, 40, 40, 10, 30, 20, 40));
+    assertEquals(Sweep.MISS, Sweep.enter(15, 15, 0, 0, 10, 0, 20, 10));
+  }
+
+  @Test
+  void exit() {
+    assertEquals(1, Sweep.exit(5, 5, 2, 2, 0, 0, 10, 10));
+    assertEquals(0.5f, Sweep.exit(5, 5, 10, 0, 0, 0, 10, 10));
+    assertEquals(0.25f, Sweep.exit(5, 5, 0, -20, 0, 0, 10, 10));
+    assertEquals(0, Sweep.exit(-1, 5, 10, 0, 0, 0, 10, 10));
+  }
+}
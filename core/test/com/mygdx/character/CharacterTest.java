@@ -3,13 +3,15 @@ package com.mygdx.character;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameState;
 import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.FlowField;
 import com.mygdx.map.Map;
 import com.mygdx.testRunner.TestRunner;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.*;
 
@@ -51,16 +53,16 @@ class CharacterTest {
 
   @Test
   void attack() {
-    List<Bullet> bullets = new ArrayList<>();
+    BulletStore bullets = new BulletStore();
     character.attack(enemy, bullets);
-    assertFalse(bullets.isEmpty());
+    assertEquals(1, bullets.size());
   }
 
   @Test
   void testAttack() {
-    List<Bullet> bullets = new ArrayList<>();
+    BulletStore bullets = new BulletStore();
     character.attack(0, 0, bullets);
-    assertFalse(bullets.isEmpty());
+    assertEquals(1, bullets.size());
   }
 
   @Test
@@ -84,13 +86,13 @@ class CharacterTest {
     assertEquals(100, enemy.getHp());
     assertEquals(50, enemy2.getHp());
     assertEquals(75, enemy3.getHp());
-    List<Bullet> bullets = new ArrayList<>();
+    BulletStore bullets = new BulletStore();
     List<Character> characters = new ArrayList<>();
     characters.add(enemy3);
     characters.add(enemy2);
     characters.add(enemy);
     character.attackMinHp(bullets, characters);
-    assertFalse(bullets.isEmpty());
+    assertEquals(1, bullets.size());
   }
 
   @Test
@@ -101,6 +103,26 @@ class CharacterTest {
     assertEquals(1, map.get((int) character.getX(), (int) character.getY()));
   }
 
+  @Test
+  void flowMove() {
+    Map map = new Map((int) Config.ROWS, (int) Config.COLS);
+    map.set(0, 0, 1);
+    enemy.setY(Config.CELL_SIZE * 3);
+    FlowField field = new FlowField((int) Config.ROWS, (int) Config.COLS);
+    field.compute(Collections.singletonList(enemy));
+
+    character.flowMove(field, map, false);
+    assertEquals(0, character.getX());
+    assertEquals(Config.CELL_SIZE, character.getY());
+    assertEquals(1, map.get(0, (int) Config.CELL_SIZE));
+    assertEquals(0, map.get(0, 0));
+
+    map.set(0, (int) (Config.CELL_SIZE * 2), 1);
+    character.flowMove(field, map, false);
+    assertEquals(1, map.get((int) character.getX(), (int) character.getY()));
+    assertNotEquals(Config.CELL_SIZE * 2, character.getY());
+  }
+
   @Test
   void getDieTexture() {
     assertEquals(new Texture(Config.DIE_PATH).toString(), character.getDieTexture().toString());
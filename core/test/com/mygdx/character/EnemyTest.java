@@ -3,7 +3,7 @@ package com.mygdx.character;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameState;
 import com.mygdx.game.MyGdxGame;
@@ -43,25 +43,25 @@ class EnemyTest {
 
   @Test
   void set() {
-    CopyOnWriteArrayList<Bullet> bullets = new CopyOnWriteArrayList<>();
+    BulletStore bullets = new BulletStore();
     CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
     CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
     Map map = new Map(10, 10);
     enemy.setGameState(new GameState(heroes, enemies, bullets, map));
     assertEquals(map, enemy.getGameState().getMap());
-    assertEquals(bullets, enemy.getGameState().getBullets());
+    assertEquals(bullets, enemy.getGameState().getBulletStore());
     assertEquals(heroes, enemy.getGameState().getHeroes());
     assertEquals(enemies, enemy.getGameState().getEnemies());
   }
 
   @Test
   void update() {
-    CopyOnWriteArrayList<Bullet> bullets = new CopyOnWriteArrayList<>();
+    BulletStore bullets = new BulletStore();
     CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
     CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
     Map map = new Map(10, 10);
     enemy.setGameState(new GameState(heroes, enemies, bullets, map));
     enemy.update();
-    assertTrue(bullets.isEmpty());
+    assertEquals(0, bullets.size());
   }
 }
@@ -3,7 +3,7 @@ package com.mygdx.character;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.mygdx.bullet.Bullet;
+import com.mygdx.bullet.BulletStore;
 import com.mygdx.config.Config;
 import com.mygdx.controller.GameState;
 import com.mygdx.game.MyGdxGame;
@@ -19,7 +19,7 @@ class HeroTest {
   static TestRunner testRunner;
   Hero hero;
   Map map;
-  CopyOnWriteArrayList<Bullet> bullets;
+  BulletStore bullets;
   CopyOnWriteArrayList<Enemy> enemies;
 
   @BeforeAll
@@ -42,7 +42,7 @@ class HeroTest {
             10,
             new Texture(Config.HERO_PATH + " (1).png"),
             new Texture(Config.BULLET_PATH));
-    bullets = new CopyOnWriteArrayList<>();
+    bullets = new BulletStore();
     CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
     enemies = new CopyOnWriteArrayList<>();
     map = new Map(10, 10);
@@ -53,14 +53,14 @@ class HeroTest {
   @Test
   void set() {
     assertEquals(map, hero.getGameState().getMap());
-    assertEquals(bullets, hero.getGameState().getBullets());
+    assertEquals(bullets, hero.getGameState().getBulletStore());
     assertEquals(enemies, hero.getGameState().getEnemies());
   }
 
   @Test
   void update() {
     hero.update(1f, 1f);
-    assertFalse(bullets.isEmpty());
+    assertEquals(1, bullets.size());
   }
 
   @Test
@@ -73,7 +73,7 @@ class HeroTest {
   @Test
   void testUpdate1() {
     hero.update();
-    assertTrue(bullets.isEmpty());
+    assertEquals(0, bullets.size());
   }
 
   @Test
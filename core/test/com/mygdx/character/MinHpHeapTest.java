@@ -0,0 +1,119 @@
+package com.mygdx.character;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.config.Config;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.testRunner.TestRunner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MinHpHeapTest {
+  static TestRunner testRunner;
+  static Texture texture;
+  MinHpHeap<Enemy> heap;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.ENEMY_PATH + " (1).png");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  @BeforeEach
+  void setUp() {
+    heap = new MinHpHeap<>();
+  }
+
+  private Enemy enemy(int id, int hp) {
+    Enemy enemy = new Enemy(0, 0, hp, 10, texture, texture);
+    enemy.setNetId(id);
+    heap.update(enemy);
+    return enemy;
+  }
+
+  @Test
+  void peek() {
+    assertNull(heap.peek());
+    enemy(0, 100);
+    Enemy weak = enemy(1, 50);
+    enemy(2, 75);
+    assertSame(weak, heap.peek());
+    assertEquals(3, heap.size());
+  }
+
+  @Test
+  void tie() {
+    enemy(3, 50);
+    Enemy first = enemy(1, 50);
+    enemy(2, 50);
+    assertSame(first, heap.peek());
+  }
+
+  @Test
+  void update() {
+    Enemy a = enemy(0, 100);
+    Enemy b = enemy(1, 50);
+    a.setHp(10);
+    heap.update(a);
+    assertSame(a, heap.peek());
+    a.setHp(200);
+    heap.update(a);
+    assertSame(b, heap.peek());
+  }
+
+  @Test
+  void dead() {
+    Enemy a = enemy(0, 10);
+    Enemy b = enemy(1, 50);
+    a.setHp(0);
+    heap.update(a);
+    assertSame(b, heap.peek());
+    assertEquals(1, heap.size());
+    b.setHp(-5);
+    heap.update(b);
+    assertNull(heap.peek());
+    assertEquals(0, heap.size());
+  }
+
+  @Test
+  void random() {
+    Random random = new Random(7);
+    List<Enemy> enemies = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      enemies.add(enemy(i, 1 + random.nextInt(100)));
+    }
+    for (int round = 0; round < 1000; round++) {
+      Enemy enemy = enemies.get(random.nextInt(enemies.size()));
+      enemy.setHp(enemy.getHp() - random.nextInt(20));
+      heap.update(enemy);
+
+      Enemy expected =
+          enemies.stream()
+              .filter(e -> !e.isDead())
+              .min(Comparator.comparingInt(Enemy::getHp).thenComparingInt(Enemy::getNetId))
+              .orElse(null);
+      assertSame(expected, heap.peek());
+    }
+  }
+
+  @Test
+  void clear() {
+    enemy(0, 10);
+    heap.clear();
+    assertNull(heap.peek());
+    assertEquals(0, heap.size());
+  }
+}
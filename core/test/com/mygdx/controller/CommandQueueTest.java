@@ -0,0 +1,82 @@
+package com.mygdx.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class CommandQueueTest {
+  @Test
+  void drain() {
+    CommandQueue queue = new CommandQueue();
+    List<Integer> ran = new ArrayList<>();
+    assertTrue(queue.isEmpty());
+    assertEquals(0, queue.drain());
+
+    queue.submit(() -> ran.add(1));
+    queue.submit(
+        () -> {
+          throw new IllegalStateException("test");
+        });
+    queue.submit(() -> ran.add(3));
+    assertFalse(queue.isEmpty());
+
+    assertEquals(3, queue.drain());
+    assertEquals(Arrays.asList(1, 3), ran);
+    assertTrue(queue.isEmpty());
+
+    queue.submit(() -> ran.add(4));
+    assertEquals(1, queue.drain());
+    assertEquals(Arrays.asList(1, 3, 4), ran);
+  }
+
+  @Test
+  void drainProducers() throws InterruptedException {
+    CommandQueue queue = new CommandQueue();
+    int producers = 4;
+    int commands = 10000;
+    int[] last = new int[producers];
+    boolean[] ordered = {true};
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[producers];
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      threads[p] =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+                for (int i = 1; i <= commands; i++) {
+                  int value = i;
+                  queue.submit(
+                      () -> {
+                        ordered[0] &= last[producer] == value - 1;
+                        last[producer] = value;
+                      });
+                }
+              });
+      threads[p].start();
+    }
+
+    start.countDown();
+    int ran = 0;
+    while (ran < producers * commands) {
+      ran += queue.drain();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(0, queue.drain());
+    assertTrue(ordered[0]);
+    for (int p = 0; p < producers; p++) {
+      assertEquals(commands, last[p]);
+    }
+  }
+}
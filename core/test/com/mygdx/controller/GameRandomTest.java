@@ -0,0 +1,24 @@
+package com.mygdx.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.junit.jupiter.api.Test;
+
+class GameRandomTest {
+  @Test
+  void stream() {
+    GameRandom random = new GameRandom(42);
+    assertEquals(42, random.getSeed());
+
+    RandomXS128 a = random.stream(0);
+    RandomXS128 b = new GameRandom(42).stream(0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(a.nextLong(), b.nextLong());
+    }
+
+    assertNotEquals(random.stream(0).nextLong(), random.stream(1).nextLong());
+    assertNotEquals(random.stream(0).nextLong(), new GameRandom(43).stream(0).nextLong());
+    assertNotEquals(random.stream(GameRandom.SPAWN_STREAM).nextLong(), random.stream(0).nextLong());
+  }
+}
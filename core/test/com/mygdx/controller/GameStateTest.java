@@ -0,0 +1,156 @@
+package com.mygdx.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.event.GameOver;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.Map;
+import com.mygdx.observer.GameObserver;
+import com.mygdx.testRunner.TestRunner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class GameStateTest {
+  static TestRunner testRunner;
+  static Texture texture;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.BULLET_PATH);
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  @Test
+  void registry() {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    heroes.add(new Hero(0, 0, 100, 10, texture, texture));
+    heroes.add(new Hero(64, 0, 100, 10, texture, texture));
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    enemies.add(new Enemy(0, 64, 100, 10, texture, texture));
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+
+    assertEquals(0, heroes.get(0).getNetId());
+    assertEquals(1, heroes.get(1).getNetId());
+    assertEquals(2, enemies.get(0).getNetId());
+    assertSame(heroes.get(1), gameState.getCharacter(1));
+    assertSame(heroes.get(1), gameState.getHero(1));
+    assertSame(enemies.get(0), gameState.getEnemy(2));
+    assertNull(gameState.getHero(2));
+    assertNull(gameState.getEnemy(0));
+    assertNull(gameState.getCharacter(-1));
+    assertNull(gameState.getCharacter(3));
+
+    enemies.add(0, new Enemy(64, 64, 100, 10, texture, texture));
+    gameState.rebuildIndexes();
+    assertSame(enemies.get(0), gameState.getEnemy(2));
+    assertEquals(3, enemies.get(1).getNetId());
+  }
+
+  @Test
+  void heaps() {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    heroes.add(new Hero(0, 0, 100, 10, texture, texture));
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    enemies.add(new Enemy(0, 64, 100, 10, texture, texture));
+    enemies.add(new Enemy(64, 64, 100, 10, texture, texture));
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+    enemies.forEach(enemy -> enemy.setGameState(gameState));
+
+    assertSame(heroes.get(0), gameState.getHeroHeap().peek());
+    assertSame(enemies.get(0), gameState.getEnemyHeap().peek());
+
+    enemies.get(1).setHp(40);
+    assertSame(enemies.get(1), gameState.getEnemyHeap().peek());
+
+    enemies.get(1).setHp(0);
+    assertSame(enemies.get(0), gameState.getEnemyHeap().peek());
+    assertEquals(1, gameState.getEnemyHeap().size());
+  }
+
+  @Test
+  void gameOver() {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    heroes.add(new Hero(0, 0, 100, 10, texture, texture));
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    enemies.add(new Enemy(0, 64, 100, 10, texture, texture));
+    enemies.add(new Enemy(64, 64, 0, 10, texture, texture));
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+    enemies.forEach(enemy -> enemy.setGameState(gameState));
+    GameObserver observer = mock(GameObserver.class);
+    gameState.addObserver(observer);
+
+    assertEquals(1, gameState.getHeroAlive());
+    assertEquals(1, gameState.getEnemyAlive());
+    assertNull(gameState.getGameOver());
+
+    enemies.get(1).setHp(10);
+    assertEquals(2, gameState.getEnemyAlive());
+    enemies.get(1).setHp(0);
+    enemies.get(0).setHp(-10);
+    assertEquals(0, gameState.getEnemyAlive());
+    assertEquals("Hero", gameState.getGameOver().getWinner());
+    verify(observer, times(1)).handleEvent(any(GameOver.class));
+
+    enemies.get(0).setHp(-20);
+    assertEquals(0, gameState.getEnemyAlive());
+    verify(observer, times(1)).handleEvent(any(GameOver.class));
+  }
+
+  @Test
+  void hideFromGrid() {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    heroes.add(new Hero(0, 0, 100, 10, texture, texture));
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    Enemy enemy = new Enemy(0, (int) Config.CELL_SIZE, 100, 10, texture, texture);
+    enemies.add(enemy);
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+    enemy.setGameState(gameState);
+
+    gameState.removeFromGrid(enemy);
+    assertTrue(gameState.getEnemyGrid().get(0, 1).isEmpty());
+
+    gameState.addToGrid(enemy);
+    enemy.move(Config.CELL_SIZE * 2, Config.CELL_SIZE);
+    assertTrue(gameState.getEnemyGrid().get(0, 1).isEmpty());
+    assertTrue(gameState.getEnemyGrid().get(2, 1).contains(enemy));
+  }
+
+  @Test
+  void seed() throws Exception {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    heroes.add(new Hero(0, 0, 100, 10, texture, texture));
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    enemies.add(new Enemy(0, 64, 100, 10, texture, texture));
+    GameState gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+    gameState.setSeed(42);
+    gameState.rebuildIndexes();
+
+    ObjectMapper mapper = new ObjectMapper();
+    GameState copy = mapper.readValue(mapper.writeValueAsBytes(gameState), GameState.class);
+    copy.rebuildIndexes();
+
+    assertEquals(42, copy.getSeed());
+    assertEquals(gameState.checksum(), copy.checksum());
+    assertEquals(
+        gameState.getCharacter(1).getRandom().nextLong(),
+        copy.getCharacter(1).getRandom().nextLong());
+  }
+}
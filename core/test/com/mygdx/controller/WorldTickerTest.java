@@ -0,0 +1,128 @@
+package com.mygdx.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.bullet.BulletUpdater;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.map.Map;
+import com.mygdx.testRunner.TestRunner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorldTickerTest {
+  static TestRunner testRunner;
+  static Texture texture;
+  GameState gameState;
+  WorldTicker worldTicker;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.BULLET_PATH);
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  @BeforeEach
+  void setUp() {
+    gameState =
+        new GameState(
+            new CopyOnWriteArrayList<>(),
+            new CopyOnWriteArrayList<>(),
+            new BulletStore(),
+            new Map(10, 10));
+    worldTicker = new WorldTicker(gameState, new BulletUpdater(gameState));
+  }
+
+  @Test
+  void tickBullet() {
+    gameState.getBulletStore().add(32, 32, 1, 1, 0, 0);
+
+    worldTicker.tick();
+    assertEquals(32, gameState.getBulletStore().getX(0));
+
+    worldTicker.setBulletEnabled(true);
+    worldTicker.tick();
+    assertEquals(33, gameState.getBulletStore().getX(0));
+  }
+
+  @Test
+  void tickCharacter() {
+    Hero hero = new Hero(0, 0, 100, 10, texture, texture);
+    hero.setGameState(gameState);
+    gameState.getHeroes().add(hero);
+    Enemy enemy = new Enemy((int) (Config.MAP_WIDTH / 2), 0, 100, 10, texture, texture);
+    enemy.setGameState(gameState);
+    gameState.getEnemies().add(enemy);
+    gameState.rebuildIndexes();
+    worldTicker.setHeroEnabled(true);
+
+    worldTicker.tick();
+    assertEquals(1, gameState.getBulletStore().size());
+
+    for (int i = 1; i < WorldTicker.getAiTicks(); i++) {
+      worldTicker.tick();
+    }
+    assertEquals(1, gameState.getBulletStore().size());
+
+    worldTicker.tick();
+    assertEquals(2, gameState.getBulletStore().size());
+  }
+
+  @Test
+  void tickCommand() {
+    worldTicker.submit(() -> gameState.getBulletStore().add(32, 32, 1, 1, 0, 0));
+    assertEquals(0, gameState.getBulletStore().size());
+
+    worldTicker.setBulletEnabled(true);
+    worldTicker.tick();
+    assertEquals(1, gameState.getBulletStore().size());
+    assertEquals(33, gameState.getBulletStore().getX(0));
+    assertTrue(worldTicker.getCommands().isEmpty());
+  }
+
+  @Test
+  void run() {
+    worldTicker.run();
+    worldTicker.run();
+    assertEquals(2, worldTicker.getTick());
+    assertEquals(2, worldTicker.getTickCount());
+    assertTrue(worldTicker.getMaxTickNanos() >= worldTicker.getAverageTickNanos());
+    assertTrue(worldTicker.getHeadroom() <= 1);
+  }
+
+  @Test
+  void startShared() throws InterruptedException {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+    WorldTicker other = new WorldTicker(gameState, new BulletUpdater(gameState));
+    worldTicker.setScheduler(scheduler);
+    other.setScheduler(scheduler);
+
+    worldTicker.start();
+    worldTicker.start();
+    other.start();
+    Thread.sleep(WorldTicker.getTickNanos() * 5 / 1_000_000);
+    worldTicker.stop();
+    other.stop();
+    long tick = worldTicker.getTick();
+    assertTrue(tick > 1);
+    assertTrue(other.getTick() > 1);
+
+    Thread.sleep(WorldTicker.getTickNanos() * 3 / 1_000_000);
+    assertEquals(tick, worldTicker.getTick());
+    scheduler.shutdown();
+  }
+}
@@ -0,0 +1,71 @@
+package com.mygdx.headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameController;
+import com.mygdx.controller.GameState;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.testRunner.TestRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class HeadlessBattleTest {
+  static TestRunner testRunner;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    Config.changeFlowField(true);
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    Config.changeConfig(10, 10);
+    Config.changeFlowField(false);
+    testRunner.exit();
+  }
+
+  @Test
+  void run() {
+    Config.changeConfig(40, 40);
+    Config.changeHeroCount(200);
+    Config.changeEnemyCount(200);
+    GameController gameController = new GameController(true);
+    GameState gameState = gameController.getGameState();
+
+    assertEquals(200, gameState.getHeroes().size());
+    assertEquals(200, gameState.getEnemies().size());
+    assertNull(gameState.getHeroes().get(0).getSprite());
+
+    String summary = HeadlessBattle.run(gameController, 100);
+    assertTrue(summary.startsWith("100 ticks"), summary);
+    assertEquals(100, gameController.getWorldTicker().getTick());
+    assertTrue(gameState.getBulletStore().size() > 0);
+  }
+
+  @Test
+  void runSeed() {
+    Config.changeConfig(40, 40);
+    Config.changeHeroCount(200);
+    Config.changeEnemyCount(200);
+    GameController first = new GameController(true, 42);
+    GameController second = new GameController(true, 42);
+    GameController other = new GameController(true, 43);
+    assertEquals(first.getGameState().checksum(), second.getGameState().checksum());
+    assertNotEquals(first.getGameState().checksum(), other.getGameState().checksum());
+
+    HeadlessBattle.run(first, 100);
+    HeadlessBattle.run(second, 100);
+    assertEquals(first.getGameState().checksum(), second.getGameState().checksum());
+    assertEquals(
+        first.getGameState().getBulletStore().size(),
+        second.getGameState().getBulletStore().size());
+    for (int i = 0; i < 200; i++) {
+      assertEquals(
+          first.getGameState().getEnemies().get(i).getX(),
+          second.getGameState().getEnemies().get(i).getX());
+    }
+  }
+}
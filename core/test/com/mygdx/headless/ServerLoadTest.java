@@ -0,0 +1,115 @@
+package com.mygdx.headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.config.Config;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.nio.EventCodec;
+import com.mygdx.nio.Room;
+import com.mygdx.nio.RoomServer;
+import com.mygdx.testRunner.TestRunner;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ServerLoadTest {
+  static TestRunner testRunner;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    Config.changeConfig(10, 10);
+    Config.changeInterestRadius(0);
+    testRunner.exit();
+  }
+
+  @Test
+  void run() throws IOException, InterruptedException {
+    RoomServer server = new RoomServer(0, 2, 1);
+    Thread thread = new Thread(server);
+    thread.start();
+
+    String summary = ServerLoad.run(server, 2 * Config.MAX_CONNECTIONS, 2000);
+    assertTrue(summary.startsWith("6/6 clients joined, 2/2 matches started"), summary);
+    assertNull(server.getLobby());
+    assertEquals(2, server.getRoomCount());
+
+    server.stop();
+    thread.join(5000);
+    assertFalse(thread.isAlive());
+    assertTrue(server.getRooms().stream().allMatch(r -> r.getMembers().isEmpty()));
+  }
+
+  @Test
+  void runInterest() throws IOException, InterruptedException {
+    Config.changeConfig(20, 20);
+    Config.changeInterestRadius(2);
+    RoomServer server = new RoomServer(0, 1, 1);
+    Thread thread = new Thread(server);
+    thread.start();
+
+    String summary = ServerLoad.run(server, Config.MAX_CONNECTIONS, 2000);
+    assertTrue(summary.startsWith("3/3 clients joined, 1/1 matches started"), summary);
+    assertEquals(2, server.getRooms().get(0).getRadius());
+
+    server.stop();
+    thread.join(5000);
+    assertFalse(thread.isAlive());
+  }
+
+  @Test
+  void badClient() throws IOException, InterruptedException {
+    RoomServer server = new RoomServer(0, 2, 1);
+    Thread thread = new Thread(server);
+    thread.start();
+
+    List<SocketChannel> clients = new ArrayList<>();
+    for (int i = 0; i <= Config.MAX_CONNECTIONS; i++) {
+      clients.add(SocketChannel.open(new InetSocketAddress("localhost", server.getPort())));
+    }
+    awaitMembers(server, 1, 1);
+    Room running = server.getRooms().get(0);
+    Room bad = server.getRooms().get(1);
+    assertEquals(Config.MAX_CONNECTIONS, running.getMembers().size());
+
+    // The last client sends a start frame, which only the server may send.
+    ByteBuffer frame = ByteBuffer.allocate(EventCodec.LENGTH_BYTES + 1);
+    EventCodec.encodeStart(frame);
+    frame.flip();
+    clients.get(Config.MAX_CONNECTIONS).write(frame);
+    awaitMembers(server, 1, 0);
+
+    assertTrue(thread.isAlive());
+    assertEquals(Config.MAX_CONNECTIONS, running.getMembers().size());
+    assertTrue(server.getRooms().contains(running));
+    assertTrue(bad.getMembers().isEmpty());
+
+    server.stop();
+    thread.join(5000);
+    assertFalse(thread.isAlive());
+    for (SocketChannel client : clients) {
+      client.close();
+    }
+  }
+
+  private static void awaitMembers(RoomServer server, int room, int members)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < deadline
+        && (server.getRooms().size() <= room
+            || server.getRooms().get(room).getMembers().size() != members)) {
+      Thread.sleep(10);
+    }
+    assertEquals(members, server.getRooms().get(room).getMembers().size());
+  }
+}
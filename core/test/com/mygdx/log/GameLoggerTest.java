@@ -0,0 +1,112 @@
+package com.mygdx.log;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.log.GameLogger.Level;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameLoggerTest {
+  ByteArrayOutputStream bytes;
+  GameLogger logger;
+
+  @BeforeEach
+  void setUp() {
+    bytes = new ByteArrayOutputStream();
+    logger = new GameLogger(16, new PrintStream(bytes, true));
+  }
+
+  private String output() {
+    assertTrue(logger.flush(1000));
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void format() {
+    logger.info(Category.BULLET, "hit {}, hp: {}", "hero1", 90);
+    logger.info(Category.MAP, "no args {}");
+    logger.error(Category.GAME, "{} {} {}", 1, 2, 3);
+    String output = output();
+    assertTrue(
+        output.contains(
+            "INFO [" + Thread.currentThread().getName() + "] BULLET: hit hero1, hp: 90"));
+    assertTrue(output.contains("MAP: no args {}"));
+    assertTrue(output.contains("ERROR"));
+    assertTrue(output.contains("GAME: 1 2 3"));
+  }
+
+  @Test
+  void levels() {
+    logger.debug(Category.BULLET, "hidden");
+    logger.setLevel(Category.BULLET, Level.DEBUG);
+    assertTrue(logger.isEnabled(Level.DEBUG, Category.BULLET));
+    assertFalse(logger.isEnabled(Level.DEBUG, Category.NETWORK));
+    logger.debug(Category.BULLET, "shown {}", 1);
+    logger.debug(Category.NETWORK, "hidden");
+
+    logger.setLevel(Level.NONE);
+    logger.error(Category.GAME, "hidden");
+    assertFalse(logger.isEnabled(Level.ERROR, Category.GAME));
+    assertFalse(logger.isEnabled(Level.NONE, Category.GAME));
+
+    String output = output();
+    assertTrue(output.contains("shown 1"));
+    assertFalse(output.contains("hidden"));
+  }
+
+  @Test
+  void throwable() {
+    logger.error(Category.GAME, "failed", new IllegalStateException("boom"));
+    String output = output();
+    assertTrue(output.contains("GAME: failed"));
+    assertTrue(output.contains("java.lang.IllegalStateException: boom"));
+  }
+
+  @Test
+  void wakeUp() throws InterruptedException {
+    logger.info(Category.GAME, "first");
+    assertTrue(logger.flush(1000));
+    // The writer parks until the next message is published.
+    Thread.sleep(50);
+    for (int i = 0; i < 100; i++) {
+      logger.info(Category.GAME, "message {}", i);
+      assertTrue(logger.flush(1000));
+    }
+    assertTrue(output().contains("GAME: message 99"));
+  }
+
+  @Test
+  void drop() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch blocked = new CountDownLatch(1);
+    OutputStream slow =
+        new OutputStream() {
+          @Override
+          public void write(int b) {
+            blocked.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+    GameLogger blocking = new GameLogger(4, new PrintStream(slow, true));
+
+    blocking.info(Category.GAME, "first");
+    blocked.await();
+    for (int i = 0; i < 10; i++) {
+      blocking.info(Category.GAME, "message {}", i);
+    }
+    assertEquals(7, blocking.getDropped());
+
+    release.countDown();
+    assertTrue(blocking.flush(1000));
+  }
+}
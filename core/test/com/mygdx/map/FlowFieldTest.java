@@ -0,0 +1,52 @@
+package com.mygdx.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FlowFieldTest {
+  FlowField field;
+
+  @BeforeEach
+  void setUp() {
+    field = new FlowField(10, 10);
+  }
+
+  @Test
+  void compute() {
+    assertEquals(FlowField.UNREACHED, field.getDistance(0, 0));
+
+    Hero near =
+        new Hero((int) (Config.CELL_SIZE * 2), (int) (Config.CELL_SIZE * 3), 100, 10, null, null);
+    Hero far =
+        new Hero((int) (Config.CELL_SIZE * 9), (int) (Config.CELL_SIZE * 9), 100, 10, null, null);
+    field.compute(Arrays.asList(near, far));
+
+    assertEquals(0, field.getDistance(Config.CELL_SIZE * 2, Config.CELL_SIZE * 3));
+    assertEquals(0, field.getDistance(Config.CELL_SIZE * 9, Config.CELL_SIZE * 9));
+    assertEquals(5, field.getDistance(0, 0));
+    assertEquals(2, field.getDistance(Config.CELL_SIZE * 9, Config.CELL_SIZE * 7));
+    assertEquals(FlowField.UNREACHED, field.getDistance(-Config.CELL_SIZE, 0));
+    assertEquals(FlowField.UNREACHED, field.getDistance(Config.CELL_SIZE * 10, 0));
+  }
+
+  @Test
+  void computeDead() {
+    Hero dead = new Hero(0, 0, 0, 10, null, null);
+    field.compute(Collections.singletonList(dead));
+    assertEquals(FlowField.UNREACHED, field.getDistance(0, 0));
+
+    Hero alive = new Hero(0, 0, 100, 10, null, null);
+    field.compute(Arrays.asList(dead, alive));
+    assertEquals(18, field.getDistance(Config.CELL_SIZE * 9, Config.CELL_SIZE * 9));
+
+    field.compute(new ArrayList<Hero>());
+    assertEquals(FlowField.UNREACHED, field.getDistance(0, 0));
+  }
+}
@@ -0,0 +1,167 @@
+package com.mygdx.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.mygdx.bullet.BulletStore;
+import com.mygdx.character.Enemy;
+import com.mygdx.character.Hero;
+import com.mygdx.config.Config;
+import com.mygdx.controller.GameState;
+import com.mygdx.event.CharacterHp;
+import com.mygdx.observer.GameObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class InterestAreaTest {
+  GameState gameState;
+  Hero hero;
+  Hero other;
+  Enemy near;
+  Enemy far;
+  List<Integer> entered;
+  List<Integer> left;
+
+  @BeforeEach
+  void setUp() {
+    CopyOnWriteArrayList<Hero> heroes = new CopyOnWriteArrayList<>();
+    hero = new Hero(cell(2), cell(2), 100, 10, null, null);
+    other = new Hero(cell(2), cell(5), 100, 10, null, null);
+    heroes.add(hero);
+    heroes.add(other);
+    CopyOnWriteArrayList<Enemy> enemies = new CopyOnWriteArrayList<>();
+    near = new Enemy(cell(3), cell(3), 100, 10, null, null);
+    far = new Enemy(cell(7), cell(7), 100, 10, null, null);
+    enemies.add(near);
+    enemies.add(far);
+    gameState = new GameState(heroes, enemies, new BulletStore(), new Map(10, 10));
+    heroes.forEach(h -> h.setGameState(gameState));
+    enemies.forEach(e -> e.setGameState(gameState));
+    entered = new ArrayList<>();
+    left = new ArrayList<>();
+  }
+
+  @Test
+  void reset() {
+    InterestArea area = new InterestArea(hero.getNetId(), 1, 4);
+    area.reset(gameState);
+
+    assertTrue(area.isInside(hero.getNetId()));
+    assertTrue(area.isInside(near.getNetId()));
+    assertFalse(area.isInside(other.getNetId()));
+    assertFalse(area.isInside(far.getNetId()));
+    assertFalse(area.isInside(-1));
+    assertTrue(area.contains(cell(1), cell(3) + 5));
+    assertFalse(area.contains(cell(4), cell(2)));
+  }
+
+  @Test
+  void updateOther() {
+    InterestArea area = new InterestArea(hero.getNetId(), 1, 4);
+    area.reset(gameState);
+
+    near.move(cell(3), cell(2));
+    assertTrue(area.update(gameState, near.getNetId(), entered::add, left::add));
+    near.move(cell(4), cell(2));
+    assertFalse(area.update(gameState, near.getNetId(), entered::add, left::add));
+    assertFalse(area.isInside(near.getNetId()));
+    other.move(cell(2), cell(3));
+    assertFalse(area.update(gameState, other.getNetId(), entered::add, left::add));
+    assertTrue(area.isInside(other.getNetId()));
+    far.move(cell(7), cell(6));
+    assertFalse(area.update(gameState, far.getNetId(), entered::add, left::add));
+
+    assertEquals(Collections.singletonList(other.getNetId()), entered);
+    assertEquals(Collections.singletonList(near.getNetId()), left);
+  }
+
+  @Test
+  void updatePlayer() {
+    InterestArea area = new InterestArea(hero.getNetId(), 1, 4);
+    area.reset(gameState);
+
+    hero.move(cell(2), cell(3));
+    assertTrue(area.update(gameState, hero.getNetId(), entered::add, left::add));
+    assertEquals(3, area.getCenterY());
+    hero.move(cell(2), cell(4));
+    assertTrue(area.update(gameState, hero.getNetId(), entered::add, left::add));
+    assertTrue(left.isEmpty());
+    hero.move(cell(1), cell(4));
+    assertTrue(area.update(gameState, hero.getNetId(), entered::add, left::add));
+
+    assertEquals(Collections.singletonList(other.getNetId()), entered);
+    assertEquals(Collections.singletonList(near.getNetId()), left);
+    assertTrue(area.isInside(hero.getNetId()));
+    assertTrue(area.isInside(other.getNetId()));
+    assertFalse(area.isInside(near.getNetId()));
+  }
+
+  @Test
+  void wholeMap() {
+    InterestArea area = new InterestArea(hero.getNetId(), 0, 4);
+    area.reset(gameState);
+
+    assertTrue(area.isInside(far.getNetId()));
+    far.move(cell(7), cell(6));
+    assertTrue(area.update(gameState, far.getNetId(), entered::add, left::add));
+    hero.move(cell(2), cell(3));
+    assertTrue(area.update(gameState, hero.getNetId(), entered::add, left::add));
+    assertTrue(entered.isEmpty());
+    assertTrue(left.isEmpty());
+    assertTrue(area.crosses(cell(9), cell(9), 1, 1));
+  }
+
+  @Test
+  void crosses() {
+    InterestArea area = new InterestArea(hero.getNetId(), 1, 4);
+    area.reset(gameState);
+
+    assertTrue(area.crosses(cell(2), cell(2), 1, 0));
+    assertTrue(area.crosses(cell(9), cell(2), -2, 0));
+    assertFalse(area.crosses(cell(9), cell(2), 2, 0));
+    assertTrue(area.crosses(cell(9), cell(9), -1, -1));
+    assertFalse(area.crosses(cell(9), cell(9), -1, 0));
+    assertFalse(area.crosses(cell(2), cell(9), 0, 1));
+    assertTrue(area.crosses(cell(2), cell(9), 0, -1));
+  }
+
+  @Test
+  void hitAfterMove() {
+    GameObserver observer = mock(GameObserver.class);
+    gameState.addObserver(observer);
+    InterestArea area = new InterestArea(hero.getNetId(), 1, 4);
+    area.reset(gameState);
+
+    // An enemy bullet flies towards the other hero, outside the area when it is fired.
+    BulletStore bullets = gameState.getBulletStore();
+    bullets.add(cell(9), cell(5) + 10, 10, -20, 0, 180);
+    assertFalse(area.crosses(bullets.getX(0), bullets.getY(0), -20, 0));
+
+    // The hero moves towards the other hero, which enters the area before the bullet hits it.
+    hero.move(cell(2), cell(3));
+    area.update(gameState, hero.getNetId(), entered::add, left::add);
+    hero.move(cell(2), cell(4));
+    area.update(gameState, hero.getNetId(), entered::add, left::add);
+    assertEquals(Collections.singletonList(other.getNetId()), entered);
+    while (bullets.isAlive(0)) {
+      bullets.update(0, gameState.getHeroGrid());
+    }
+
+    // The health points of the other hero are sent, since it is inside the area.
+    ArgumentCaptor<CharacterHp> event = ArgumentCaptor.forClass(CharacterHp.class);
+    verify(observer).handleEvent(event.capture());
+    assertEquals(other.getNetId(), event.getValue().getId());
+    assertEquals(90, event.getValue().getHp());
+    assertTrue(area.isInside(event.getValue().getId()));
+  }
+
+  private static int cell(int index) {
+    return (int) (index * Config.CELL_SIZE);
+  }
+}
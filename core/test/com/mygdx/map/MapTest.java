@@ -58,4 +58,38 @@ class MapTest {
     map.set(0, 0, 1);
     assertEquals(1, map.get(0, 0));
   }
+
+  @Test
+  void claim() {
+    assertTrue(map.claim(0, 0));
+    assertFalse(map.claim(0, 0));
+    assertFalse(map.claim((int) -Config.CELL_SIZE, 0));
+    assertEquals(1, map.get(0, 0));
+  }
+
+  @Test
+  void move() {
+    int cell = (int) Config.CELL_SIZE;
+    map.set(0, 0, 1);
+    map.set(cell, cell, 1);
+    assertFalse(map.move(0, 0, cell, cell));
+    assertEquals(1, map.get(0, 0));
+    assertTrue(map.move(0, 0, cell, 0));
+    assertEquals(0, map.get(0, 0));
+    assertEquals(1, map.get(cell, 0));
+  }
+
+  @Test
+  void matrix() {
+    map.set((int) Config.CELL_SIZE, 0, 1);
+    int[][] matrix = map.getMatrix();
+    assertEquals(10, matrix.length);
+    assertEquals(1, matrix[1][0]);
+
+    Map copy = new Map();
+    copy.setMatrix(matrix);
+    assertEquals(10, copy.getRows());
+    assertEquals(1, copy.get((int) Config.CELL_SIZE, 0));
+    assertEquals(0, copy.get(0, 0));
+  }
 }
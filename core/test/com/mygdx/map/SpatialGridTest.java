@@ -0,0 +1,75 @@
+package com.mygdx.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.mygdx.character.Enemy;
+import com.mygdx.config.Config;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.testRunner.TestRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpatialGridTest {
+  static TestRunner testRunner;
+  static Texture texture;
+  SpatialGrid<Enemy> grid;
+  Enemy enemy;
+
+  @BeforeAll
+  static void setUpAll() {
+    testRunner = new TestRunner(new MyGdxGame());
+    texture = new Texture(Config.ENEMY_PATH + " (1).png");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    texture.dispose();
+    testRunner.exit();
+  }
+
+  @BeforeEach
+  void setUp() {
+    grid = new SpatialGrid<>(10, 10);
+    enemy = new Enemy((int) Config.CELL_SIZE, 0, 100, 10, texture, texture);
+    grid.add(enemy);
+  }
+
+  @Test
+  void add() {
+    assertTrue(grid.get(1, 0).contains(enemy));
+    assertTrue(grid.get(0, 0).isEmpty());
+  }
+
+  @Test
+  void move() {
+    float fromX = enemy.getX();
+    float fromY = enemy.getY();
+    enemy.move(Config.CELL_SIZE * 2, Config.CELL_SIZE);
+    grid.move(enemy, fromX, fromY);
+    assertTrue(grid.get(1, 0).isEmpty());
+    assertTrue(grid.get(2, 1).contains(enemy));
+  }
+
+  @Test
+  void remove() {
+    grid.remove(enemy);
+    assertTrue(grid.get(1, 0).isEmpty());
+    grid.add(enemy);
+    assertTrue(grid.get(1, 0).contains(enemy));
+  }
+
+  @Test
+  void get() {
+    assertTrue(grid.get(-1, 0).isEmpty());
+    assertTrue(grid.get(10, 10).isEmpty());
+  }
+
+  @Test
+  void clear() {
+    grid.clear();
+    assertTrue(grid.get(1, 0).isEmpty());
+  }
+}
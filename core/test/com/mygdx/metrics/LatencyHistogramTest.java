@@ -0,0 +1,72 @@
+package com.mygdx.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+  @Test
+  void buckets() {
+    long previous = -1;
+    for (int i = 0; i < 976; i++) {
+      assertEquals(previous + 1, LatencyHistogram.lower(i));
+      assertTrue(LatencyHistogram.upper(i) >= LatencyHistogram.lower(i));
+      assertEquals(i, LatencyHistogram.bucket(LatencyHistogram.lower(i)));
+      assertEquals(i, LatencyHistogram.bucket(LatencyHistogram.upper(i)));
+      previous = LatencyHistogram.upper(i);
+      if (previous == Long.MAX_VALUE) {
+        break;
+      }
+    }
+    assertEquals(Long.MAX_VALUE, previous);
+  }
+
+  @Test
+  void precision() {
+    Random random = new Random(1);
+    for (int i = 0; i < 10000; i++) {
+      long value = Math.abs(random.nextLong()) >>> random.nextInt(63);
+      int bucket = LatencyHistogram.bucket(value);
+      assertTrue(LatencyHistogram.lower(bucket) <= value);
+      assertTrue(value <= LatencyHistogram.upper(bucket));
+      assertTrue(LatencyHistogram.upper(bucket) - value <= value / 16 + 1);
+    }
+  }
+
+  @Test
+  void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(50));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMax());
+    assertEquals(500_000, histogram.getPercentile(50), 500_000 / 16.0);
+    assertEquals(990_000, histogram.getPercentile(99), 990_000 / 16.0);
+    assertEquals(1_000_000, histogram.getPercentile(100));
+
+    histogram.record(-5);
+    assertEquals(0, histogram.getPercentile(0.01));
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  void write() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(3);
+    histogram.record(40);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    histogram.write(new PrintStream(bytes, true));
+    assertEquals(
+        "3\t3\t2" + System.lineSeparator() + "40\t41\t1" + System.lineSeparator(),
+        bytes.toString());
+  }
+}
@@ -0,0 +1,44 @@
+package com.mygdx.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.metrics.Metrics.Probe;
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+  @AfterEach
+  void tearDown() {
+    Metrics.getInstance().reset();
+  }
+
+  @Test
+  void record() {
+    Metrics metrics = Metrics.getInstance();
+    metrics.reset();
+    metrics.record(Probe.BULLETS, System.nanoTime() - 2_000_000);
+    assertEquals(1, metrics.get(Probe.BULLETS).getCount());
+    assertTrue(metrics.get(Probe.BULLETS).getMax() >= 2_000_000);
+
+    String summary = metrics.summary();
+    assertTrue(summary.startsWith("BULLETS"));
+    assertFalse(summary.contains("RENDER"));
+  }
+
+  @Test
+  void dump() throws Exception {
+    Metrics metrics = Metrics.getInstance();
+    metrics.reset();
+    metrics.get(Probe.RENDER).record(40);
+    File file = File.createTempFile("latency", ".txt");
+    file.deleteOnExit();
+
+    metrics.dump(file.getPath());
+    String text = new String(Files.readAllBytes(file.toPath()));
+    assertTrue(text.contains("RENDER"));
+    assertTrue(text.contains("# RENDER lower_ns upper_ns count"));
+    assertTrue(text.contains("40\t41\t1"));
+  }
+}
@@ -0,0 +1,146 @@
+package com.mygdx.nio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionTest {
+  ServerSocketChannel server;
+  SocketChannel client;
+  SocketChannel peer;
+  Selector selector;
+  Connection connection;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress("127.0.0.1", 0));
+    client = SocketChannel.open(server.getLocalAddress());
+    peer = server.accept();
+    peer.configureBlocking(false);
+
+    selector = Selector.open();
+    SelectionKey key = peer.register(selector, SelectionKey.OP_READ);
+    connection = new Connection("Player0", peer, key);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    selector.close();
+    client.close();
+    peer.close();
+    server.close();
+  }
+
+  @Test
+  void enqueue() {
+    assertTrue(connection.enqueue(ByteBuffer.allocate(1)));
+    assertFalse(connection.enqueue(ByteBuffer.allocate(1)));
+    assertTrue(connection.hasPending());
+
+    connection.requestWrite();
+    assertNotEquals(0, connection.getKey().interestOps() & SelectionKey.OP_WRITE);
+  }
+
+  @Test
+  void write() throws IOException {
+    connection.enqueue(ByteBuffer.wrap(new byte[] {1, 2}));
+    connection.enqueue(ByteBuffer.wrap(new byte[] {3}));
+    connection.requestWrite();
+
+    assertEquals(3, connection.write());
+    assertFalse(connection.hasPending());
+    assertEquals(0, connection.getKey().interestOps() & SelectionKey.OP_WRITE);
+
+    ByteBuffer received = ByteBuffer.allocate(3);
+    while (received.hasRemaining()) {
+      client.read(received);
+    }
+    assertArrayEquals(new byte[] {1, 2, 3}, received.array());
+    // The next frame asks for OP_WRITE again.
+    assertTrue(connection.enqueue(ByteBuffer.allocate(1)));
+  }
+
+  @Test
+  void writeShared() throws IOException {
+    ByteBuffer frame = ByteBuffer.wrap(new byte[] {7, 8, 9}).asReadOnlyBuffer();
+    int count = Connection.BATCH * 2 + 1;
+    for (int i = 0; i < count; i++) {
+      connection.enqueue(frame.duplicate());
+    }
+
+    assertEquals(3L * count, connection.write());
+    assertFalse(connection.hasPending());
+    assertEquals(0, frame.position());
+
+    ByteBuffer received = ByteBuffer.allocate(3 * count);
+    while (received.hasRemaining()) {
+      client.read(received);
+    }
+    for (int i = 0; i < received.capacity(); i++) {
+      assertEquals(7 + i % 3, received.get(i));
+    }
+  }
+
+  @Test
+  void writeSnapshot() throws IOException {
+    assertTrue(connection.sendSnapshot(new SnapshotWriter(1, "{}".getBytes("UTF-8"))));
+    assertFalse(connection.enqueue(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, EventCodec.START})));
+    assertTrue(connection.hasPending());
+
+    connection.write();
+    assertFalse(connection.hasPending());
+    FrameReader reader = new FrameReader();
+    assertEquals(EventCodec.JOIN, reader.await(client));
+    assertEquals(1, EventCodec.decodeJoin(reader.getBuffer()));
+    SnapshotReader snapshot = new SnapshotReader();
+    assertEquals(EventCodec.SNAPSHOT, reader.await(client));
+    snapshot.accept(EventCodec.decodeSnapshot(reader.getBuffer()));
+    assertEquals(EventCodec.SNAPSHOT_END, reader.await(client));
+    EventCodec.skip(reader.getBuffer());
+    assertEquals("{}", new String(snapshot.finish(), "UTF-8"));
+    assertEquals(EventCodec.START, reader.await(client));
+  }
+
+  @Test
+  void writePartial() throws IOException {
+    // More bytes than the socket buffers can take while the client does not read.
+    int size = 1 << 20;
+    byte[] frame = new byte[size];
+    for (int i = 0; i < size; i++) {
+      frame[i] = (byte) i;
+    }
+    for (int i = 0; i < 16; i++) {
+      connection.enqueue(ByteBuffer.wrap(frame));
+    }
+    connection.requestWrite();
+
+    long written = connection.write();
+    assertTrue(written < 16L * size);
+    assertTrue(connection.hasPending());
+    assertNotEquals(0, connection.getKey().interestOps() & SelectionKey.OP_WRITE);
+
+    ByteBuffer received = ByteBuffer.allocate(size);
+    long total = 0;
+    while (connection.hasPending() || total < written) {
+      received.clear();
+      total += client.read(received);
+      written += connection.write();
+      for (int i = 0; i < received.position(); i++) {
+        assertEquals((byte) (total - received.position() + i), received.get(i));
+      }
+    }
+    assertEquals(16L * size, written);
+    assertEquals(16L * size, total);
+    assertEquals(0, connection.getKey().interestOps() & SelectionKey.OP_WRITE);
+  }
+}
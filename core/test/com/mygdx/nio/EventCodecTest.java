@@ -0,0 +1,155 @@
+package com.mygdx.nio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.event.CharacterAttack;
+import com.mygdx.event.CharacterHp;
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.CharacterState;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.GameOver;
+import com.mygdx.event.HeroAttack;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventCodecTest {
+  ByteBuffer buffer;
+
+  @BeforeEach
+  void setUp() {
+    buffer = ByteBuffer.allocate(1024);
+  }
+
+  @Test
+  void encodeMove() {
+    EventCodec.encode(new CharacterMove(-1, 1, 12345, GameEvent.Type.ENEMY_MOVE), buffer);
+    assertEquals(11, buffer.position());
+    buffer.flip();
+
+    assertEquals(EventCodec.ENEMY_MOVE, EventCodec.peek(buffer));
+    CharacterMove move = (CharacterMove) EventCodec.decode(buffer);
+    assertEquals(GameEvent.Type.ENEMY_MOVE, move.getType());
+    assertEquals(-1, move.getDirectionX());
+    assertEquals(1, move.getDirectionY());
+    assertEquals(12345, move.getId());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void encodeAttack() {
+    EventCodec.encode(
+        new CharacterAttack(1.5f, 2.5f, 10, -3f, 4f, 90f, GameEvent.Type.CHARACTER_ATTACK), buffer);
+    EventCodec.encode(new HeroAttack(7, 8.25f, 9.75f, GameEvent.Type.HERO_ATTACK), buffer);
+    buffer.flip();
+
+    CharacterAttack attack = (CharacterAttack) EventCodec.decode(buffer);
+    assertEquals(1.5f, attack.getX());
+    assertEquals(2.5f, attack.getY());
+    assertEquals(10, attack.getAtk());
+    assertEquals(-3f, attack.getSpeedX());
+    assertEquals(4f, attack.getSpeedY());
+    assertEquals(90f, attack.getRotation());
+
+    HeroAttack heroAttack = (HeroAttack) EventCodec.decode(buffer);
+    assertEquals(GameEvent.Type.HERO_ATTACK, heroAttack.getType());
+    assertEquals(7, heroAttack.getId());
+    assertEquals(8.25f, heroAttack.getX());
+    assertEquals(9.75f, heroAttack.getY());
+  }
+
+  @Test
+  void encodeControl() {
+    EventCodec.encodeJoin(2, buffer);
+    EventCodec.encodeSnapshot(new byte[] {9, 1, 2, 3, 9}, 1, 3, buffer);
+    EventCodec.encodeSnapshotEnd(buffer);
+    EventCodec.encodeStart(buffer);
+    EventCodec.encode(new GameOver("Hero", GameEvent.Type.GAME_OVER), buffer);
+    buffer.flip();
+
+    assertEquals(EventCodec.JOIN, EventCodec.peek(buffer));
+    assertEquals(2, EventCodec.decodeJoin(buffer));
+    assertEquals(EventCodec.SNAPSHOT, EventCodec.peek(buffer));
+    ByteBuffer chunk = EventCodec.decodeSnapshot(buffer);
+    assertEquals(3, chunk.remaining());
+    assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), chunk);
+    assertEquals(EventCodec.SNAPSHOT_END, EventCodec.peek(buffer));
+    EventCodec.skip(buffer);
+    assertEquals(EventCodec.START, EventCodec.peek(buffer));
+    EventCodec.skip(buffer);
+    assertEquals("Hero", ((GameOver) EventCodec.decode(buffer)).getWinner());
+    assertEquals(-1, EventCodec.peek(buffer));
+  }
+
+  @Test
+  void encodeInterest() {
+    EventCodec.encodeInterest(8, buffer);
+    EventCodec.encodeEnter(new CharacterState(42, 64f, 96f, 70), buffer);
+    EventCodec.encodeLeave(43, buffer);
+    buffer.flip();
+
+    assertEquals(EventCodec.INTEREST, EventCodec.peek(buffer));
+    assertEquals(8, EventCodec.decodeInterest(buffer));
+    assertEquals(EventCodec.ENTER, EventCodec.peek(buffer));
+    CharacterState state = EventCodec.decodeEnter(buffer);
+    assertEquals(42, state.getId());
+    assertEquals(64f, state.getX());
+    assertEquals(96f, state.getY());
+    assertEquals(70, state.getHp());
+    assertEquals(EventCodec.LEAVE, EventCodec.peek(buffer));
+    assertEquals(43, EventCodec.decodeLeave(buffer));
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void encodeHp() {
+    EventCodec.encode(new CharacterHp(42, -5, GameEvent.Type.CHARACTER_HP), buffer);
+    assertEquals(13, buffer.position());
+    buffer.flip();
+
+    assertEquals(EventCodec.CHARACTER_HP, EventCodec.peek(buffer));
+    CharacterHp hp = (CharacterHp) EventCodec.decode(buffer);
+    assertEquals(GameEvent.Type.CHARACTER_HP, hp.getType());
+    assertEquals(42, hp.getId());
+    assertEquals(-5, hp.getHp());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void peekPartial() {
+    EventCodec.encode(new HeroAttack(7, 1, 2, GameEvent.Type.HERO_ATTACK), buffer);
+    int length = buffer.position();
+    buffer.flip();
+
+    for (int i = 0; i < length; i++) {
+      buffer.limit(i);
+      assertEquals(-1, EventCodec.peek(buffer));
+      assertEquals(0, buffer.position());
+    }
+    buffer.limit(length);
+    assertEquals(EventCodec.HERO_ATTACK, EventCodec.peek(buffer));
+  }
+
+  @Test
+  void peekInvalid() {
+    buffer.putInt(-5).put((byte) 0).flip();
+    assertThrows(IllegalStateException.class, () -> EventCodec.peek(buffer));
+  }
+
+  @Test
+  void decodeInvalidLength() {
+    buffer.putInt(1).put(EventCodec.HERO_MOVE);
+    EventCodec.encode(new HeroAttack(7, 1, 2, GameEvent.Type.HERO_ATTACK), buffer);
+    buffer.flip();
+
+    assertEquals(EventCodec.HERO_MOVE, EventCodec.peek(buffer));
+    assertThrows(IllegalStateException.class, () -> EventCodec.decode(buffer));
+  }
+
+  @Test
+  void peekUnsignedType() {
+    buffer.putInt(1).put((byte) 0xFF).flip();
+    assertEquals(255, EventCodec.peek(buffer));
+    assertThrows(IllegalStateException.class, () -> EventCodec.decode(buffer));
+  }
+}
@@ -0,0 +1,108 @@
+package com.mygdx.nio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.event.CharacterMove;
+import com.mygdx.event.GameEvent;
+import com.mygdx.event.HeroAttack;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FrameReaderTest {
+  ByteBuffer stream;
+
+  @BeforeEach
+  void setUp() {
+    stream = ByteBuffer.allocate(1 << 16);
+    EventCodec.encode(new CharacterMove(1, 0, 7, GameEvent.Type.HERO_MOVE), stream);
+    EventCodec.encodeStart(stream);
+    EventCodec.encode(new HeroAttack(3, 1.5f, 2.5f, GameEvent.Type.HERO_ATTACK), stream);
+    stream.flip();
+  }
+
+  @Test
+  void readSplit() throws IOException {
+    FrameReader reader = new FrameReader(64);
+    ReadableByteChannel channel = new ChunkChannel(stream, 3);
+
+    assertEquals(EventCodec.HERO_MOVE, reader.await(channel));
+    assertEquals(7, ((CharacterMove) EventCodec.decode(reader.getBuffer())).getId());
+    assertEquals(EventCodec.START, reader.await(channel));
+    EventCodec.skip(reader.getBuffer());
+    assertEquals(EventCodec.HERO_ATTACK, reader.await(channel));
+    assertEquals(2.5f, ((HeroAttack) EventCodec.decode(reader.getBuffer())).getY());
+
+    assertEquals(-1, reader.next());
+    assertEquals(-1, reader.read(channel));
+    assertThrows(IOException.class, () -> reader.await(channel));
+  }
+
+  @Test
+  void readCoalesced() throws IOException {
+    FrameReader reader = new FrameReader(64);
+    reader.read(new ChunkChannel(stream, stream.remaining()));
+
+    assertEquals(EventCodec.HERO_MOVE, reader.next());
+    EventCodec.skip(reader.getBuffer());
+    assertEquals(EventCodec.START, reader.next());
+    EventCodec.skip(reader.getBuffer());
+    assertEquals(EventCodec.HERO_ATTACK, reader.next());
+    EventCodec.skip(reader.getBuffer());
+    assertEquals(-1, reader.next());
+  }
+
+  @Test
+  void readGrow() throws IOException {
+    byte[] chunk = new byte[1000];
+    for (int i = 0; i < chunk.length; i++) {
+      chunk[i] = (byte) ('a' + i % 26);
+    }
+    stream.clear();
+    EventCodec.encodeJoin(2, stream);
+    EventCodec.encodeSnapshot(chunk, 0, chunk.length, stream);
+    stream.flip();
+
+    FrameReader reader = new FrameReader(16);
+    ReadableByteChannel channel = new ChunkChannel(stream, 100);
+    assertEquals(EventCodec.JOIN, reader.await(channel));
+    assertEquals(2, EventCodec.decodeJoin(reader.getBuffer()));
+    assertEquals(EventCodec.SNAPSHOT, reader.await(channel));
+    assertTrue(reader.getBuffer().capacity() >= 1005);
+    assertEquals(ByteBuffer.wrap(chunk), EventCodec.decodeSnapshot(reader.getBuffer()));
+  }
+
+  /** This class is a channel that returns the bytes of a buffer a few at a time. */
+  static class ChunkChannel implements ReadableByteChannel {
+    private final ByteBuffer source;
+    private final int chunk;
+
+    ChunkChannel(ByteBuffer source, int chunk) {
+      this.source = source;
+      this.chunk = chunk;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (!source.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(chunk, Math.min(source.remaining(), dst.remaining()));
+      ByteBuffer slice = source.duplicate();
+      slice.limit(slice.position() + n);
+      dst.put(slice);
+      source.position(source.position() + n);
+      return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
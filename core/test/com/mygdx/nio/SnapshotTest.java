@@ -0,0 +1,82 @@
+package com.mygdx.nio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mygdx.config.Config;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotTest {
+  byte[] json;
+
+  @BeforeEach
+  void setUp() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < 20000; i++) {
+      builder.append("{\"id\":").append(i).append(",\"x\":").append(i * 7 % 1000).append("},");
+    }
+    builder.append("{}]");
+    json = builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void roundTrip() throws IOException {
+    SnapshotWriter writer = new SnapshotWriter(2, json);
+    ByteBuffer stream = ByteBuffer.allocate(json.length + 1024);
+    ByteBuffer frame;
+    int frames = 0;
+    while ((frame = writer.next()) != null) {
+      stream.put(frame);
+      frames++;
+    }
+    stream.flip();
+    assertTrue(stream.limit() < json.length / 4);
+
+    assertEquals(EventCodec.JOIN, EventCodec.peek(stream));
+    assertEquals(2, EventCodec.decodeJoin(stream));
+    SnapshotReader reader = new SnapshotReader();
+    int chunks = 0;
+    while (EventCodec.peek(stream) == EventCodec.SNAPSHOT) {
+      ByteBuffer chunk = EventCodec.decodeSnapshot(stream);
+      assertTrue(chunk.remaining() <= Config.SNAPSHOT_CHUNK);
+      reader.accept(chunk);
+      chunks++;
+    }
+    assertTrue(chunks > 1);
+    assertEquals(frames, chunks + 2);
+    assertEquals(EventCodec.SNAPSHOT_END, EventCodec.peek(stream));
+    EventCodec.skip(stream);
+    assertFalse(stream.hasRemaining());
+
+    assertArrayEquals(json, reader.finish());
+    assertEquals(stream.limit() - 9 - 5 - 5L * chunks, reader.getCompressedSize());
+  }
+
+  @Test
+  void finishTruncated() throws IOException {
+    SnapshotWriter writer = new SnapshotWriter(0, json);
+    EventCodec.skip(writer.next());
+    ByteBuffer frame = writer.next();
+    assertEquals(EventCodec.SNAPSHOT, EventCodec.peek(frame));
+
+    // Only the first chunk arrives.
+    SnapshotReader reader = new SnapshotReader();
+    reader.accept(EventCodec.decodeSnapshot(frame));
+    assertThrows(IOException.class, reader::finish);
+  }
+
+  @Test
+  void closeEarly() {
+    SnapshotWriter writer = new SnapshotWriter(0, json);
+    EventCodec.skip(writer.next());
+    assertEquals(EventCodec.SNAPSHOT, EventCodec.peek(writer.next()));
+
+    writer.close();
+    assertNull(writer.next());
+    writer.close();
+    assertNull(writer.next());
+  }
+}
@@ -0,0 +1,74 @@
+package com.mygdx.server;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.mygdx.config.Config;
+import com.mygdx.log.GameLogger;
+import com.mygdx.log.GameLogger.Category;
+import com.mygdx.metrics.Metrics;
+import com.mygdx.nio.RoomServer;
+import java.io.IOException;
+
+/**
+ * This class runs the multiplayer server as a process of its own, without a window, graphics or
+ * audio. It starts a headless libGDX application only to provide Gdx.app, with one update per
+ * second since nothing is rendered, and runs a RoomServer on the main thread: the matches are
+ * simulated by the world tickers of the rooms and the clients are served by the selector loop, so
+ * no core is spent on drawing frames and the process fits in a small heap. The server is stopped
+ * when the process is terminated, or returns by itself once the limit of rooms has been reached and
+ * all the matches are over. It then prints the latency histograms of the instrumented parts.
+ *
+ * <p>The arguments are, in order and all optional: the port, the number of rooms after which no
+ * client is accepted, the number of threads that run the world tickers and the radius of the areas
+ * of interest of the clients in cells. The defaults are Config.SERVER_PORT, no limit of rooms, one
+ * thread per available processor and Config.INTEREST_RADIUS.
+ *
+ * @author Hades
+ */
+public class ServerLauncher {
+  /**
+   * This method runs the server.
+   *
+   * @param args The port, rooms, threads and interest radius, all optional.
+   * @throws IOException If the server cannot listen on the port.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : Config.SERVER_PORT;
+    int rooms = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+    int threads =
+        args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    int radius = args.length > 3 ? Integer.parseInt(args[3]) : Config.INTEREST_RADIUS;
+
+    HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+    config.updatesPerSecond = 1;
+    new HeadlessApplication(new ApplicationAdapter() {}, config);
+    Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+    Config.changeInterestRadius(radius);
+    RoomServer server = new RoomServer(port, rooms, threads);
+    Thread main = Thread.currentThread();
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  server.stop();
+                  try {
+                    main.join();
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                }));
+    GameLogger.getInstance()
+        .info(
+            Category.NETWORK, "Room limit {} (0 for none), {} simulation threads", rooms, threads);
+    GameLogger.getInstance().info(Category.NETWORK, "Interest radius {} (0 for the map)", radius);
+
+    server.run();
+    System.out.print(Metrics.getInstance().summary());
+    GameLogger.getInstance().flush(1000);
+    Gdx.app.exit();
+  }
+}